@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Time from JVM launch to the first successful request, for each startup mode:
+#
+#   default        application.properties only (dev logging, show-sql, Hibernate schema validation)
+#   prod           prod profile
+#   prod-aot       prod profile + Spring AOT
+#   prod-aot-cds   prod profile + Spring AOT + CDS archive
+#
+# Build first with: ./mvnw -Pprod package -DskipTests
+# Usage: scripts/startup-benchmark.sh [runs-per-mode]
+#
+# The application needs a reachable, migrated database. Point it elsewhere with the usual
+# SPRING_DATASOURCE_* environment variables; EXTRA_CLASSPATH adds e.g. a different JDBC driver
+# (absolute paths). The application runs from target/app because the CDS archive records the
+# classpath relative to it.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+PROBE_PATH=${PROBE_PATH:-/api/courses}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+APP_DIR=target/app
+JAR=$(cd "$APP_DIR" 2>/dev/null && ls backend-*.jar 2>/dev/null | head -1 || true)
+MAIN_CLASS=com.sciqus.backend.SciqusBackendApplication
+
+if [[ -z "$JAR" || ! -f "$APP_DIR/application.jsa" ]]; then
+    echo "No extracted application in $APP_DIR; run ./mvnw -Pprod package -DskipTests first" >&2
+    exit 1
+fi
+
+CLASSPATH="$JAR${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application with the given JVM options, prints milliseconds until PROBE_PATH returns 2xx
+measure() {
+    local start pid elapsed status
+    start=$(now_ms)
+    (cd "$APP_DIR" && exec java "$@" -cp "$CLASSPATH" "$MAIN_CLASS" --server.port="$PORT") > target/startup-benchmark.log 2>&1 &
+    pid=$!
+    while true; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$PROBE_PATH" || true)
+        if [[ "$status" == 2* ]]; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid"
+            echo "No successful response within ${TIMEOUT_SECONDS}s, see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local times=()
+    for ((i = 0; i < RUNS; i++)); do
+        times+=("$(measure "$@")")
+    done
+    local sorted median
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    median=$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")
+    printf '%-14s median %6d ms   min %6d ms   runs: %s\n' "$name" "$median" \
+        "$(echo "$sorted" | head -1)" "${times[*]}"
+}
+
+echo "Time to first successful GET $PROBE_PATH ($RUNS runs per mode)"
+run_mode default
+run_mode prod -Dspring.profiles.active=prod
+run_mode prod-aot -Dspring.profiles.active=prod -Dspring.aot.enabled=true
+run_mode prod-aot-cds -Dspring.profiles.active=prod -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile=application.jsa
@@ -0,0 +1,263 @@
+package com.sciqus.backend.archive;
+
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.service.RecommendationService;
+import com.sciqus.backend.service.StudentDashboardService;
+import com.sciqus.backend.tenant.TenantDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Moves cold rows out of the hot tables: enrollments older than the horizon go to
+ * {@code enrollments_archive}, and inactive courses untouched for the retention period, with no
+ * enrollment or user left pointing at them, go to {@code courses_archive}. Each batch is copied
+ * and deleted in one transaction on the primary, by a background thread and never on a request.
+ * Hot rows are deleted through JPQL so Hibernate drops the matching second-level and query cache
+ * entries.
+ */
+@Component
+public class ArchivalJob implements SmartLifecycle, MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ArchivalJob.class);
+    
+    private static final String SELECT_ENROLLMENTS = "SELECT id FROM enrollments WHERE enrolled_at < :cutoff "
+            + "ORDER BY enrolled_at, id LIMIT :limit FOR UPDATE";
+    private static final String COPY_ENROLLMENTS = "INSERT INTO enrollments_archive (id, user_id, course_id, enrolled_at, archived_at) "
+            + "SELECT id, user_id, course_id, enrolled_at, :now FROM enrollments WHERE id IN (:ids)";
+    
+    private static final String SELECT_COURSES = "SELECT c.course_id, c.course_code FROM courses c "
+            + "WHERE c.is_active = FALSE AND c.updated_at < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM enrollments e WHERE e.course_id = c.course_id) "
+            + "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.course_id = c.course_id) "
+            // Still required by another course; its completions must stay checkable
+            + "AND NOT EXISTS (SELECT 1 FROM course_prerequisites p WHERE p.prerequisite_id = c.course_id) "
+            + "ORDER BY c.course_id LIMIT :limit FOR UPDATE";
+    private static final String COPY_COURSES = "INSERT INTO courses_archive "
+            + "(course_id, course_name, course_code, course_duration, description, is_active, capacity, created_at, updated_at, archived_at) "
+            + "SELECT course_id, course_name, course_code, course_duration, description, is_active, capacity, created_at, updated_at, :now "
+            + "FROM courses WHERE course_id IN (:ids)";
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final boolean enabled;
+    private final Duration enrollmentHorizon;
+    private final Duration courseRetention;
+    private final int batchSize;
+    private final long intervalNanos;
+    private final long batchPauseNanos;
+    
+    private final LongAdder enrollmentsArchived = new LongAdder();
+    private final LongAdder coursesArchived = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    
+    private volatile Thread worker;
+    private volatile boolean running;
+    
+    public ArchivalJob(@Value("${app.archive.enabled:true}") boolean enabled,
+                       @Value("${app.archive.enrollment-horizon:730d}") Duration enrollmentHorizon,
+                       @Value("${app.archive.course-retention:365d}") Duration courseRetention,
+                       @Value("${app.archive.batch-size:500}") int batchSize,
+                       @Value("${app.archive.interval:1h}") Duration interval,
+                       @Value("${app.archive.batch-pause:200ms}") Duration batchPause) {
+        this.enabled = enabled;
+        this.enrollmentHorizon = enrollmentHorizon;
+        this.courseRetention = courseRetention;
+        this.batchSize = batchSize;
+        this.intervalNanos = interval.toNanos();
+        this.batchPauseNanos = batchPause.toNanos();
+    }
+    
+    /**
+     * One archival pass over both tables of every tenant. Enrollments go first so a course whose
+     * last enrollments were just archived can follow in the same pass. Called by the background
+     * thread and by tests.
+     */
+    public synchronized Result runOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        int[] totals = new int[2];
+        tenantDirectory.forEachTenant(() -> {
+            int enrollments = drain(now.minus(enrollmentHorizon), now, this::archiveEnrollmentBatch);
+            int courses = drain(now.minus(courseRetention), now, this::archiveCourseBatch);
+            if (enrollments > 0 || courses > 0) {
+                logger.info("Archived {} enrollments and {} courses of tenant {}", enrollments, courses,
+                        tenantDirectory.currentTenant());
+            }
+            totals[0] += enrollments;
+            totals[1] += courses;
+        });
+        return new Result(totals[0], totals[1]);
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "archival-job");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        worker = null;
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sciqus.archive.rows", enrollmentsArchived, LongAdder::sum)
+                .description("Rows moved from the hot tables to the archive")
+                .tag("table", "enrollments")
+                .register(registry);
+        FunctionCounter.builder("sciqus.archive.rows", coursesArchived, LongAdder::sum)
+                .description("Rows moved from the hot tables to the archive")
+                .tag("table", "courses")
+                .register(registry);
+        FunctionCounter.builder("sciqus.archive.failures", failures, LongAdder::sum)
+                .description("Archive batches rolled back; they are retried on the next pass")
+                .register(registry);
+    }
+    
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (running) {
+                runOnce();
+            }
+        }
+    }
+    
+    private int drain(LocalDateTime cutoff, LocalDateTime now, BatchMover mover) {
+        int total = 0;
+        while (true) {
+            int moved;
+            try {
+                moved = transactionTemplate.execute(status -> mover.move(cutoff, now));
+            } catch (Exception e) {
+                // Typically a row that gained a reference meanwhile; the batch is picked up again next pass
+                failures.increment();
+                logger.warn("Archive batch failed and was rolled back: {}", e.getMessage());
+                return total;
+            }
+            total += moved;
+            if (moved < batchSize || Thread.currentThread() == worker && !running) {
+                return total;
+            }
+            // Leave room for request traffic between batches
+            LockSupport.parkNanos(this, batchPauseNanos);
+        }
+    }
+    
+    private int archiveEnrollmentBatch(LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_ENROLLMENTS,
+                Map.of("cutoff", cutoff, "limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> studentIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM enrollments WHERE id IN (:ids)",
+                Map.of("ids", ids), Long.class);
+        jdbcTemplate.update(COPY_ENROLLMENTS, Map.of("ids", ids, "now", now));
+        entityManager.createQuery("DELETE FROM Enrollment e WHERE e.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        // Dashboard summaries count hot enrollments only
+        studentIds.forEach(studentDashboardService::evictAfterCommit);
+        // Rebuilt once on next use rather than decrementing the pairs of every moved enrollment
+        recommendationService.invalidateAfterCommit();
+        enrollmentsArchived.add(ids.size());
+        return ids.size();
+    }
+    
+    private int archiveCourseBatch(LocalDateTime cutoff, LocalDateTime now) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_COURSES,
+                Map.of("cutoff", cutoff, "limit", batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rows.stream().map(column("course_id")).map(id -> ((Number) id).longValue()).toList();
+        jdbcTemplate.update(COPY_COURSES, Map.of("ids", ids, "now", now));
+        entityManager.createQuery("DELETE FROM Course c WHERE c.courseId IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        for (Map<String, Object> row : rows) {
+            eventPublisher.publish(new CourseChanged(DomainEvent.ChangeType.ARCHIVED,
+                    ((Number) row.get("course_id")).longValue(), (String) row.get("course_code"), false));
+        }
+        coursesArchived.add(ids.size());
+        return ids.size();
+    }
+    
+    private static Function<Map<String, Object>, Object> column(String name) {
+        return row -> row.get(name);
+    }
+    
+    public record Result(int enrollments, int courses) {
+    }
+    
+    @FunctionalInterface
+    private interface BatchMover {
+        int move(LocalDateTime cutoff, LocalDateTime now);
+    }
+}
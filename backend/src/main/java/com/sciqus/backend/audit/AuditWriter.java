@@ -0,0 +1,208 @@
+package com.sciqus.backend.audit;
+
+import com.sciqus.backend.entity.AuditEvent;
+import com.sciqus.backend.tenant.TenantContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Moves audit events from request threads to the {@code audit_events} table. Request threads
+ * only put events into a bounded lock-free ring; a single background thread drains it and
+ * inserts each batch with one JDBC batch statement. When the ring is full new events are
+ * dropped and counted instead of making the request wait for the database.
+ */
+@Component
+public class AuditWriter implements SmartLifecycle, MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuditWriter.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO audit_events "
+            + "(occurred_at, action, entity_type, entity_id, student_id, course_id, actor_id, actor_username, request_id, details) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // A batch that keeps failing is given up after this many attempts so one bad row cannot stall the log
+    private static final int MAX_ATTEMPTS = 3;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final BoundedMpscBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    
+    private final List<AuditEvent> pending = new ArrayList<>();
+    private int attempts;
+    
+    private volatile Thread worker;
+    private volatile boolean running;
+    
+    public AuditWriter(@Value("${app.audit.buffer-size:8192}") int bufferSize,
+                       @Value("${app.audit.batch-size:256}") int batchSize,
+                       @Value("${app.audit.flush-interval:500ms}") Duration flushInterval) {
+        this.buffer = new BoundedMpscBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+    
+    /**
+     * Queues an event without blocking. Returns false when the buffer is full and the event was dropped.
+     */
+    public boolean submit(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        Thread current = worker;
+        if (current != null && buffer.size() >= batchSize) {
+            LockSupport.unpark(current);
+        }
+        return true;
+    }
+    
+    /**
+     * Writes everything queued so far. Returns false if a batch failed and is kept for a retry.
+     * Called by the writer thread, on shutdown and by tests; the request path never calls it.
+     */
+    public synchronized boolean flush() {
+        do {
+            writePending();
+        } while (pending.isEmpty() && fill() > 0);
+        return pending.isEmpty();
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "audit-writer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        worker = null;
+        if (!flush()) {
+            logger.error("Audit events could not be written before shutdown and are lost");
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        // Stop after the web server so events from requests still in flight at shutdown are written
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sciqus.audit.events.written", written, LongAdder::sum)
+                .description("Audit events inserted into audit_events")
+                .register(registry);
+        FunctionCounter.builder("sciqus.audit.events.dropped", dropped, LongAdder::sum)
+                .description("Audit events dropped because the buffer was full")
+                .register(registry);
+        FunctionCounter.builder("sciqus.audit.events.failed", failed, LongAdder::sum)
+                .description("Audit events discarded after repeated write failures")
+                .register(registry);
+        Gauge.builder("sciqus.audit.buffer.size", buffer, BoundedMpscBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    private void run() {
+        while (running) {
+            // Back off after a failed write instead of retrying in a tight loop
+            if (!flush() || buffer.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+    
+    private int fill() {
+        return buffer.drainTo(pending::add, batchSize);
+    }
+    
+    private void writePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            // Events of each tenant go to that tenant's database; groups already written are not retried
+            Map<String, List<AuditEvent>> byTenant = pending.stream()
+                    .collect(Collectors.groupingBy(AuditEvent::getTenant, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<String, List<AuditEvent>> group : byTenant.entrySet()) {
+                TenantContext.run(group.getKey(), () -> insert(group.getValue()));
+                written.add(group.getValue().size());
+                pending.removeIf(event -> group.getKey().equals(event.getTenant()));
+            }
+            attempts = 0;
+        } catch (Exception e) {
+            attempts++;
+            if (attempts >= MAX_ATTEMPTS) {
+                logger.error("Discarding {} audit events after {} failed writes: {}", pending.size(), attempts, e.getMessage());
+                failed.add(pending.size());
+                pending.clear();
+                attempts = 0;
+            } else {
+                logger.warn("Audit batch write failed, will retry: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void insert(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(event.getOccurredAt()));
+            ps.setString(2, event.getAction().name());
+            ps.setString(3, event.getEntityType().name());
+            ps.setObject(4, event.getEntityId());
+            ps.setObject(5, event.getStudentId());
+            ps.setObject(6, event.getCourseId());
+            ps.setObject(7, event.getActorId());
+            ps.setString(8, event.getActorUsername());
+            ps.setString(9, event.getRequestId());
+            ps.setString(10, event.getDetails());
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.sciqus.backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size ring buffer for many producers and one consumer. Producers claim a slot with a
+ * single CAS on the tail and never block: when the ring is full {@link #offer} returns false.
+ * Each slot carries a sequence number (Vyukov's bounded queue) so the consumer only reads slots
+ * whose element has been fully published.
+ */
+public final class BoundedMpscBuffer<E> {
+    
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    
+    public BoundedMpscBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                // The consumer has not freed this slot yet: the ring is full
+                return false;
+            }
+            // Another producer took the slot first; retry with the new tail
+        }
+    }
+    
+    /**
+     * Hands up to {@code maxElements} published elements to {@code consumer}, oldest first.
+     * Only one thread may drain at a time.
+     */
+    public synchronized int drainTo(Consumer<? super E> consumer, int maxElements) {
+        long position = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            E element = elements.get(index);
+            elements.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+            consumer.accept(element);
+        }
+        head = position;
+        return drained;
+    }
+    
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+}
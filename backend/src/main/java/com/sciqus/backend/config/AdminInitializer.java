@@ -2,6 +2,7 @@ package com.sciqus.backend.config;
 
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.repository.UserRepository;
+import com.sciqus.backend.tenant.TenantDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,8 +17,16 @@ public class AdminInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
     @Override
     public void run(String... args) throws Exception {
+        // Every institution starts with its own administrator
+        tenantDirectory.forEachTenant(this::createAdmin);
+    }
+    
+    private void createAdmin() {
         if (!userRepository.existsByUsername("admin")) {
             User admin = new User();
             admin.setUsername("admin");
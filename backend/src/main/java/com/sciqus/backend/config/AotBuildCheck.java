@@ -0,0 +1,47 @@
+package com.sciqus.backend.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Refuses to start an AOT build with read routing or tenancy switched differently than at build
+ * time. AOT processing evaluates the conditions on these properties once, in {@code mvn -Pprod
+ * package}, so their configurations are either in the bean graph or not; a different runtime value
+ * would only reach the code that reads the property itself and leave the application half switched.
+ */
+@Component
+public class AotBuildCheck implements BeanFactoryPostProcessor, EnvironmentAware {
+    
+    private static final Map<String, Class<?>> SWITCHES = Map.of(
+            "app.datasource.routing.enabled", DataSourceRoutingConfig.class,
+            "app.tenancy.enabled", TenantDataSourceConfig.class);
+    
+    private Environment environment;
+    
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+    
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        SWITCHES.forEach((property, configuration) -> {
+            boolean built = beanFactory.getBeanNamesForType(configuration, true, false).length > 0;
+            boolean enabled = environment.getProperty(property, Boolean.class, false);
+            if (built != enabled) {
+                throw new IllegalStateException(property + "=" + enabled + ", but the AOT build was made with "
+                        + built + ". Rebuild with mvn -Pprod package -D" + property + "=" + enabled
+                        + ", or start without -Dspring.aot.enabled=true");
+            }
+        });
+    }
+}
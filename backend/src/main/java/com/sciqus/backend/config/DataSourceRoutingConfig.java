@@ -0,0 +1,81 @@
+package com.sciqus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting, enabled with {@code app.datasource.routing.enabled=true}.
+ * When disabled, Spring Boot's single {@code spring.datasource} pool is used unchanged.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     DataSourceRoutingProperties properties,
+                                                                     DataSourceProperties primaryProperties,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + i;
+            HikariDataSource replica = createReplicaPool(name, configured.get(i), primaryProperties);
+            // Replica pools are not beans, so Boot's Hikari metrics binding does not see them
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(name, replica);
+        }
+        return new ReplicationRoutingDataSource(primaryDataSource, replicas, properties.getStickyWindow());
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicationRoutingDataSource replicationRoutingDataSource,
+                                               DataSourceRoutingProperties properties) {
+        return new ReplicaLagMonitor(replicationRoutingDataSource, properties);
+    }
+    
+    private HikariDataSource createReplicaPool(String name, DataSourceRoutingProperties.Replica replica,
+                                               DataSourceProperties primaryProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+        dataSource.setDriverClassName(StringUtils.hasText(replica.getDriverClassName())
+                ? replica.getDriverClassName() : primaryProperties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
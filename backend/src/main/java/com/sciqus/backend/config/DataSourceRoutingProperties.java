@@ -0,0 +1,40 @@
+package com.sciqus.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for read/write splitting ({@code app.datasource.routing.*}).
+ *
+ * The primary pool still comes from {@code spring.datasource.*}; replicas are listed here.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+    
+    private boolean enabled = false;
+    
+    /** Replicas lagging more than this are skipped. Zero or negative disables lag checks. */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+    
+    /** How often the primary heartbeat is written and replica lag is measured. */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    
+    /** After a user commits a write, that user's reads stay on the primary for this long. */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
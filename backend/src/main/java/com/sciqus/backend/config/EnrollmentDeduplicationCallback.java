@@ -0,0 +1,60 @@
+package com.sciqus.backend.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Removes duplicate enrollments right before V2 makes (user_id, course_id) unique. Databases
+ * created by Hibernate and baselined at V1 never had that constraint and may enroll a student
+ * twice; the unique index would then fail halfway through V2, and as MySQL does not roll back
+ * DDL the migration would need repairing by hand. The earliest enrollment of each pair is kept.
+ */
+@Component
+public class EnrollmentDeduplicationCallback implements Callback {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentDeduplicationCallback.class);
+    
+    private static final MigrationVersion UNIQUE_ENROLLMENTS = MigrationVersion.fromVersion("2");
+    
+    // The derived table lets MySQL delete from the table the subquery reads
+    private static final String DELETE_DUPLICATES_SQL = "DELETE FROM enrollments WHERE id IN ("
+            + "SELECT id FROM (SELECT later.id FROM enrollments later JOIN enrollments earlier "
+            + "ON earlier.user_id = later.user_id AND earlier.course_id = later.course_id AND earlier.id < later.id) duplicates)";
+    
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && UNIQUE_ENROLLMENTS.equals(context.getMigrationInfo().getVersion());
+    }
+    
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+    
+    @Override
+    public void handle(Event event, Context context) {
+        try (Statement statement = context.getConnection().createStatement()) {
+            int removed = statement.executeUpdate(DELETE_DUPLICATES_SQL);
+            if (removed > 0) {
+                logger.warn("Removed {} duplicate enrollments before making (user_id, course_id) unique", removed);
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Removing duplicate enrollments before V2 failed: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public String getCallbackName() {
+        return "enrollmentDeduplication";
+    }
+}
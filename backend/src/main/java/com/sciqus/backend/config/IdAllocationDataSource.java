@@ -0,0 +1,45 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.entity.PooledTableIdGenerator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands connections requested during id generation out of a separate small pool.
+ *
+ * The id generator fetches a new block on its own connection while the calling transaction keeps
+ * holding one from the main pool. If every main-pool connection belongs to a request waiting on
+ * the generator, that fetch can never be served; a dedicated pool breaks the cycle.
+ */
+public class IdAllocationDataSource extends DelegatingDataSource {
+    
+    private final DataSource allocationDataSource;
+    
+    public IdAllocationDataSource(DataSource targetDataSource, DataSource allocationDataSource) {
+        super(targetDataSource);
+        this.allocationDataSource = allocationDataSource;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PooledTableIdGenerator.isAllocating()) {
+            return allocationDataSource.getConnection();
+        }
+        return super.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (PooledTableIdGenerator.isAllocating()) {
+            return allocationDataSource.getConnection(username, password);
+        }
+        return super.getConnection(username, password);
+    }
+    
+    public DataSource getAllocationDataSource() {
+        return allocationDataSource;
+    }
+}
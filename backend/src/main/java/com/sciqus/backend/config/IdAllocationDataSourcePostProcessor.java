@@ -0,0 +1,58 @@
+package com.sciqus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in an {@link IdAllocationDataSource} backed by a small pool on
+ * the primary database ({@code spring.datasource.*}), sized by
+ * {@code app.datasource.id-allocation-pool-size}.
+ */
+@Component
+public class IdAllocationDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, DisposableBean {
+    
+    private Environment environment;
+    private HikariDataSource allocationPool;
+    
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // Tenant databases come with their own allocation pools (see TenantRoutingDataSource)
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                && !environment.getProperty("app.tenancy.enabled", Boolean.class, false)) {
+            allocationPool = createAllocationPool();
+            return new IdAllocationDataSource(dataSource, allocationPool);
+        }
+        return bean;
+    }
+    
+    private HikariDataSource createAllocationPool() {
+        DataSourceProperties properties = Binder.get(environment)
+                .bindOrCreate("spring.datasource", DataSourceProperties.class);
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("id-allocation");
+        // One block fetch per entity segment can be in flight at a time
+        pool.setMaximumPoolSize(environment.getProperty("app.datasource.id-allocation-pool-size", Integer.class, 3));
+        pool.setMinimumIdle(0);
+        return pool;
+    }
+    
+    @Override
+    public void destroy() {
+        if (allocationPool != null) {
+            allocationPool.close();
+        }
+    }
+}
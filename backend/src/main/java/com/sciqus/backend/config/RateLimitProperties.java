@@ -0,0 +1,52 @@
+package com.sciqus.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Token bucket limits for expensive public routes ({@code app.rate-limit.*}).
+ *
+ * Each route class has its own buckets: {@code capacity} requests may arrive at once, after which
+ * {@code refill-tokens} become available per {@code refill-period}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    /** Buckets kept per route class; beyond this a new client replaces the bucket closest to being full again. */
+    private int maxKeys = 100_000;
+    
+    /** How often full (idle) buckets are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    
+    /** BCrypt check per attempt; keyed by client IP. */
+    private Route login = new Route("POST", "/api/auth/login", KeyType.IP, 10, 10, Duration.ofMinutes(1));
+    
+    /** BCrypt hash and two uniqueness lookups per attempt; keyed by client IP. */
+    private Route register = new Route("POST", "/api/auth/register", KeyType.IP, 5, 5, Duration.ofMinutes(10));
+    
+    /** LIKE scan over courses; keyed by user when a valid token is sent, otherwise by IP. */
+    private Route search = new Route("GET", "/api/courses/search", KeyType.USER, 20, 20, Duration.ofSeconds(10));
+    
+    public enum KeyType {
+        IP, USER
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String method;
+        private String path;
+        private KeyType key = KeyType.IP;
+        private int capacity;
+        private int refillTokens;
+        private Duration refillPeriod;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sciqus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures replica lag with a heartbeat row: the primary stamps {@code replication_heartbeat}
+ * with the current time and each replica's copy of that row shows how far behind it is.
+ * Works with any replication setup since it only relies on the row being replicated.
+ * The table is created by the V3 migration.
+ */
+public class ReplicaLagMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    private final ReplicationRoutingDataSource routingDataSource;
+    private final long maxLagMillis;
+    private final JdbcTemplate primaryJdbc;
+    
+    public ReplicaLagMonitor(ReplicationRoutingDataSource routingDataSource, DataSourceRoutingProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.maxLagMillis = properties.getMaxReplicaLag().toMillis();
+        this.primaryJdbc = new JdbcTemplate(routingDataSource.getPrimary());
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:1s}")
+    public void checkReplicas() {
+        if (maxLagMillis <= 0) {
+            routingDataSource.updateReplicaHealth(Map.of(), maxLagMillis);
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        try {
+            writeHeartbeat(now);
+        } catch (Exception e) {
+            logger.warn("Could not write replication heartbeat: {}", e.getMessage());
+        }
+        
+        Map<String, Long> lagByReplica = new HashMap<>();
+        routingDataSource.getReplicas().forEach((name, replica) -> {
+            Long lag = measureLag(replica, now);
+            if (lag != null) {
+                lagByReplica.put(name, lag);
+            }
+        });
+        routingDataSource.updateReplicaHealth(lagByReplica, maxLagMillis);
+    }
+    
+    private void writeHeartbeat(long now) {
+        if (primaryJdbc.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+            primaryJdbc.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+        }
+    }
+    
+    private Long measureLag(HikariDataSource replica, long now) {
+        try {
+            List<Long> beats = new JdbcTemplate(replica).queryForList(
+                    "SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+            return beats.isEmpty() ? null : Math.max(0, now - beats.get(0));
+        } catch (Exception e) {
+            logger.debug("Replica lag check failed: {}", e.getMessage());
+            return null;
+        }
+    }
+}
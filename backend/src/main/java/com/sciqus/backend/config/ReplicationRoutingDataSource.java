@@ -0,0 +1,177 @@
+package com.sciqus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the
+ * physical connection is only requested once the transaction's read-only flag is known.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration stickyWindow;
+    
+    // Replicas currently within the lag tolerance, maintained by ReplicaLagMonitor
+    private volatile List<String> healthyReplicas;
+    private final Map<String, Long> replicaLagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    // username -> time of the last committed write, for read-your-writes
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    
+    private final Map<String, LongAdder> routedConnections = new ConcurrentHashMap<>();
+    private final LongAdder stickyReads = new LongAdder();
+    
+    public ReplicationRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas, Duration stickyWindow) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.stickyWindow = stickyWindow;
+        this.healthyReplicas = List.copyOf(replicas.keySet());
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.putAll(replicas);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        routedConnections.put(PRIMARY, new LongAdder());
+        replicas.keySet().forEach(name -> routedConnections.put(name, new LongAdder()));
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = resolveKey();
+        routedConnections.get(key).increment();
+        return key;
+    }
+    
+    private String resolveKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return PRIMARY;
+        }
+        if (isStickyToPrimary()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+    
+    private void rememberWriteOnCommit() {
+        String username = currentUsername();
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(username, System.currentTimeMillis());
+            }
+        });
+    }
+    
+    private boolean isStickyToPrimary() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(username);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < stickyWindow.toMillis();
+    }
+    
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
+    // Called by ReplicaLagMonitor after each lag check
+    void updateReplicaHealth(Map<String, Long> lagByReplica, long maxLagMillis) {
+        List<String> healthy = new ArrayList<>();
+        replicas.keySet().forEach(name -> {
+            Long lag = lagByReplica.get(name);
+            if (lag != null) {
+                replicaLagMillis.put(name, lag);
+            } else {
+                replicaLagMillis.remove(name);
+            }
+            if (maxLagMillis <= 0 || (lag != null && lag <= maxLagMillis)) {
+                healthy.add(name);
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+        
+        long cutoff = System.currentTimeMillis() - stickyWindow.toMillis();
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+    
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+    
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+    
+    public Map<String, Object> getPoolStatistics() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        pools.put(PRIMARY, poolStatistics(PRIMARY, primary));
+        replicas.forEach((name, dataSource) -> {
+            Map<String, Object> stats = poolStatistics(name, dataSource);
+            stats.put("healthy", healthyReplicas.contains(name));
+            stats.put("lagMillis", replicaLagMillis.getOrDefault(name, -1L));
+            pools.put(name, stats);
+        });
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pools", pools);
+        result.put("stickyReads", stickyReads.sum());
+        result.put("stickyUsers", lastWriteByUser.size());
+        return result;
+    }
+    
+    private Map<String, Object> poolStatistics(String name, HikariDataSource dataSource) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("routedConnections", routedConnections.get(name).sum());
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.put("active", pool.getActiveConnections());
+            stats.put("idle", pool.getIdleConnections());
+            stats.put("total", pool.getTotalConnections());
+            stats.put("waiting", pool.getThreadsAwaitingConnection());
+        }
+        stats.put("maxPoolSize", dataSource.getMaximumPoolSize());
+        return stats;
+    }
+}
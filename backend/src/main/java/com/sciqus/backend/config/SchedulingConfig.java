@@ -0,0 +1,14 @@
+package com.sciqus.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} background jobs: the waitlist sweep, report cleanup and, with read
+ * routing enabled, the replica lag check. Kept apart from the conditional configurations so
+ * scheduling never depends on which optional features are switched on.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,17 @@
 package com.sciqus.backend.config;
 
+import com.sciqus.backend.metrics.TimedPasswordEncoder;
 import com.sciqus.backend.security.AuthEntryPointJwt;
 import com.sciqus.backend.security.AuthTokenFilter;
+import com.sciqus.backend.security.RateLimitFilter;
+import com.sciqus.backend.security.TenantFilter;
 import com.sciqus.backend.service.CustomUserDetailsService;
+import com.sciqus.backend.tenant.TenantDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,6 +29,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
     
     @Autowired
@@ -29,14 +38,30 @@ public class SecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
     
+    @Bean
+    public TenantFilter tenantFilter(TenantDirectory tenantDirectory) {
+        return new TenantFilter(tenantDirectory);
+    }
+    
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties rateLimitProperties) {
+        return new RateLimitFilter(rateLimitProperties);
+    }
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
     }
     
     @Bean
@@ -53,7 +78,7 @@ public class SecurityConfig {
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimitFilter rateLimitFilter, TenantFilter tenantFilter) throws Exception {
         http.cors(cors -> {})
                 .csrf(csrf -> csrf.disable())
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
@@ -65,11 +90,17 @@ public class SecurityConfig {
                                 .requestMatchers("/api/courses").permitAll()
                                 .requestMatchers("/api/courses/search").permitAll()
                                 .requestMatchers("/api/health").permitAll()
+                                // Only matches on the management port (management.server.port), which stays internal
+                                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                                 .anyRequest().authenticated()
                 );
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, AuthTokenFilter.class);
+        // Users are looked up in their tenant's database and buckets are kept per tenant, so the
+        // tenant is known before rate limiting and authentication
+        http.addFilterBefore(tenantFilter, RateLimitFilter.class);
         
         return http.build();
     }
@@ -0,0 +1,20 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.tenant.TenantDirectory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tenant bookkeeping needed whether or not tenancy is enabled; the per-tenant databases are
+ * set up by {@link TenantDataSourceConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+    
+    @Bean
+    public TenantDirectory tenantDirectory(TenancyProperties properties) {
+        return new TenantDirectory(properties);
+    }
+}
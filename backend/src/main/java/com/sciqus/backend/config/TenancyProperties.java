@@ -0,0 +1,35 @@
+package com.sciqus.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for hosting several institutions on one deployment ({@code app.tenancy.*}).
+ *
+ * Every tenant has a database of its own; users, courses, enrollments and everything hanging
+ * off them live in that database only. Adding a tenant adds a database and a pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenancyProperties {
+    
+    private boolean enabled = false;
+    
+    /** Tenant of requests whose token and headers name none, and of startup work. Must be listed in {@link #tenants}. */
+    private String defaultTenant = "default";
+    
+    /** Databases by tenant id; username, password and driver default to {@code spring.datasource.*}. */
+    private Map<String, Database> tenants = new LinkedHashMap<>();
+    
+    @Data
+    public static class Database {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
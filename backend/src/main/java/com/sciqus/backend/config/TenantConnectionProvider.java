@@ -0,0 +1,82 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.tenant.TenantDirectory;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hibernate's view of the tenant databases. Every session is opened for the current tenant, which
+ * puts the tenant into second-level and query cache keys and gives each tenant its own id blocks.
+ * Connections come from the application DataSource with the session's tenant set, so they are
+ * timed and routed exactly like plain JDBC access.
+ */
+public class TenantConnectionProvider implements MultiTenantConnectionProvider<String>, CurrentTenantIdentifierResolver<String> {
+    
+    private final DataSource dataSource;
+    private final TenantDirectory directory;
+    
+    public TenantConnectionProvider(DataSource dataSource, TenantDirectory directory) {
+        this.dataSource = dataSource;
+        this.directory = directory;
+    }
+    
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return directory.currentTenant();
+    }
+    
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+    
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return getConnection(directory.getDefaultTenant());
+    }
+    
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+    
+    @Override
+    public Connection getConnection(String tenantIdentifier) throws SQLException {
+        String previous = TenantContext.get();
+        TenantContext.set(tenantIdentifier);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            if (previous == null) {
+                TenantContext.clear();
+            } else {
+                TenantContext.set(previous);
+            }
+        }
+    }
+    
+    @Override
+    public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+        connection.close();
+    }
+    
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+    
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+    
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return unwrapType.cast(this);
+    }
+}
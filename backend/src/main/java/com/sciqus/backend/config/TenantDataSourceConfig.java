@@ -0,0 +1,103 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.tenant.TenantDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.MultiTenancySettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One database per tenant, enabled with {@code app.tenancy.enabled=true}. Replaces the single
+ * {@code spring.datasource} pool with a {@link TenantRoutingDataSource}, runs the Flyway
+ * migrations on every tenant database and switches Hibernate to database-per-tenant mode.
+ * Cannot be combined with read/write splitting.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+public class TenantDataSourceConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TenantDataSourceConfig.class);
+    
+    @Bean
+    public TenantRoutingDataSource tenantRoutingDataSource(TenancyProperties properties,
+                                                           TenantDirectory directory,
+                                                           DataSourceProperties defaults,
+                                                           ObjectProvider<MeterRegistry> meterRegistry,
+                                                           @Value("${app.datasource.routing.enabled:false}") boolean replicationRouting,
+                                                           @Value("${app.datasource.id-allocation-pool-size:3}") int allocationPoolSize) {
+        if (replicationRouting) {
+            throw new IllegalStateException("app.tenancy.enabled cannot be combined with app.datasource.routing.enabled");
+        }
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        Map<String, HikariDataSource> allocationPools = new LinkedHashMap<>();
+        properties.getTenants().forEach((tenant, database) -> {
+            HikariDataSource pool = createPool("tenant-" + tenant, database, defaults);
+            pool.setMaximumPoolSize(database.getMaximumPoolSize());
+            // One block fetch per entity segment can be in flight at a time
+            HikariDataSource allocationPool = createPool("tenant-" + tenant + "-id-allocation", database, defaults);
+            allocationPool.setMaximumPoolSize(allocationPoolSize);
+            allocationPool.setMinimumIdle(0);
+            // Tenant pools are not beans, so Boot's Hikari metrics binding does not see them
+            meterRegistry.ifAvailable(registry -> {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                allocationPool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            });
+            pools.put(tenant, pool);
+            allocationPools.put(tenant, allocationPool);
+        });
+        return new TenantRoutingDataSource(directory, pools, allocationPools);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(TenantRoutingDataSource tenantRoutingDataSource) {
+        return new DelegatingDataSource(tenantRoutingDataSource);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer tenantHibernateProperties(DataSource dataSource, TenantDirectory directory) {
+        TenantConnectionProvider provider = new TenantConnectionProvider(dataSource, directory);
+        return hibernateProperties -> {
+            hibernateProperties.put(MultiTenancySettings.MULTI_TENANT_CONNECTION_PROVIDER, provider);
+            hibernateProperties.put(MultiTenancySettings.MULTI_TENANT_IDENTIFIER_RESOLVER, provider);
+        };
+    }
+    
+    @Bean
+    public FlywayMigrationStrategy tenantMigrationStrategy(TenantDirectory directory) {
+        return flyway -> directory.forEachTenant(() -> {
+            logger.info("Migrating database of tenant {}", TenantContext.get());
+            Flyway.configure().configuration(flyway.getConfiguration()).load().migrate();
+        });
+    }
+    
+    private HikariDataSource createPool(String name, TenancyProperties.Database database, DataSourceProperties defaults) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(database.getUrl());
+        dataSource.setUsername(StringUtils.hasText(database.getUsername()) ? database.getUsername() : defaults.determineUsername());
+        dataSource.setPassword(database.getPassword() != null ? database.getPassword() : defaults.determinePassword());
+        dataSource.setDriverClassName(StringUtils.hasText(database.getDriverClassName())
+                ? database.getDriverClassName() : defaults.determineDriverClassName());
+        return dataSource;
+    }
+}
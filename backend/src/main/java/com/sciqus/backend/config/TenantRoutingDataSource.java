@@ -0,0 +1,86 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.entity.PooledTableIdGenerator;
+import com.sciqus.backend.tenant.TenantDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends every connection request to the database of the current tenant.
+ *
+ * Each tenant has its own pool, so a tenant that uses up its connections only slows itself
+ * down, plus a small pool for id allocation that plays the role of {@link IdAllocationDataSource}.
+ * Requests for an unknown tenant fail instead of falling back to another tenant's database.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    
+    private final TenantDirectory directory;
+    private final Map<String, HikariDataSource> pools;
+    private final Map<String, HikariDataSource> allocationPools;
+    private final Map<String, LongAdder> routedConnections = new ConcurrentHashMap<>();
+    
+    public TenantRoutingDataSource(TenantDirectory directory, Map<String, HikariDataSource> pools,
+                                   Map<String, HikariDataSource> allocationPools) {
+        this.directory = directory;
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+        this.allocationPools = Collections.unmodifiableMap(new LinkedHashMap<>(allocationPools));
+        setTargetDataSources(new HashMap<>(pools));
+        setLenientFallback(false);
+        pools.keySet().forEach(tenant -> routedConnections.put(tenant, new LongAdder()));
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return directory.currentTenant();
+    }
+    
+    @Override
+    protected DataSource determineTargetDataSource() {
+        String tenant = directory.currentTenant();
+        HikariDataSource pool = (PooledTableIdGenerator.isAllocating() ? allocationPools : pools).get(tenant);
+        if (pool == null) {
+            throw new IllegalStateException("No database configured for tenant " + tenant);
+        }
+        routedConnections.get(tenant).increment();
+        return pool;
+    }
+    
+    public Map<String, HikariDataSource> getPools() {
+        return pools;
+    }
+    
+    /** Pool statistics of one tenant; tenants do not see each other's pools. */
+    public Map<String, Object> getPoolStatistics(String tenant) {
+        HikariDataSource dataSource = pools.get(tenant);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (dataSource == null) {
+            return stats;
+        }
+        stats.put("routedConnections", routedConnections.get(tenant).sum());
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.put("active", pool.getActiveConnections());
+            stats.put("idle", pool.getIdleConnections());
+            stats.put("total", pool.getTotalConnections());
+            stats.put("waiting", pool.getThreadsAwaitingConnection());
+        }
+        stats.put("maxPoolSize", dataSource.getMaximumPoolSize());
+        return stats;
+    }
+    
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+        allocationPools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -1,6 +1,16 @@
 package com.sciqus.backend.config;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.sciqus.backend.dto.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -16,4 +26,29 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .exposedHeaders("Authorization");
     }
+    
+    // DTOs with sparse fieldset support are written in full unless a response selects fields (see FieldSelection).
+    // The filter is attached through mix-ins so mappers built elsewhere need no filter provider.
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterDefault() {
+        return builder -> {
+            FieldSelection.FILTERED_TYPES.forEach(type -> builder.mixIn(type, FieldSelection.Filtered.class));
+            builder.filters(new SimpleFilterProvider()
+                    .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+        };
+    }
+    
+    // Binary encodings of the same DTOs for internal consumers sending Accept: application/cbor or
+    // application/x-jackson-smile. Built from Boot's builder so they share the JSON mapper's modules,
+    // date handling and filters; these replace Spring's defaults, which would use a plain builder.
+    // JSON stays first in the converter list and remains the default.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
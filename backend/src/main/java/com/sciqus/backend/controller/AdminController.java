@@ -1,14 +1,33 @@
 package com.sciqus.backend.controller;
 
+import com.sciqus.backend.config.ReplicationRoutingDataSource;
+import com.sciqus.backend.config.TenantRoutingDataSource;
 import com.sciqus.backend.dto.ApiResponseDto;
+import com.sciqus.backend.dto.AuditEventDto;
+import com.sciqus.backend.dto.EnrollmentTrendDto;
+import com.sciqus.backend.dto.LogLevelDto;
+import com.sciqus.backend.dto.PageResponseDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.sciqus.backend.service.UserService;
 import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.CacheStatisticsService;
+import com.sciqus.backend.service.LogLevelService;
+import com.sciqus.backend.service.AuditService;
+import com.sciqus.backend.service.AdminStatsStreamService;
+import com.sciqus.backend.service.RecommendationService;
+import com.sciqus.backend.service.EnrollmentAnalyticsService;
+import com.sciqus.backend.tenant.TenantDirectory;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,20 +40,47 @@ public class AdminController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    
+    @Autowired
+    private LogLevelService logLevelService;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private AdminStatsStreamService adminStatsStreamService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Autowired
+    private EnrollmentAnalyticsService enrollmentAnalyticsService;
+    
+    @Autowired(required = false)
+    private ReplicationRoutingDataSource replicationRoutingDataSource;
+    
+    @Autowired(required = false)
+    private TenantRoutingDataSource tenantRoutingDataSource;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Get basic statistics
-        stats.put("totalUsers", userService.getTotalUserCount());
-        stats.put("totalStudents", userService.getStudentCount());
-        stats.put("totalCourses", courseService.getTotalCourseCount());
-        stats.put("activeCourses", courseService.getActiveCourseCount());
-        
+        Map<String, Object> stats = adminStatsStreamService.loadStats();
         return ResponseEntity.ok(ApiResponseDto.success("Dashboard stats retrieved successfully", stats));
     }
     
+    // Live dashboard: a "snapshot" event, then "stats" deltas and "changes" notifications as they happen
+    @GetMapping(value = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamDashboardStats() {
+        return adminStatsStreamService.connect();
+    }
+    
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponseDto<?>> getAllUsers() {
@@ -46,4 +92,94 @@ public class AdminController {
     public ResponseEntity<ApiResponseDto<?>> getAllCoursesForAdmin() {
         return ResponseEntity.ok(ApiResponseDto.success("Courses retrieved successfully", courseService.getAllCourses()));
     }
+    
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponseDto.success("Cache statistics retrieved successfully", cacheStatisticsService.getRegionStatistics()));
+    }
+    
+    @DeleteMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<String>> resetCacheStats() {
+        cacheStatisticsService.clearStatistics();
+        return ResponseEntity.ok(ApiResponseDto.success("Cache statistics reset", "OK"));
+    }
+    
+    @GetMapping("/datasource-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getDataSourceStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("routingEnabled", replicationRoutingDataSource != null);
+        if (replicationRoutingDataSource != null) {
+            stats.putAll(replicationRoutingDataSource.getPoolStatistics());
+        }
+        if (tenantRoutingDataSource != null) {
+            String tenant = tenantDirectory.currentTenant();
+            stats.put("tenant", tenant);
+            stats.put("pools", Map.of(tenant, tenantRoutingDataSource.getPoolStatistics(tenant)));
+        }
+        return ResponseEntity.ok(ApiResponseDto.success("Datasource statistics retrieved successfully", stats));
+    }
+    
+    @GetMapping("/recommendations/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getRecommendationStats() {
+        return ResponseEntity.ok(ApiResponseDto.success("Recommendation statistics retrieved successfully", recommendationService.getStatistics()));
+    }
+    
+    @PostMapping("/recommendations/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> rebuildRecommendations() {
+        return ResponseEntity.ok(ApiResponseDto.success("Recommendations rebuilt from enrollments", recommendationService.rebuild()));
+    }
+    
+    @GetMapping("/analytics/enrollments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<EnrollmentTrendDto>> getEnrollmentTrend(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "DAY") EnrollmentAnalyticsService.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        EnrollmentTrendDto trend = enrollmentAnalyticsService.getTrend(courseId, granularity, from, to);
+        return ResponseEntity.ok(ApiResponseDto.success("Enrollment trend retrieved successfully", trend));
+    }
+    
+    @PostMapping("/analytics/enrollments/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> backfillEnrollmentAnalytics() {
+        return ResponseEntity.ok(ApiResponseDto.success("Enrollment rollups backfilled", enrollmentAnalyticsService.backfill()));
+    }
+    
+    @GetMapping("/log-levels")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<List<LogLevelDto>>> getLogLevels() {
+        return ResponseEntity.ok(ApiResponseDto.success("Log levels retrieved successfully", logLevelService.getConfiguredLevels()));
+    }
+    
+    @GetMapping("/log-levels/{category}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<LogLevelDto>> getLogLevel(@PathVariable String category) {
+        return ResponseEntity.ok(ApiResponseDto.success("Log level retrieved successfully", logLevelService.getLevel(category)));
+    }
+    
+    @PutMapping("/log-levels/{category}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<LogLevelDto>> setLogLevel(@PathVariable String category, @RequestBody LogLevelDto request) {
+        LogLevelDto updated = logLevelService.setLevel(category, request.getConfiguredLevel());
+        return ResponseEntity.ok(ApiResponseDto.success("Log level updated successfully", updated));
+    }
+    
+    @GetMapping("/audit-events")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<PageResponseDto<AuditEventDto>>> getAuditEvents(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        PageResponseDto<AuditEventDto> events = auditService.search(studentId, courseId, from, to, page, size);
+        return ResponseEntity.ok(ApiResponseDto.success("Audit events retrieved successfully", events));
+    }
 }
@@ -1,12 +1,21 @@
 package com.sciqus.backend.controller;
 
+import com.sciqus.backend.dto.BatchLookupDto;
 import com.sciqus.backend.dto.CourseDto;
+import com.sciqus.backend.dto.CoursePrerequisitesDto;
 import com.sciqus.backend.dto.CourseResponseDto;
+import com.sciqus.backend.dto.CourseSessionDto;
 import com.sciqus.backend.dto.CourseStatusDto;
+import com.sciqus.backend.dto.DtoMapper;
+import com.sciqus.backend.dto.FieldSelection;
+import com.sciqus.backend.dto.IdListDto;
 import com.sciqus.backend.entity.Course;
 import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.PrerequisiteService;
+import com.sciqus.backend.service.ScheduleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,28 +29,75 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
     @GetMapping
-    public ResponseEntity<List<CourseResponseDto>> getAllCourses() {
+    public ResponseEntity<MappingJacksonValue> getAllCourses(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseResponseDto.class);
+        if (!selection.isAll()) {
+            return ResponseEntity.ok(selection.apply(courseService.getAllCourses(selection)));
+        }
         List<Course> courses = courseService.getAllCourses();
         List<CourseResponseDto> courseDtos = courses.stream()
-                .map(this::mapToCourseResponseDto)
+                .map(DtoMapper::mapToCourseResponseDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDtos);
+        return ResponseEntity.ok(selection.apply(courseDtos));
+    }
+    
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<BatchLookupDto<CourseResponseDto>> getCoursesByIds(@RequestParam List<Long> ids) {
+        List<Long> distinctIds = BatchLookupDto.distinctIds(ids);
+        List<Course> courses = courseService.getCoursesByIds(distinctIds);
+        return ResponseEntity.ok(BatchLookupDto.of(distinctIds, courses, DtoMapper::mapToCourseResponseDto));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<CourseResponseDto> getCourseById(@PathVariable Long id) {
-        Course course = courseService.getCourseById(id)
+    public ResponseEntity<MappingJacksonValue> getCourseById(@PathVariable Long id,
+                                                            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseResponseDto.class);
+        // Single courses come from the second-level cache, so only the serialized properties are trimmed
+        Course course = courseService.getCourseIncludingArchived(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
-        return ResponseEntity.ok(mapToCourseResponseDto(course));
+        return ResponseEntity.ok(selection.apply(DtoMapper.mapToCourseResponseDto(course)));
+    }
+    
+    @GetMapping("/{id}/schedule")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<List<CourseSessionDto>> getCourseSchedule(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getCourseSchedule(id));
+    }
+    
+    @PutMapping("/{id}/schedule")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CourseSessionDto>> updateCourseSchedule(@PathVariable Long id,
+                                                                       @RequestBody List<CourseSessionDto> sessions) {
+        return ResponseEntity.ok(scheduleService.replaceCourseSchedule(id, sessions));
+    }
+    
+    @GetMapping("/{id}/prerequisites")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<CoursePrerequisitesDto> getCoursePrerequisites(@PathVariable Long id) {
+        return ResponseEntity.ok(prerequisiteService.getPrerequisites(id));
+    }
+    
+    @PutMapping("/{id}/prerequisites")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CoursePrerequisitesDto> updateCoursePrerequisites(@PathVariable Long id,
+                                                                            @RequestBody IdListDto request) {
+        return ResponseEntity.ok(prerequisiteService.replacePrerequisites(id, request.getIds()));
     }
     
     @GetMapping("/search")
     public ResponseEntity<List<CourseResponseDto>> searchCourses(@RequestParam String keyword) {
         List<Course> courses = courseService.searchCourses(keyword);
         List<CourseResponseDto> courseDtos = courses.stream()
-                .map(this::mapToCourseResponseDto)
+                .map(DtoMapper::mapToCourseResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(courseDtos);
     }
@@ -51,7 +107,7 @@ public class CourseController {
     public ResponseEntity<CourseResponseDto> createCourse(@RequestBody CourseDto courseDto) {
         Course course = mapToCourse(courseDto);
         Course savedCourse = courseService.createCourse(course);
-        return ResponseEntity.ok(mapToCourseResponseDto(savedCourse));
+        return ResponseEntity.ok(DtoMapper.mapToCourseResponseDto(savedCourse));
     }
     
     @PutMapping("/{id}")
@@ -64,9 +120,10 @@ public class CourseController {
         existingCourse.setCourseCode(courseDto.getCourseCode());
         existingCourse.setCourseDuration(courseDto.getCourseDuration());
         existingCourse.setDescription(courseDto.getDescription());
+        existingCourse.setCapacity(courseDto.getCapacity());
         
         Course updatedCourse = courseService.updateCourse(existingCourse);
-        return ResponseEntity.ok(mapToCourseResponseDto(updatedCourse));
+        return ResponseEntity.ok(DtoMapper.mapToCourseResponseDto(updatedCourse));
     }
     
     @DeleteMapping("/{id}")
@@ -85,7 +142,7 @@ public class CourseController {
         
         course.setIsActive(true);
         Course updatedCourse = courseService.updateCourse(course);
-        return ResponseEntity.ok(mapToCourseResponseDto(updatedCourse));
+        return ResponseEntity.ok(DtoMapper.mapToCourseResponseDto(updatedCourse));
     }
     
     // Deactivate a course
@@ -97,7 +154,7 @@ public class CourseController {
         
         course.setIsActive(false);
         Course updatedCourse = courseService.updateCourse(course);
-        return ResponseEntity.ok(mapToCourseResponseDto(updatedCourse));
+        return ResponseEntity.ok(DtoMapper.mapToCourseResponseDto(updatedCourse));
     }
     
     // Toggle course status (active/inactive)
@@ -109,17 +166,21 @@ public class CourseController {
         
         course.setIsActive(!course.getIsActive());
         Course updatedCourse = courseService.updateCourse(course);
-        return ResponseEntity.ok(mapToCourseResponseDto(updatedCourse));
+        return ResponseEntity.ok(DtoMapper.mapToCourseResponseDto(updatedCourse));
     }
     
     // Get only active courses
     @GetMapping("/filter/active")
-    public ResponseEntity<List<CourseResponseDto>> getActiveCourses() {
+    public ResponseEntity<MappingJacksonValue> getActiveCourses(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseResponseDto.class);
+        if (!selection.isAll()) {
+            return ResponseEntity.ok(selection.apply(courseService.getActiveCourses(selection)));
+        }
         List<Course> activeCourses = courseService.getActiveCourses();
         List<CourseResponseDto> courseDtos = activeCourses.stream()
-                .map(this::mapToCourseResponseDto)
+                .map(DtoMapper::mapToCourseResponseDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDtos);
+        return ResponseEntity.ok(selection.apply(courseDtos));
     }
     
     // Get only inactive courses
@@ -128,7 +189,7 @@ public class CourseController {
     public ResponseEntity<List<CourseResponseDto>> getInactiveCourses() {
         List<Course> inactiveCourses = courseService.getInactiveCourses();
         List<CourseResponseDto> courseDtos = inactiveCourses.stream()
-                .map(this::mapToCourseResponseDto)
+                .map(DtoMapper::mapToCourseResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(courseDtos);
     }
@@ -155,19 +216,7 @@ public class CourseController {
         course.setCourseCode(courseDto.getCourseCode());
         course.setCourseDuration(courseDto.getCourseDuration());
         course.setDescription(courseDto.getDescription());
+        course.setCapacity(courseDto.getCapacity());
         return course;
     }
-    
-    private CourseResponseDto mapToCourseResponseDto(Course course) {
-        CourseResponseDto dto = new CourseResponseDto();
-        dto.setCourseId(course.getCourseId());
-        dto.setCourseName(course.getCourseName());
-        dto.setCourseCode(course.getCourseCode());
-        dto.setCourseDuration(course.getCourseDuration());
-        dto.setDescription(course.getDescription());
-        dto.setIsActive(course.getIsActive());
-        dto.setCreatedAt(course.getCreatedAt());
-        dto.setUpdatedAt(course.getUpdatedAt());
-        return dto;
-    }
 }
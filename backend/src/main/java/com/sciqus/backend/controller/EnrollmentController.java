@@ -1,13 +1,17 @@
 package com.sciqus.backend.controller;
 
+import com.sciqus.backend.dto.DtoMapper;
 import com.sciqus.backend.dto.EnrollmentResponseDto;
 import com.sciqus.backend.dto.UserResponseDto;
+import com.sciqus.backend.dto.WaitlistPositionDto;
 import com.sciqus.backend.entity.Course;
 import com.sciqus.backend.entity.Enrollment;
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.service.CourseService;
 import com.sciqus.backend.service.EnrollmentService;
+import com.sciqus.backend.service.PrerequisiteService;
 import com.sciqus.backend.service.UserService;
+import com.sciqus.backend.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -31,6 +35,12 @@ public class EnrollmentController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
     // Enroll a student in a course
     @PostMapping("/courses/{courseId}/enroll")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
@@ -47,24 +57,55 @@ public class EnrollmentController {
             
             // Check if enrollment is possible
             if (!enrollmentService.canStudentEnrollInCourse(user, course)) {
+                if (enrollmentService.isCourseFull(course)) {
+                    throw new RuntimeException("Course is full; join the waitlist at /api/courses/" + courseId + "/waitlist");
+                }
+                prerequisiteService.checkPrerequisites(user, course);
                 throw new RuntimeException("You cannot enroll in this course");
             }
             
             Enrollment enrollment = enrollmentService.enrollStudent(user, course);
-            return ResponseEntity.ok(mapToEnrollmentResponseDto(enrollment));
-            
+            return ResponseEntity.ok(DtoMapper.mapToEnrollmentResponseDto(enrollment));
+        
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid request: " + e.getMessage());
         }
     }
     
+    // Join the waitlist of a full course
+    @PostMapping("/courses/{courseId}/waitlist")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<WaitlistPositionDto> joinWaitlist(@PathVariable Long courseId) {
+        User user = getCurrentUser();
+        Course course = courseService.getCourseById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        return ResponseEntity.ok(waitlistService.join(user, course));
+    }
+    
+    // Current position on the waitlist of a course
+    @GetMapping("/courses/{courseId}/waitlist/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<WaitlistPositionDto> getWaitlistPosition(@PathVariable Long courseId) {
+        return ResponseEntity.ok(waitlistService.getPosition(getCurrentUser(), courseId));
+    }
+    
+    // Leave the waitlist of a course
+    @DeleteMapping("/courses/{courseId}/waitlist/me")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<String> leaveWaitlist(@PathVariable Long courseId) {
+        if (waitlistService.leave(getCurrentUser(), courseId)) {
+            return ResponseEntity.ok("Left the waitlist");
+        }
+        return ResponseEntity.badRequest().body("You are not on the waitlist of this course");
+    }
+    
     // Get students enrolled in a course
     @GetMapping("/courses/{courseId}/students")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserResponseDto>> getStudentsInCourse(@PathVariable Long courseId) {
         List<User> students = enrollmentService.getStudentsByCourseId(courseId);
         List<UserResponseDto> studentDtos = students.stream()
-                .map(this::mapToUserResponseDto)
+                .map(DtoMapper::mapToUserResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(studentDtos);
     }
@@ -89,19 +130,45 @@ public class EnrollmentController {
             }
             
             Enrollment enrollment = enrollmentService.enrollStudent(student, course);
-            return ResponseEntity.ok(mapToEnrollmentResponseDto(enrollment));
-            
+            return ResponseEntity.ok(DtoMapper.mapToEnrollmentResponseDto(enrollment));
+        
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid input: " + e.getMessage());
         }
     }
     
+    // Record that a student completed a course
+    @PostMapping("/courses/{courseId}/students/{studentId}/completion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> recordCompletion(@PathVariable Long courseId, @PathVariable Long studentId) {
+        User student = userService.getUserById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        Course course = courseService.getCourseById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        if (prerequisiteService.recordCompletion(student, course)) {
+            return ResponseEntity.ok("Completion recorded");
+        }
+        return ResponseEntity.ok("Completion was already recorded");
+    }
+    
+    // Withdraw a recorded completion
+    @DeleteMapping("/courses/{courseId}/students/{studentId}/completion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> removeCompletion(@PathVariable Long courseId, @PathVariable Long studentId) {
+        User student = userService.getUserById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found with id: " + studentId));
+        if (prerequisiteService.removeCompletion(student, courseId)) {
+            return ResponseEntity.ok("Completion removed");
+        }
+        return ResponseEntity.badRequest().body("Student has no completion recorded for this course");
+    }
+    
     // Get specific student from course
     @GetMapping("/courses/{courseId}/students/{studentId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserResponseDto> getStudentInCourse(@PathVariable Long courseId, @PathVariable Long studentId) {
         User student = enrollmentService.getStudentInCourse(courseId, studentId);
-        return ResponseEntity.ok(mapToUserResponseDto(student));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(student));
     }
     
     // Get all enrollments
@@ -110,7 +177,7 @@ public class EnrollmentController {
     public ResponseEntity<List<EnrollmentResponseDto>> getAllEnrollments() {
         List<Enrollment> enrollments = enrollmentService.getAllEnrollments();
         List<EnrollmentResponseDto> enrollmentDtos = enrollments.stream()
-                .map(this::mapToEnrollmentResponseDto)
+                .map(DtoMapper::mapToEnrollmentResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(enrollmentDtos);
     }
@@ -161,34 +228,15 @@ public class EnrollmentController {
             } else {
                 return ResponseEntity.badRequest().body("Student was not enrolled in this course");
             }
-            
+        
         } catch (Exception e) {
             throw new RuntimeException("Error unenrolling student: " + e.getMessage());
         }
     }
     
-    private EnrollmentResponseDto mapToEnrollmentResponseDto(Enrollment enrollment) {
-        EnrollmentResponseDto dto = new EnrollmentResponseDto();
-        dto.setEnrollmentId(enrollment.getId());
-        dto.setStudentId(enrollment.getStudent().getId());
-        dto.setStudentName(enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName());
-        dto.setCourseId(enrollment.getCourse().getCourseId());
-        dto.setCourseName(enrollment.getCourse().getCourseName());
-        dto.setEnrollmentDate(enrollment.getEnrolledAt());
-        return dto;
-    }
-    
-    private UserResponseDto mapToUserResponseDto(User user) {
-        UserResponseDto dto = new UserResponseDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setRole(user.getRole().toString());
-        dto.setIsActive(user.getIsActive());
-        dto.setCourseId(user.getCourseId());
-        return dto;
+    private User getCurrentUser() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userService.getUserByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -0,0 +1,89 @@
+package com.sciqus.backend.controller;
+
+import com.sciqus.backend.dto.ApiResponseDto;
+import com.sciqus.backend.dto.ErrorResponseDto;
+import com.sciqus.backend.dto.IdListDto;
+import com.sciqus.backend.dto.ReportJobDto;
+import com.sciqus.backend.service.RosterReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+    
+    @Autowired
+    private RosterReportService rosterReportService;
+    
+    // Queue a CSV roster of one or more courses; identical pending requests share one job
+    @PostMapping("/rosters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> submitRosterReport(@RequestBody IdListDto request) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            ReportJobDto job = rosterReportService.submit(request.getIds(), username);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/reports/rosters/" + job.getJobId())
+                    .body(ApiResponseDto.success("Roster report queued", job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(new ErrorResponseDto(e.getMessage(), "REPORT_QUEUE_FULL"));
+        }
+    }
+    
+    @GetMapping("/rosters/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getRosterReport(@PathVariable String jobId) {
+        Optional<ReportJobDto> job = rosterReportService.getJob(jobId);
+        if (job.isEmpty()) {
+            return notFound(jobId);
+        }
+        return ResponseEntity.ok(ApiResponseDto.success("Roster report status retrieved successfully", job.get()));
+    }
+    
+    @GetMapping("/rosters/{jobId}/download")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> downloadRosterReport(@PathVariable String jobId) {
+        Optional<ReportJobDto> job = rosterReportService.getJob(jobId);
+        if (job.isEmpty()) {
+            return notFound(jobId);
+        }
+        Optional<Path> file = rosterReportService.findArtifact(jobId);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponseDto("Roster report is " + job.get().getStatus().toLowerCase() + ", not ready for download",
+                            "REPORT_NOT_READY"));
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("roster-" + jobId + ".csv").build().toString())
+                .body(new FileSystemResource(file.get()));
+    }
+    
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getReportStats() {
+        return ResponseEntity.ok(ApiResponseDto.success("Report statistics retrieved successfully", rosterReportService.getStatistics()));
+    }
+    
+    private ResponseEntity<ErrorResponseDto> notFound(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponseDto("Report job not found: " + jobId, "REPORT_NOT_FOUND"));
+    }
+}
@@ -6,6 +6,11 @@ import com.sciqus.backend.entity.Enrollment;
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.service.CourseService;
 import com.sciqus.backend.service.EnrollmentService;
+import com.sciqus.backend.service.PrerequisiteService;
+import com.sciqus.backend.service.RecommendationService;
+import com.sciqus.backend.service.ScheduleService;
+import com.sciqus.backend.service.StudentDashboardService;
+import com.sciqus.backend.service.UserPrincipal;
 import com.sciqus.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -36,6 +42,18 @@ public class StudentController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
     // ================================
     // DASHBOARD & OVERVIEW ENDPOINTS
     // ================================
@@ -43,31 +61,24 @@ public class StudentController {
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<Map<String, Object>> getStudentDashboard() {
-        User student = getCurrentStudent();
-        Map<String, Object> dashboard = new HashMap<>();
-        
-        // Basic student info
-        dashboard.put("studentName", student.getFirstName() + " " + student.getLastName());
-        dashboard.put("username", student.getUsername());
-        dashboard.put("email", student.getEmail());
-        
-        // Enrollment stats
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
-        dashboard.put("totalEnrollments", enrollments.size());
-        dashboard.put("hasEnrollments", !enrollments.isEmpty());
-        
-        // Available courses count
-        List<Course> availableCourses = courseService.getActiveCourses();
-        dashboard.put("availableCourses", availableCourses.size());
-        
-        return ResponseEntity.ok(dashboard);
+        // Counts and latest enrollment come from a cached per-student summary
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(studentDashboardService.getDashboard(principal.getId()));
+    }
+
+    @GetMapping("/schedule")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<ScheduleEntryDto>> getStudentSchedule() {
+        // Weekly sessions of every enrolled course, from the in-memory schedule index
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(scheduleService.getStudentSchedule(principal.getId()));
     }
 
     @GetMapping("/profile")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     public ResponseEntity<UserResponseDto> getStudentProfile() {
         User student = getCurrentStudent();
-        return ResponseEntity.ok(mapToUserResponseDto(student));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(student));
     }
 
     @GetMapping("/course")
@@ -124,12 +135,41 @@ public class StudentController {
         User student = getCurrentStudent();
         List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
         List<EnrollmentResponseDto> enrollmentDtos = enrollments.stream()
-                .map(this::mapToEnrollmentResponseDto)
+                .map(DtoMapper::mapToEnrollmentResponseDto)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(enrollmentDtos);
     }
 
+    @GetMapping("/enrollments/history")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<EnrollmentResponseDto>> getMyEnrollmentHistory() {
+        // Includes enrollments moved to the archive
+        User student = getCurrentStudent();
+        return ResponseEntity.ok(enrollmentService.getEnrollmentHistory(student));
+    }
+
+    @GetMapping("/recommended-courses")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<RecommendedCourseDto>> getRecommendedCourses(@RequestParam(defaultValue = "10") int limit) {
+        // Courses most often taken together with the student's current ones
+        User student = getCurrentStudent();
+        return ResponseEntity.ok(recommendationService.getRecommendations(student.getId(), limit));
+    }
+
+    @GetMapping("/completed-courses")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<List<CourseResponseDto>> getCompletedCourses() {
+        User student = getCurrentStudent();
+        List<CourseResponseDto> courseDtos = prerequisiteService.getCompletedCourseIds(student.getId()).stream()
+                .map(courseService::getCourseIncludingArchived)
+                .flatMap(Optional::stream)
+                .map(DtoMapper::mapToCourseResponseDto)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(courseDtos);
+    }
+
     @GetMapping("/available-courses")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<List<CourseResponseDto>> getAvailableCourses() {
@@ -150,7 +190,7 @@ public class StudentController {
                 .collect(Collectors.toList());
 
         List<CourseResponseDto> courseDtos = availableCourses.stream()
-                .map(this::mapToCourseResponseDto)
+                .map(DtoMapper::mapToCourseResponseDto)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(courseDtos);
@@ -196,7 +236,7 @@ public class StudentController {
         // Note: Cannot change username, email, role via this endpoint
 
         User updatedStudent = userService.updateUser(student);
-        return ResponseEntity.ok(mapToUserResponseDto(updatedStudent));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(updatedStudent));
     }
 
     @PutMapping("/contact-info")
@@ -209,7 +249,7 @@ public class StudentController {
         student.setPhoneNumber(request.getPhoneNumber());
         
         User updatedStudent = userService.updateUser(student);
-        return ResponseEntity.ok(mapToUserResponseDto(updatedStudent));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(updatedStudent));
     }
 
     @PutMapping("/change-password")
@@ -240,42 +280,6 @@ public class StudentController {
                 .orElseThrow(() -> new RuntimeException("Student not found"));
     }
 
-    private EnrollmentResponseDto mapToEnrollmentResponseDto(Enrollment enrollment) {
-        EnrollmentResponseDto dto = new EnrollmentResponseDto();
-        dto.setEnrollmentId(enrollment.getId());
-        dto.setStudentId(enrollment.getStudent().getId());
-        dto.setStudentName(enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName());
-        dto.setCourseId(enrollment.getCourse().getCourseId());
-        dto.setCourseName(enrollment.getCourse().getCourseName());
-        dto.setEnrollmentDate(enrollment.getEnrolledAt());
-        return dto;
-    }
-
-    private CourseResponseDto mapToCourseResponseDto(Course course) {
-        CourseResponseDto dto = new CourseResponseDto();
-        dto.setCourseId(course.getCourseId());
-        dto.setCourseName(course.getCourseName());
-        dto.setCourseCode(course.getCourseCode());
-        dto.setCourseDuration(course.getCourseDuration());
-        dto.setDescription(course.getDescription());
-        dto.setIsActive(course.getIsActive());
-        return dto;
-    }
-
-    private UserResponseDto mapToUserResponseDto(User user) {
-        UserResponseDto dto = new UserResponseDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setRole(user.getRole().toString());
-        dto.setIsActive(user.getIsActive());
-        dto.setCourseId(user.getCourseId());
-        return dto;
-    }
-
     // ================================
     // REQUEST DTOs
     // ================================
@@ -1,12 +1,17 @@
 package com.sciqus.backend.controller;
 
 import com.sciqus.backend.dto.AdminUserCreationDto;
+import com.sciqus.backend.dto.BatchLookupDto;
+import com.sciqus.backend.dto.DtoMapper;
+import com.sciqus.backend.dto.FieldSelection;
+import com.sciqus.backend.dto.IdListDto;
 import com.sciqus.backend.dto.UserResponseDto;
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.service.UserService;
 import com.sciqus.backend.util.PasswordGeneratorDemo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,20 +27,35 @@ public class UserController {
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
+    public ResponseEntity<MappingJacksonValue> getAllUsers(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, UserResponseDto.class);
+        if (!selection.isAll()) {
+            return ResponseEntity.ok(selection.apply(userService.getAllUsers(selection)));
+        }
         List<User> users = userService.getAllUsers();
         List<UserResponseDto> userDtos = users.stream()
-                .map(this::mapToUserResponseDto)
+                .map(DtoMapper::mapToUserResponseDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(userDtos);
+        return ResponseEntity.ok(selection.apply(userDtos));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long id) {
+    public ResponseEntity<MappingJacksonValue> getUserById(@PathVariable Long id,
+                                                          @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, UserResponseDto.class);
+        // Single users come from the second-level cache, so only the serialized properties are trimmed
         User user = userService.getUserById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        return ResponseEntity.ok(mapToUserResponseDto(user));
+        return ResponseEntity.ok(selection.apply(DtoMapper.mapToUserResponseDto(user)));
+    }
+    
+    @PostMapping("/lookup")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<BatchLookupDto<UserResponseDto>> lookupUsers(@RequestBody IdListDto request) {
+        List<Long> distinctIds = BatchLookupDto.distinctIds(request.getIds());
+        List<User> users = userService.getUsersByIds(distinctIds);
+        return ResponseEntity.ok(BatchLookupDto.of(distinctIds, users, DtoMapper::mapToUserResponseDto));
     }
     
     @PostMapping
@@ -57,7 +77,7 @@ public class UserController {
         }
         
         User savedUser = userService.createUser(user);
-        return ResponseEntity.ok(mapToUserResponseDto(savedUser));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(savedUser));
     }
     
     @PutMapping("/{id}")
@@ -72,7 +92,7 @@ public class UserController {
         existingUser.setCourseId(userDto.getCourseId());
         
         User updatedUser = userService.updateUser(existingUser);
-        return ResponseEntity.ok(mapToUserResponseDto(updatedUser));
+        return ResponseEntity.ok(DtoMapper.mapToUserResponseDto(updatedUser));
     }
     
     @DeleteMapping("/{id}")
@@ -101,18 +121,4 @@ public class UserController {
         userService.updateUser(user);
         return ResponseEntity.ok("User deactivated successfully");
     }
-    
-    private UserResponseDto mapToUserResponseDto(User user) {
-        UserResponseDto dto = new UserResponseDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setRole(user.getRole().toString());
-        dto.setIsActive(user.getIsActive());
-        dto.setCourseId(user.getCourseId());
-        return dto;
-    }
 }
@@ -0,0 +1,41 @@
+package com.sciqus.backend.dto;
+
+import com.sciqus.backend.entity.AuditEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDto {
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private Long studentId;
+    private Long courseId;
+    private Long actorId;
+    private String actorUsername;
+    private String requestId;
+    private String details;
+    
+    public static AuditEventDto from(AuditEvent event) {
+        return new AuditEventDto(
+                event.getId(),
+                event.getOccurredAt(),
+                event.getAction().name(),
+                event.getEntityType().name(),
+                event.getEntityId(),
+                event.getStudentId(),
+                event.getCourseId(),
+                event.getActorId(),
+                event.getActorUsername(),
+                event.getRequestId(),
+                event.getDetails()
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Result of a multi-get: the entities found, in the order their ids were requested, and the
+ * requested ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupDto<T> {
+    
+    public static final int MAX_IDS = 500;
+    
+    private List<T> content;
+    private List<Long> missing;
+    
+    /**
+     * Drops duplicate ids, keeping the first occurrence, and rejects empty, oversized or
+     * null-containing requests.
+     */
+    public static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        List<Long> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be looked up at once");
+        }
+        return distinct;
+    }
+    
+    /**
+     * Pairs {@code loaded} with {@code ids} position by position; a null entry marks a missing id.
+     */
+    public static <E, T> BatchLookupDto<T> of(List<Long> ids, List<E> loaded, Function<E, T> mapper) {
+        List<T> content = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            E entity = loaded.get(i);
+            if (entity == null) {
+                missing.add(ids.get(i));
+            } else {
+                content.add(mapper.apply(entity));
+            }
+        }
+        return new BatchLookupDto<>(content, missing);
+    }
+}
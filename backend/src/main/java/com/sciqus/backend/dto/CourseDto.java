@@ -12,4 +12,5 @@ public class CourseDto {
     private String courseCode;
     private Integer courseDuration;
     private String description;
+    private Integer capacity;
 }
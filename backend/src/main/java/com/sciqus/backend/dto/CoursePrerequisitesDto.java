@@ -0,0 +1,18 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePrerequisitesDto {
+    private Long courseId;
+    // Set by admins
+    private List<Long> prerequisiteIds;
+    // Everything a student must have completed, including prerequisites of prerequisites
+    private List<Long> requiredCourseIds;
+}
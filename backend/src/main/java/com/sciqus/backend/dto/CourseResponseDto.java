@@ -16,6 +16,7 @@ public class CourseResponseDto {
     private Integer courseDuration;
     private String description;
     private Boolean isActive;
+    private Integer capacity;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,53 @@
+package com.sciqus.backend.dto;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.Enrollment;
+import com.sciqus.backend.entity.User;
+
+/**
+ * Entity to response DTO conversions shared by the controllers and services.
+ */
+public final class DtoMapper {
+    
+    private DtoMapper() {
+    }
+    
+    public static CourseResponseDto mapToCourseResponseDto(Course course) {
+        CourseResponseDto dto = new CourseResponseDto();
+        dto.setCourseId(course.getCourseId());
+        dto.setCourseName(course.getCourseName());
+        dto.setCourseCode(course.getCourseCode());
+        dto.setCourseDuration(course.getCourseDuration());
+        dto.setDescription(course.getDescription());
+        dto.setIsActive(course.getIsActive());
+        dto.setCapacity(course.getCapacity());
+        dto.setCreatedAt(course.getCreatedAt());
+        dto.setUpdatedAt(course.getUpdatedAt());
+        return dto;
+    }
+    
+    public static UserResponseDto mapToUserResponseDto(User user) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setPhoneNumber(user.getPhoneNumber());
+        dto.setRole(user.getRole().toString());
+        dto.setIsActive(user.getIsActive());
+        dto.setCourseId(user.getCourseId());
+        return dto;
+    }
+    
+    public static EnrollmentResponseDto mapToEnrollmentResponseDto(Enrollment enrollment) {
+        EnrollmentResponseDto dto = new EnrollmentResponseDto();
+        dto.setEnrollmentId(enrollment.getId());
+        dto.setStudentId(enrollment.getStudent().getId());
+        dto.setStudentName(enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName());
+        dto.setCourseId(enrollment.getCourse().getCourseId());
+        dto.setCourseName(enrollment.getCourse().getCourseName());
+        dto.setEnrollmentDate(enrollment.getEnrolledAt());
+        return dto;
+    }
+}
@@ -0,0 +1,17 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentBucketDto {
+    private LocalDate periodStart;
+    private Long enrolled;
+    private Long dropped;
+    private Long net;
+}
@@ -0,0 +1,24 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentTrendDto {
+    // Null when the buckets are summed over all courses
+    private Long courseId;
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private Long totalEnrolled;
+    private Long totalDropped;
+    // Enrollments of the last bucket against the one before it; null when that one is empty
+    private Double changePercent;
+    private List<EnrollmentBucketDto> buckets;
+}
@@ -0,0 +1,98 @@
+package com.sciqus.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Properties requested through a {@code ?fields=} parameter. Response DTOs that support sparse
+ * fieldsets are listed in {@link #FILTERED_TYPES} and get {@link Filtered} as a Jackson mix-in on the
+ * application's ObjectMapper; {@link #apply(Object)} writes only the selected properties, and list
+ * endpoints also fetch only the matching columns. The DTOs themselves stay plain, so any other
+ * ObjectMapper writes them in full.
+ */
+public final class FieldSelection {
+    
+    public static final String FILTER_ID = "fieldSelection";
+    
+    public static final List<Class<?>> FILTERED_TYPES = List.of(CourseResponseDto.class, UserResponseDto.class);
+    
+    private static final FieldSelection ALL = new FieldSelection(null);
+    
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+    
+    private final Set<String> fields;
+    
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+    
+    /**
+     * Parses a comma separated field list against the properties of {@code dtoType}. A missing or
+     * blank list selects every property; an unknown name is rejected.
+     */
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> available = propertiesOf(dtoType);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', available fields: "
+                        + String.join(", ", available));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+    
+    public boolean isAll() {
+        return fields == null;
+    }
+    
+    /**
+     * Selected property names in request order; only meaningful when {@link #isAll()} is false.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+    
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID,
+                isAll() ? SimpleBeanPropertyFilter.serializeAll() : SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+    
+    private static Set<String> propertiesOf(Class<?> dtoType) {
+        return PROPERTIES.computeIfAbsent(dtoType, type -> {
+            Set<String> names = new LinkedHashSet<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    names.add(field.getName());
+                }
+            }
+            return Collections.unmodifiableSet(names);
+        });
+    }
+    
+    /** Mix-in attaching the field selection filter to the types in {@link #FILTERED_TYPES}. */
+    @JsonFilter(FILTER_ID)
+    public interface Filtered {
+    }
+}
@@ -0,0 +1,14 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogLevelDto {
+    private String category;
+    private String configuredLevel;
+    private String effectiveLevel;
+}
@@ -0,0 +1,18 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendedCourseDto {
+    private Long courseId;
+    private String courseName;
+    private String courseCode;
+    private Integer courseDuration;
+    private String description;
+    // Students of the requester's courses who are also enrolled here; 0 for popularity fallbacks
+    private Integer coEnrollments;
+}
@@ -0,0 +1,28 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+    private String jobId;
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String status;
+    private List<Long> courseIds;
+    private String requestedBy;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // When the finished job and its file are removed; null while the job is still pending
+    private LocalDateTime expiresAt;
+    private Long rows;
+    private Long sizeBytes;
+    private String error;
+    private String downloadUrl;
+}
@@ -0,0 +1,18 @@
+package com.sciqus.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDto {
+    private Long courseId;
+    private Long studentId;
+    private Integer position;
+    private Integer waiting;
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,91 @@
+package com.sciqus.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only audit trail. Rows are inserted in batches by
+ * {@link com.sciqus.backend.audit.AuditWriter}; JPA only reads them.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
+    private Action action;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id")
+    private Long entityId;
+    
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Column(name = "course_id")
+    private Long courseId;
+    
+    @Column(name = "actor_id")
+    private Long actorId;
+    
+    @Column(name = "actor_username", length = 50)
+    private String actorUsername;
+    
+    @Column(name = "request_id", length = 64)
+    private String requestId;
+    
+    @Column(length = 500)
+    private String details;
+    
+    // Picks the database the writer inserts into; each tenant database holds only its own events
+    @Transient
+    private String tenant;
+    
+    public enum EntityType {
+        ENROLLMENT, USER, COURSE
+    }
+    
+    public enum Action {
+        ENROLLMENT_CREATED(EntityType.ENROLLMENT),
+        ENROLLMENT_REMOVED(EntityType.ENROLLMENT),
+        USER_CREATED(EntityType.USER),
+        USER_UPDATED(EntityType.USER),
+        USER_DELETED(EntityType.USER),
+        COURSE_CREATED(EntityType.COURSE),
+        COURSE_UPDATED(EntityType.COURSE),
+        COURSE_DELETED(EntityType.COURSE);
+        
+        private final EntityType entityType;
+        
+        Action(EntityType entityType) {
+            this.entityType = entityType;
+        }
+        
+        public EntityType getEntityType() {
+            return entityType;
+        }
+    }
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Table(name = "courses")
 @Data
 @NoArgsConstructor
@@ -17,7 +21,7 @@ import java.time.LocalDateTime;
 public class Course {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(segment = "courses")
     @Column(name = "course_id")
     private Long courseId;
     
@@ -36,6 +40,10 @@ public class Course {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    // Seat limit; null means unlimited. Students beyond it go to the course waitlist
+    @Column(name = "capacity")
+    private Integer capacity;
+    
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
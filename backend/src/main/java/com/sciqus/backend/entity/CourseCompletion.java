@@ -0,0 +1,33 @@
+package com.sciqus.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A course the student has completed, which counts towards the prerequisites of other courses.
+ * The course is referenced by id only, since completions outlive archived courses.
+ */
+@Entity
+@Table(name = "course_completions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseCompletion {
+    
+    @Id
+    @PooledTableId(segment = "course_completions")
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,49 @@
+package com.sciqus.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One weekly meeting slot of a course: every {@code dayOfWeek} from {@code startTime} to
+ * {@code endTime}, between {@code startDate} and {@code endDate} inclusive.
+ */
+@Entity
+@Table(name = "course_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSession {
+    
+    @Id
+    @PooledTableId(segment = "course_sessions")
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "day_of_week", nullable = false, length = 9)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+}
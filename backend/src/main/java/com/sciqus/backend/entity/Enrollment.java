@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 public class Enrollment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId(segment = "enrollments")
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,22 @@
+package com.sciqus.backend.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated id with {@link PooledTableIdGenerator}.
+ */
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledTableId {
+
+    /** Row of the generator table that holds the next id of this entity, usually its table name. */
+    String segment();
+}
@@ -0,0 +1,92 @@
+package com.sciqus.backend.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Table backed id generator shared by all entities, applied with {@link PooledTableId}.
+ *
+ * Each entity owns one row (segment) in {@link #TABLE_NAME}, named by {@link PooledTableId#segment()}. Ids are handed out in blocks
+ * using the pooled-lo optimizer, so Hibernate only touches the generator table once per
+ * block and can batch the actual inserts. The block size is read from the
+ * {@code sciqus.id.allocation_size} JPA property (default {@value #DEFAULT_ALLOCATION_SIZE}).
+ *
+ * With pooled-lo the stored value is always the next unused id, which keeps the table easy to
+ * seed from existing data and safe across allocation size changes.
+ *
+ * Fetching a new block runs on a separate connection while the caller's transaction still holds
+ * its own. {@link #isAllocating()} lets the DataSource hand that connection out from a dedicated
+ * pool, otherwise a burst of concurrent inserts can exhaust the main pool and deadlock.
+ */
+public class PooledTableIdGenerator extends TableGenerator implements AnnotationBasedGenerator<PooledTableId> {
+    
+    public static final String TABLE_NAME = "id_generators";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    
+    public static final String ALLOCATION_SIZE_SETTING = "sciqus.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+    
+    private static final ThreadLocal<Boolean> ALLOCATING = ThreadLocal.withInitial(() -> false);
+    
+    private String segment;
+    
+    /** Whether the current thread is inside id generation, i.e. any connection it asks for is for the generator table. */
+    public static boolean isAllocating() {
+        return ALLOCATING.get();
+    }
+    
+    @Override
+    public void initialize(PooledTableId annotation, Member member, GeneratorCreationContext context) {
+        segment = annotation.segment();
+    }
+    
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        
+        parameters.put(TABLE_PARAM, TABLE_NAME);
+        parameters.put(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        parameters.put(SEGMENT_VALUE_PARAM, segment);
+        parameters.put(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        parameters.put(OptimizableGenerator.INITIAL_PARAM, "1");
+        parameters.put(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(resolveAllocationSize(settings)));
+        parameters.put(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        
+        super.configure(type, parameters, serviceRegistry);
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object obj) {
+        ALLOCATING.set(true);
+        try {
+            return super.generate(session, obj);
+        } finally {
+            ALLOCATING.set(false);
+        }
+    }
+    
+    private int resolveAllocationSize(Map<String, Object> settings) {
+        Object value = settings.get(ALLOCATION_SIZE_SETTING);
+        if (value == null) {
+            return DEFAULT_ALLOCATION_SIZE;
+        }
+        int allocationSize = Integer.parseInt(value.toString().trim());
+        if (allocationSize < 1) {
+            throw new MappingException(ALLOCATION_SIZE_SETTING + " must be at least 1, was " + allocationSize);
+        }
+        return allocationSize;
+    }
+}
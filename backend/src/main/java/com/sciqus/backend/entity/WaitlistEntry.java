@@ -0,0 +1,36 @@
+package com.sciqus.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student waiting for a seat in a full course. Entries are served in {@code ticket} order (then
+ * id); the ticket is the join time in microseconds, made unique per node by WaitlistService.
+ */
+@Entity
+@Table(name = "course_waitlist")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    
+    @Id
+    @PooledTableId(segment = "course_waitlist")
+    private Long id;
+    
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long studentId;
+    
+    @Column(nullable = false)
+    private Long ticket;
+    
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,24 @@
+package com.sciqus.backend.events;
+
+import com.sciqus.backend.entity.Course;
+
+public record CourseChanged(ChangeType change, Long courseId, String courseCode, Boolean active) implements DomainEvent {
+    
+    public static CourseChanged of(ChangeType change, Course course) {
+        return new CourseChanged(change, course.getCourseId(), course.getCourseCode(), course.getIsActive());
+    }
+    
+    public static CourseChanged deleted(Long courseId) {
+        return new CourseChanged(ChangeType.DELETED, courseId, null, false);
+    }
+    
+    @Override
+    public String aggregateType() {
+        return "COURSE";
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sciqus.backend.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event as handed to subscribers. {@code sequence} is the outbox row id: it increases in
+ * delivery order and stays the same when an event is delivered again, so subscribers can use it
+ * to ignore duplicates.
+ */
+public record DeliveredEvent(long sequence, LocalDateTime occurredAt, DomainEvent event) {
+}
@@ -0,0 +1,19 @@
+package com.sciqus.backend.events;
+
+/**
+ * Something that changed in the domain, published through the outbox.
+ * Events with the same aggregate are delivered in the order they were committed.
+ */
+public sealed interface DomainEvent permits CourseChanged, UserChanged, EnrollmentCreated, EnrollmentRemoved,
+        PrerequisitesChanged, WaitlistChanged {
+    
+    String aggregateType();
+    
+    Long aggregateId();
+    
+    enum ChangeType {
+        CREATED, UPDATED, DELETED,
+        // Moved to the cold tier by ArchivalJob; gone from the hot tables but still readable through the archive
+        ARCHIVED
+    }
+}
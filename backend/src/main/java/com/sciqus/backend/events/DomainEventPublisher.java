@@ -0,0 +1,64 @@
+package com.sciqus.backend.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes domain events to the outbox as part of the caller's transaction, so an event exists
+ * exactly when the change it describes was committed. The dispatcher is woken after commit.
+ * <p>
+ * Pending entity changes are flushed first, so the transaction holds the changed rows' locks before
+ * the outbox row gets its id. A concurrent change to the same entity waits for those locks and is
+ * numbered after this one, which is what keeps delivery in commit order per entity.
+ */
+@Component
+public class DomainEventPublisher {
+    
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String eventType = event.getClass().getSimpleName();
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + eventType, e);
+        }
+        entityManager.flush();
+        jdbcTemplate.update(INSERT_SQL, event.aggregateType(), event.aggregateId(), eventType, payload,
+                Timestamp.valueOf(LocalDateTime.now()));
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        });
+    }
+}
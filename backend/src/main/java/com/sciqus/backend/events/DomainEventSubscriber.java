@@ -0,0 +1,14 @@
+package com.sciqus.backend.events;
+
+import java.util.List;
+
+/**
+ * In-process consumer of domain events. Every bean implementing this, on every node, receives
+ * each batch in outbox order. Delivery is at least once: if any subscriber throws, the whole
+ * batch is delivered again to all subscribers, and a starting node replays recent events, so
+ * handlers must be idempotent.
+ */
+public interface DomainEventSubscriber {
+    
+    void onEvents(List<DeliveredEvent> events);
+}
@@ -0,0 +1,17 @@
+package com.sciqus.backend.events;
+
+/**
+ * Keyed by course, so enrollment changes reach course-level read models (counts, rosters) in commit order.
+ */
+public record EnrollmentRemoved(Long enrollmentId, Long studentId, Long courseId) implements DomainEvent {
+    
+    @Override
+    public String aggregateType() {
+        return "COURSE";
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return courseId;
+    }
+}
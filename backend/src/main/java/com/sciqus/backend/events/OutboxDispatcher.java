@@ -0,0 +1,263 @@
+package com.sciqus.backend.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.tenant.TenantDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers outbox events to every {@link DomainEventSubscriber} in batches, oldest first.
+ * A background thread runs whenever a transaction that published events commits, and on a
+ * fixed interval to pick up anything left over. Subscribers keep per-node read models (caches,
+ * in-memory queues, open streams), so every node delivers every event: rows are not taken by
+ * whichever node reads them first but kept for {@code app.outbox.retention} and purged by age.
+ * <p>
+ * Each node remembers per tenant the id up to which it has delivered everything. An id missing
+ * below a delivered one belongs to a transaction that has not committed yet (or rolled back), so
+ * the position only moves past it once the later row has waited {@code app.outbox.gap-timeout};
+ * an event committed after a later-numbered one is still delivered within that time. Changes to
+ * the same entity lock the same row, commit one after the other and so are delivered in that
+ * order. A node that starts replays the rows of the last gap timeout, which handlers tolerate as
+ * they must be idempotent anyway.
+ */
+@Component
+public class OutboxDispatcher implements SmartLifecycle, MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = new HashMap<>();
+    
+    static {
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            EVENT_TYPES.put(type.getSimpleName(), type.asSubclass(DomainEvent.class));
+        }
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    // Looked up per batch: subscribers may depend on services that publish events, which would be a cycle
+    @Autowired
+    private ObjectProvider<DomainEventSubscriber> subscribers;
+    
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${app.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+    
+    @Value("${app.outbox.gap-timeout:1m}")
+    private Duration gapTimeout;
+    
+    @Value("${app.outbox.retention:15m}")
+    private Duration retention;
+    
+    // Per tenant, since each has its own outbox; only used under the dispatchPending lock
+    private final Map<String, Cursor> cursors = new HashMap<>();
+    
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    
+    private volatile Thread worker;
+    private volatile boolean running;
+    
+    public void wakeUp() {
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+    
+    /**
+     * Delivers everything in the outbox of every tenant that this node has not delivered yet, and
+     * purges expired rows. Returns false if a batch failed
+     * and was left for the next attempt. Called by the dispatcher thread, on shutdown and by tests.
+     */
+    public synchronized boolean dispatchPending() {
+        boolean[] delivered = {true};
+        // Subscribers see each batch as its tenant, so tenant-scoped state is updated in the right place
+        tenantDirectory.forEachTenant(() -> {
+            try {
+                delivered[0] &= dispatchTenant();
+            } catch (Exception e) {
+                failures.increment();
+                logger.warn("Outbox poll of tenant {} failed: {}", tenantDirectory.currentTenant(), e.getMessage());
+                delivered[0] = false;
+            }
+        });
+        return delivered[0];
+    }
+    
+    private boolean dispatchTenant() {
+        Cursor cursor = cursors.computeIfAbsent(tenantDirectory.currentTenant(), tenant -> new Cursor(startPosition()));
+        long after = cursor.position;
+        while (true) {
+            // Outside a read-only transaction, so this reads the primary: a lagging replica
+            // would hide rows that other nodes already see
+            List<OutboxRow> rows = jdbcTemplate.query(
+                    "SELECT id, event_type, payload, created_at FROM outbox_events WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("event_type"), rs.getString("payload"),
+                            rs.getTimestamp("created_at").toLocalDateTime()),
+                    after, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            
+            List<OutboxRow> fresh = rows.stream().filter(row -> !cursor.delivered.containsKey(row.id())).toList();
+            if (!fresh.isEmpty()) {
+                try {
+                    List<DeliveredEvent> events = new ArrayList<>(fresh.size());
+                    for (OutboxRow row : fresh) {
+                        events.add(new DeliveredEvent(row.id(), row.createdAt(), deserialize(row)));
+                    }
+                    for (DomainEventSubscriber subscriber : subscribers.orderedStream().toList()) {
+                        subscriber.onEvents(events);
+                    }
+                } catch (Exception e) {
+                    failures.increment();
+                    logger.warn("Delivering outbox events {}..{} failed, will retry: {}",
+                            fresh.get(0).id(), fresh.get(fresh.size() - 1).id(), e.getMessage(), e);
+                    return false;
+                }
+                long now = System.nanoTime();
+                fresh.forEach(row -> cursor.delivered.put(row.id(), now));
+                dispatched.add(fresh.size());
+            }
+            after = rows.get(rows.size() - 1).id();
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+        cursor.advance(System.nanoTime(), gapTimeout.toNanos());
+        
+        // Every node purges; the rows are gone for all of them, so the retention must exceed any pause
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        return true;
+    }
+    
+    private long startPosition() {
+        Long position = jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_events WHERE created_at < ?",
+                Long.class, Timestamp.valueOf(LocalDateTime.now().minus(gapTimeout)));
+        return position != null ? position : 0;
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "outbox-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        // Stop after the web server, like the audit writer
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sciqus.outbox.events.dispatched", dispatched, LongAdder::sum)
+                .description("Outbox events delivered to all subscribers of this node")
+                .register(registry);
+        FunctionCounter.builder("sciqus.outbox.dispatch.failures", failures, LongAdder::sum)
+                .description("Outbox batches that failed and were left for a retry")
+                .register(registry);
+    }
+    
+    private void run() {
+        while (running) {
+            boolean delivered = dispatchPending();
+            // Commits wake the thread early, except after a failure: then it waits out the interval before retrying
+            long deadline = System.nanoTime() + pollInterval.toNanos();
+            do {
+                LockSupport.parkNanos(this, deadline - System.nanoTime());
+            } while (!delivered && running && System.nanoTime() < deadline);
+        }
+    }
+    
+    private DomainEvent deserialize(OutboxRow row) throws Exception {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(row.eventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type " + row.eventType() + " in outbox row " + row.id());
+        }
+        return objectMapper.readValue(row.payload(), type);
+    }
+    
+    private record OutboxRow(long id, String eventType, String payload, LocalDateTime createdAt) {
+    }
+    
+    /** Ids up to {@code position} are delivered or given up; above it, the delivered ids and when. */
+    private static final class Cursor {
+        
+        private long position;
+        private final TreeMap<Long, Long> delivered = new TreeMap<>();
+        
+        Cursor(long position) {
+            this.position = position;
+        }
+        
+        /**
+         * Moves past delivered ids in order. A missing id is given up once the first delivered id
+         * after it has waited the gap timeout; its row, should it still commit, is not delivered.
+         */
+        void advance(long now, long gapTimeoutNanos) {
+            while (!delivered.isEmpty()) {
+                Map.Entry<Long, Long> first = delivered.firstEntry();
+                if (first.getKey() != position + 1 && now - first.getValue() < gapTimeoutNanos) {
+                    return;
+                }
+                position = first.getKey();
+                delivered.pollFirstEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sciqus.backend.events;
+
+/**
+ * The prerequisites of a course were replaced. Carries no edges: subscribers read the current
+ * ones, so a late or repeated delivery cannot bring back an older graph.
+ */
+public record PrerequisitesChanged(Long courseId) implements DomainEvent {
+    
+    @Override
+    public String aggregateType() {
+        return "COURSE";
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sciqus.backend.events;
+
+import com.sciqus.backend.entity.User;
+
+public record UserChanged(ChangeType change, Long userId, String username, String role, Boolean active) implements DomainEvent {
+    
+    public static UserChanged of(ChangeType change, User user) {
+        return new UserChanged(change, user.getId(), user.getUsername(),
+                user.getRole() == null ? null : user.getRole().name(), user.getIsActive());
+    }
+    
+    public static UserChanged deleted(Long userId) {
+        return new UserChanged(ChangeType.DELETED, userId, null, null, false);
+    }
+    
+    @Override
+    public String aggregateType() {
+        return "USER";
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return userId;
+    }
+}
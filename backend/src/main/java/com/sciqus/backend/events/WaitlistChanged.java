@@ -0,0 +1,18 @@
+package com.sciqus.backend.events;
+
+/**
+ * A student joined ({@code CREATED}) or left a course's waitlist, by leaving or by being promoted
+ * ({@code DELETED}). Carries the ticket so other nodes can update their in-memory queue of the course.
+ */
+public record WaitlistChanged(ChangeType change, Long courseId, Long studentId, long ticket) implements DomainEvent {
+    
+    @Override
+    public String aggregateType() {
+        return "COURSE";
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return courseId;
+    }
+}
@@ -0,0 +1,54 @@
+package com.sciqus.backend.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's {@link AsyncAppender} (a bounded array queue drained by one worker thread) that
+ * counts the events it drops, for {@code sciqus.logging.events.dropped}.
+ *
+ * Events are dropped when the queue is past the discarding threshold (TRACE to INFO only) or,
+ * with {@code neverBlock}, when it is full. The full-queue count is best effort: the capacity
+ * check and the enqueue are not atomic.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+    
+    private static final LongAdder DROPPED = new LongAdder();
+    
+    private static volatile DropCountingAsyncAppender current;
+    
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+    
+    /** The most recently started instance, or {@code null} before logging is configured. */
+    public static DropCountingAsyncAppender getCurrent() {
+        return current;
+    }
+    
+    @Override
+    public void start() {
+        super.start();
+        current = this;
+    }
+    
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+    
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DROPPED.increment();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sciqus.backend.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the async log queue: events dropped so far and events waiting to be written.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("sciqus.logging.events.dropped", DropCountingAsyncAppender.class,
+                        appender -> DropCountingAsyncAppender.getDroppedCount())
+                .description("Log events dropped by the async appender because its queue was full or past the discarding threshold")
+                .register(registry);
+        Gauge.builder("sciqus.logging.queue.size", DropCountingAsyncAppender.class, appender -> {
+                    DropCountingAsyncAppender current = DropCountingAsyncAppender.getCurrent();
+                    return current == null ? 0 : current.getNumberOfElementsInQueue();
+                })
+                .description("Log events waiting in the async appender queue")
+                .register(registry);
+    }
+}
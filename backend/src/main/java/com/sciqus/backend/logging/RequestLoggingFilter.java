@@ -0,0 +1,50 @@
+package com.sciqus.backend.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Tags every log line of a request with {@value #REQUEST_ID}, taken from the {@code X-Request-Id}
+ * header when the caller (e.g. the load balancer) sent a sane one. The id is echoed back in the
+ * response. {@value #USER_ID} is added by {@code AuthTokenFilter} once the caller is known, and
+ * {@value #TENANT} by {@code TenantFilter} when several tenants are served.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+    public static final String TENANT = "tenant";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        
+        MDC.put(REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(USER_ID);
+        }
+    }
+}
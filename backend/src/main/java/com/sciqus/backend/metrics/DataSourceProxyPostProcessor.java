@@ -0,0 +1,27 @@
+package com.sciqus.backend.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every statement is timed by {@link DbTimeTracker}.
+ * Only the bean named {@code dataSource} is wrapped; pools behind it stay untouched so their
+ * own metrics keep working.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name("sciqus")
+                    .listener(new DbTimeTracker())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,53 @@
+package com.sciqus.backend.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Accumulates JDBC execution time and statement count for the current thread.
+ * {@link RequestDbTimeFilter} resets it at the start of a request and reads it at the end.
+ */
+public class DbTimeTracker implements QueryExecutionListener {
+    
+    private static final String START_NANOS = "dbTimeTracker.startNanos";
+    
+    private static final ThreadLocal<Totals> TOTALS = ThreadLocal.withInitial(Totals::new);
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null) {
+            return;
+        }
+        Totals totals = TOTALS.get();
+        totals.nanos += System.nanoTime() - start;
+        totals.statements++;
+    }
+    
+    public static void reset() {
+        Totals totals = TOTALS.get();
+        totals.nanos = 0;
+        totals.statements = 0;
+    }
+    
+    public static long getNanos() {
+        return TOTALS.get().nanos;
+    }
+    
+    public static int getStatements() {
+        return TOTALS.get().statements;
+    }
+    
+    private static class Totals {
+        private long nanos;
+        private int statements;
+    }
+}
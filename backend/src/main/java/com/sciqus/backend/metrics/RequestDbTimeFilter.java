@@ -0,0 +1,52 @@
+package com.sciqus.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the database time and statement count spent on each request, tagged with the
+ * matched URI pattern so the numbers line up with {@code http.server.requests}.
+ */
+@Component
+public class RequestDbTimeFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        DbTimeTracker.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            
+            Timer.builder("sciqus.http.db.time")
+                    .description("JDBC time spent per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", request.getMethod())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(DbTimeTracker.getNanos(), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("sciqus.http.db.statements")
+                    .description("JDBC statements executed per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", request.getMethod())
+                    .register(meterRegistry)
+                    .record(DbTimeTracker.getStatements());
+        }
+    }
+}
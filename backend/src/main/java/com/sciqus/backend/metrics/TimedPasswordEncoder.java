@@ -0,0 +1,44 @@
+package com.sciqus.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times password hashing and verification, which dominate the cost of login and registration.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("sciqus.auth.password")
+                .description("Password hashing time")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("sciqus.auth.password")
+                .description("Password hashing time")
+                .tag("operation", "match")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
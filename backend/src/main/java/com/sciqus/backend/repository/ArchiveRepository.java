@@ -0,0 +1,73 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.dto.EnrollmentResponseDto;
+import com.sciqus.backend.entity.Course;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read access to the cold tier ({@code courses_archive}, {@code enrollments_archive}) filled by
+ * {@code ArchivalJob}. Archived rows are not entities: courses come back as detached, read-only
+ * {@link Course} instances and enrollments directly as response DTOs.
+ */
+@Repository
+public class ArchiveRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public Optional<Course> findCourse(Long courseId) {
+        List<Course> courses = jdbcTemplate.query(
+                "SELECT course_id, course_name, course_code, course_duration, description, is_active, capacity, created_at, updated_at "
+                        + "FROM courses_archive WHERE course_id = :courseId",
+                Map.of("courseId", courseId),
+                (rs, rowNum) -> {
+                    Course course = new Course();
+                    course.setCourseId(rs.getLong("course_id"));
+                    course.setCourseName(rs.getString("course_name"));
+                    course.setCourseCode(rs.getString("course_code"));
+                    course.setCourseDuration(rs.getInt("course_duration"));
+                    course.setDescription(rs.getString("description"));
+                    course.setIsActive(rs.getBoolean("is_active"));
+                    course.setCapacity(rs.getObject("capacity", Integer.class));
+                    course.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+                    course.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+                    return course;
+                });
+        return courses.stream().findFirst();
+    }
+    
+    /**
+     * Archived enrollments of a student, newest first. The course may be hot or archived itself;
+     * the student name is left for the caller, which already has the student.
+     */
+    public List<EnrollmentResponseDto> findEnrollmentsByStudent(Long studentId) {
+        return jdbcTemplate.query(
+                "SELECT a.id, a.course_id, a.enrolled_at, COALESCE(c.course_name, ca.course_name) AS course_name "
+                        + "FROM enrollments_archive a "
+                        + "LEFT JOIN courses c ON c.course_id = a.course_id "
+                        + "LEFT JOIN courses_archive ca ON ca.course_id = a.course_id "
+                        + "WHERE a.user_id = :studentId ORDER BY a.enrolled_at DESC, a.id DESC",
+                Map.of("studentId", studentId),
+                (rs, rowNum) -> {
+                    EnrollmentResponseDto dto = new EnrollmentResponseDto();
+                    dto.setEnrollmentId(rs.getLong("id"));
+                    dto.setStudentId(studentId);
+                    dto.setCourseId(rs.getLong("course_id"));
+                    dto.setCourseName(rs.getString("course_name"));
+                    dto.setEnrollmentDate(toLocalDateTime(rs.getTimestamp("enrolled_at")));
+                    return dto;
+                });
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,14 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.entity.AuditEvent;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read side of the audit trail. There are no save or delete methods: rows are only
+ * ever inserted by {@link com.sciqus.backend.audit.AuditWriter}.
+ */
+@Repository
+public interface AuditEventRepository extends org.springframework.data.repository.Repository<AuditEvent, Long>,
+        JpaSpecificationExecutor<AuditEvent> {
+}
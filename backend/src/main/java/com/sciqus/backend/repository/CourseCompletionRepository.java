@@ -0,0 +1,20 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.entity.CourseCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseCompletionRepository extends JpaRepository<CourseCompletion, Long> {
+    
+    Optional<CourseCompletion> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    
+    // Covered by uk_course_completions_user_course
+    @Query("SELECT c.courseId FROM CourseCompletion c WHERE c.studentId = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+}
@@ -1,8 +1,13 @@
 package com.sciqus.backend.repository;
 
 import com.sciqus.backend.entity.Course;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,7 +17,9 @@ import java.util.Optional;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByCourseCode(String courseCode);
+    
     List<Course> findByCourseNameContainingIgnoreCase(String courseName);
     boolean existsByCourseCode(String courseCode);
     
@@ -20,7 +27,17 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> searchCourses(@Param("keyword") String keyword);
     
     Long countByIsActiveTrue();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByIsActiveTrue();
+    
     List<Course> findByIsActiveFalse();
     Long countByIsActiveFalse();
+    
+    long countByCourseIdIn(List<Long> courseIds);
+    
+    // Serializes seat allocation of one course; only taken when a seat looks free
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.courseId = :courseId")
+    Optional<Course> findByIdForUpdate(@Param("courseId") Long courseId);
 }
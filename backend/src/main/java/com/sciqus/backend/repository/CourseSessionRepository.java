@@ -0,0 +1,26 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.entity.CourseSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseSessionRepository extends JpaRepository<CourseSession, Long> {
+    
+    @Query("SELECT s FROM CourseSession s JOIN FETCH s.course WHERE s.course.courseId = :courseId")
+    List<CourseSession> findByCourseId(@Param("courseId") Long courseId);
+    
+    // Every session of every course the student is enrolled in, with its course
+    @Query("SELECT s FROM CourseSession s JOIN FETCH s.course c, Enrollment e "
+            + "WHERE e.course = c AND e.student.id = :studentId")
+    List<CourseSession> findByStudentId(@Param("studentId") Long studentId);
+    
+    @Modifying
+    @Query("DELETE FROM CourseSession s WHERE s.course.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -3,6 +3,7 @@ package com.sciqus.backend.repository;
 import com.sciqus.backend.entity.Enrollment;
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.entity.Course;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +24,19 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT e.student FROM Enrollment e WHERE e.course.courseId = :courseId")
     List<User> findStudentsByCourseId(@Param("courseId") Long courseId);
     
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.courseId = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+    
     @Query("SELECT e.student FROM Enrollment e WHERE e.course.courseId = :courseId AND e.student.id = :studentId")
     Optional<User> findStudentInCourse(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+    
+    // Served from uk_enrollments_user_course without touching the rows
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
+    long countByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT e.course.courseId FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course WHERE e.student.id = :studentId ORDER BY e.enrolledAt DESC, e.id DESC")
+    List<Enrollment> findLatestByStudentId(@Param("studentId") Long studentId, Limit limit);
 }
@@ -0,0 +1,112 @@
+package com.sciqus.backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-course enrollment counters in {@code enrollment_rollups}, one row per course, granularity
+ * and period. Counters are only ever added to or raised, so concurrent writers never lose updates.
+ */
+@Repository
+public class EnrollmentRollupRepository {
+    
+    private static final String INCREMENT = "INSERT INTO enrollment_rollups (course_id, granularity, period_start, enrolled, dropped) "
+            + "VALUES (:courseId, :granularity, :periodStart, :enrolled, :dropped) "
+            + "ON DUPLICATE KEY UPDATE enrolled = enrolled + VALUES(enrolled), dropped = dropped + VALUES(dropped)";
+    
+    private static final String RAISE = "INSERT INTO enrollment_rollups (course_id, granularity, period_start, enrolled, dropped) "
+            + "VALUES (:courseId, :granularity, :periodStart, :enrolled, :dropped) "
+            + "ON DUPLICATE KEY UPDATE enrolled = GREATEST(enrolled, VALUES(enrolled)), dropped = GREATEST(dropped, VALUES(dropped))";
+    
+    private static final String COUNT_ENROLLMENTS = "SELECT course_id, CAST(enrolled_at AS DATE) AS enrolled_on, COUNT(*) AS enrolled FROM ("
+            + "SELECT course_id, enrolled_at FROM enrollments WHERE enrolled_at >= :from AND enrolled_at < :to "
+            + "UNION ALL "
+            + "SELECT course_id, enrolled_at FROM enrollments_archive WHERE enrolled_at >= :from AND enrolled_at < :to"
+            + ") e GROUP BY course_id, CAST(enrolled_at AS DATE)";
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    /** Adds to the counters of several periods in one batch. */
+    public void increment(List<Bucket> buckets) {
+        jdbcTemplate.batchUpdate(INCREMENT, parameters(buckets));
+    }
+    
+    /** Raises counters to at least the given values; backfilling twice changes nothing. */
+    public void raise(List<Bucket> buckets) {
+        jdbcTemplate.batchUpdate(RAISE, parameters(buckets));
+    }
+    
+    /** Counters of one course, or summed over all courses when {@code courseId} is null, by period start. */
+    public Map<LocalDate, long[]> findRange(Long courseId, String granularity, LocalDate from, LocalDate to) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("granularity", granularity)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to))
+                .addValue("courseId", courseId);
+        String sql = "SELECT period_start, SUM(enrolled) AS enrolled, SUM(dropped) AS dropped FROM enrollment_rollups "
+                + "WHERE granularity = :granularity AND period_start BETWEEN :from AND :to "
+                + (courseId == null ? "" : "AND course_id = :courseId ")
+                + "GROUP BY period_start";
+        Map<LocalDate, long[]> counters = new HashMap<>();
+        jdbcTemplate.query(sql, parameters, rs -> {
+            counters.put(rs.getDate("period_start").toLocalDate(), new long[] {rs.getLong("enrolled"), rs.getLong("dropped")});
+        });
+        return counters;
+    }
+    
+    /** Daily counters already stored between {@code from} (inclusive) and {@code to} (exclusive). */
+    public List<Bucket> findDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT course_id, period_start, enrolled, dropped FROM enrollment_rollups "
+                        + "WHERE granularity = 'DAY' AND period_start >= :from AND period_start < :to",
+                Map.of("from", Date.valueOf(from), "to", Date.valueOf(to)),
+                (rs, rowNum) -> new Bucket(rs.getLong("course_id"), "DAY", rs.getDate("period_start").toLocalDate(),
+                        rs.getInt("enrolled"), rs.getInt("dropped")));
+    }
+    
+    /**
+     * Enrollments per course and day that still exist, hot or archived, for the backfill. Removed
+     * enrollments left no row, so days before the rollups were kept count only the survivors.
+     */
+    public List<Bucket> countEnrollmentsByDay(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(COUNT_ENROLLMENTS,
+                Map.of("from", Timestamp.valueOf(from.atStartOfDay()), "to", Timestamp.valueOf(to.atStartOfDay())),
+                (rs, rowNum) -> new Bucket(rs.getLong("course_id"), "DAY", rs.getDate("enrolled_on").toLocalDate(),
+                        rs.getInt("enrolled"), 0));
+    }
+    
+    /** Day of the oldest enrollment, hot or archived; null when there are none. */
+    public LocalDate findFirstEnrollmentDay() {
+        Timestamp first = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MIN(enrolled_at) FROM (SELECT MIN(enrolled_at) AS enrolled_at FROM enrollments "
+                        + "UNION ALL SELECT MIN(enrolled_at) FROM enrollments_archive) e", Timestamp.class);
+        return first == null ? null : first.toLocalDateTime().toLocalDate();
+    }
+    
+    private static SqlParameterSource[] parameters(List<Bucket> buckets) {
+        List<SqlParameterSource> rows = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets) {
+            rows.add(new MapSqlParameterSource()
+                    .addValue("courseId", bucket.courseId())
+                    .addValue("granularity", bucket.granularity())
+                    .addValue("periodStart", Date.valueOf(bucket.periodStart()))
+                    .addValue("enrolled", bucket.enrolled())
+                    .addValue("dropped", bucket.dropped()));
+        }
+        return rows.toArray(new SqlParameterSource[0]);
+    }
+    
+    public record Bucket(Long courseId, String granularity, LocalDate periodStart, int enrolled, int dropped) {
+    }
+}
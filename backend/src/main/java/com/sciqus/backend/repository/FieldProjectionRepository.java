@@ -0,0 +1,59 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.dto.FieldSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads only the columns a {@link FieldSelection} asks for and copies them onto response DTOs.
+ * DTO property names must match the entity attribute names; values are converted where the
+ * types differ (an enum attribute into a String property, for instance).
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FieldProjectionRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public <E, D> List<D> findAll(Class<E> entityType, Specification<E> where, FieldSelection fields, Class<D> dtoType) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(fields.getFields().size());
+        for (String field : fields.getFields()) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.toPredicate(root, query, cb));
+        }
+        
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<D> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            BeanWrapper dto = PropertyAccessorFactory.forBeanPropertyAccess(BeanUtils.instantiateClass(dtoType));
+            dto.setConversionService(DefaultConversionService.getSharedInstance());
+            for (String field : fields.getFields()) {
+                dto.setPropertyValue(field, row.get(field));
+            }
+            result.add(dtoType.cast(dto.getWrappedInstance()));
+        }
+        return result;
+    }
+}
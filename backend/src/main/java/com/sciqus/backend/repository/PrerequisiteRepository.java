@@ -0,0 +1,50 @@
+package com.sciqus.backend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Edges of the prerequisite graph ({@code course_prerequisites}). Plain pairs of course ids, read
+ * whole into memory by PrerequisiteService, so they are not mapped as entities.
+ */
+@Repository
+public class PrerequisiteRepository {
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public Map<Long, Set<Long>> findAll() {
+        Map<Long, Set<Long>> edges = new HashMap<>();
+        jdbcTemplate.query("SELECT course_id, prerequisite_id FROM course_prerequisites", rs -> {
+            edges.computeIfAbsent(rs.getLong("course_id"), id -> new HashSet<>()).add(rs.getLong("prerequisite_id"));
+        });
+        return edges;
+    }
+    
+    public Set<Long> findByCourseId(Long courseId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT prerequisite_id FROM course_prerequisites WHERE course_id = :courseId",
+                Map.of("courseId", courseId), Long.class));
+    }
+    
+    public void replace(Long courseId, Collection<Long> prerequisiteIds) {
+        jdbcTemplate.update("DELETE FROM course_prerequisites WHERE course_id = :courseId", Map.of("courseId", courseId));
+        List<SqlParameterSource> rows = prerequisiteIds.stream()
+                .map(id -> (SqlParameterSource) new MapSqlParameterSource()
+                        .addValue("courseId", courseId)
+                        .addValue("prerequisiteId", id))
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO course_prerequisites (course_id, prerequisite_id) "
+                + "VALUES (:courseId, :prerequisiteId)", rows.toArray(new SqlParameterSource[0]));
+    }
+}
@@ -0,0 +1,34 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    Optional<WaitlistEntry> findByCourseIdAndStudentId(Long courseId, Long studentId);
+    boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+    boolean existsByCourseId(Long courseId);
+    
+    // Read in queue order from idx_course_waitlist_course_ticket
+    @Query("SELECT w.ticket FROM WaitlistEntry w WHERE w.courseId = :courseId ORDER BY w.ticket, w.id")
+    List<Long> findTicketsByCourseId(@Param("courseId") Long courseId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.courseId = :courseId ORDER BY w.ticket, w.id")
+    List<WaitlistEntry> findHeadForUpdate(@Param("courseId") Long courseId, Limit limit);
+    
+    // Courses that have someone waiting although a seat is free (missed promotions, raised capacities)
+    @Query("SELECT DISTINCT w.courseId FROM WaitlistEntry w, Course c WHERE c.courseId = w.courseId AND c.isActive = true "
+            + "AND (c.capacity IS NULL OR c.capacity > (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c))")
+    List<Long> findCoursesWithFreeSeats();
+}
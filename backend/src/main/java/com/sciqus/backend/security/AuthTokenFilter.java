@@ -1,19 +1,21 @@
 package com.sciqus.backend.security;
 
+import com.sciqus.backend.logging.RequestLoggingFilter;
 import com.sciqus.backend.service.CustomUserDetailsService;
-import com.sciqus.backend.util.JwtUtils;
+import com.sciqus.backend.service.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -21,7 +23,7 @@ import java.io.IOException;
 public class AuthTokenFilter extends OncePerRequestFilter {
     
     @Autowired
-    private JwtUtils jwtUtils;
+    private JwtClaimsResolver claimsResolver;
     
     @Autowired
     private CustomUserDetailsService userDetailsService;
@@ -31,9 +33,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = claimsResolver.resolve(request);
+            if (claims != null) {
+                String username = claims.getSubject();
                 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -41,6 +43,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails instanceof UserPrincipal principal) {
+                    MDC.put(RequestLoggingFilter.USER_ID, String.valueOf(principal.getId()));
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -48,14 +53,4 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-    
-    private String parseJwt(HttpServletRequest request) {
-        String headerAuth = request.getHeader("Authorization");
-        
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
-        }
-        
-        return null;
-    }
 }
@@ -0,0 +1,144 @@
+package com.sciqus.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.config.RateLimitProperties;
+import com.sciqus.backend.dto.ErrorResponseDto;
+import com.sciqus.backend.tenant.TenantDirectory;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rejects requests to expensive public routes (login, registration, course search) once the
+ * caller's token bucket is empty, answering 429 with {@code Retry-After}. Runs after
+ * {@link TenantFilter}, since buckets are kept per tenant, and ahead of {@link AuthTokenFilter}
+ * so a flood is turned away before any user lookup or password check.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+    
+    @Autowired
+    private JwtClaimsResolver claimsResolver;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final List<LimitedRoute> routes;
+    
+    public RateLimitFilter(RateLimitProperties properties) {
+        long sweepNanos = properties.getSweepInterval().toNanos();
+        this.routes = !properties.isEnabled() ? List.of() : List.of(
+                new LimitedRoute("login", properties.getLogin(), properties.getMaxKeys(), sweepNanos),
+                new LimitedRoute("register", properties.getRegister(), properties.getMaxKeys(), sweepNanos),
+                new LimitedRoute("search", properties.getSearch(), properties.getMaxKeys(), sweepNanos));
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route != null) {
+            long waitNanos = route.limiter.tryAcquire(clientKey(request, route.route.getKey()));
+            if (waitNanos > 0) {
+                route.rejected.increment();
+                reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LimitedRoute route : routes) {
+            FunctionCounter.builder("sciqus.ratelimit.rejected", route.rejected, LongAdder::sum)
+                    .description("Requests refused with 429 because the client's token bucket was empty")
+                    .tag("route", route.name)
+                    .register(registry);
+            Gauge.builder("sciqus.ratelimit.buckets", route.limiter, TokenBucketLimiter::size)
+                    .description("Client buckets currently tracked")
+                    .tag("route", route.name)
+                    .register(registry);
+        }
+    }
+    
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (route.route.getMethod() != null && !route.route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+    
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        // Usernames and addresses repeat across institutions, which must not share buckets
+        String tenant = tenantDirectory.currentTenant() + "|";
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            // Invalid tokens are reported by AuthTokenFilter; limit the caller by address
+            Claims claims = claimsResolver.resolve(request);
+            if (claims != null) {
+                return tenant + "user:" + claims.getSubject();
+            }
+        }
+        // Behind a proxy, set server.forward-headers-strategy so this is the client's address
+        return tenant + "ip:" + request.getRemoteAddr();
+    }
+    
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(
+                "Too many requests, retry in " + retryAfterSeconds + " seconds", "RATE_LIMITED"));
+    }
+    
+    private static final class LimitedRoute {
+        
+        private final String name;
+        private final RateLimitProperties.Route route;
+        private final PathPattern pattern;
+        private final TokenBucketLimiter limiter;
+        private final LongAdder rejected = new LongAdder();
+        
+        LimitedRoute(String name, RateLimitProperties.Route route, int maxKeys, long sweepNanos) {
+            this.name = name;
+            this.route = route;
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPath());
+            this.limiter = new TokenBucketLimiter(route.getCapacity(), route.getRefillTokens(),
+                    route.getRefillPeriod().toNanos(), maxKeys, sweepNanos, System::nanoTime);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.sciqus.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.dto.ErrorResponseDto;
+import com.sciqus.backend.logging.RequestLoggingFilter;
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.tenant.TenantDirectory;
+import com.sciqus.backend.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Picks the tenant of each request before the caller is authenticated, since users are looked up
+ * in their tenant's database. A valid token's tenant claim wins; requests without one (login,
+ * registration, public pages) name their tenant in {@value #TENANT_HEADER} or get the default
+ * tenant. A header that contradicts the token is refused rather than letting a token of one
+ * institution reach another. Does nothing while tenancy is disabled.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+    
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+    
+    @Autowired
+    private JwtClaimsResolver claimsResolver;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final TenantDirectory directory;
+    
+    public TenantFilter(TenantDirectory directory) {
+        this.directory = directory;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !directory.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String requested = request.getHeader(TENANT_HEADER);
+        String tenant = tokenTenant(request);
+        if (tenant != null && requested != null && !requested.equals(tenant)) {
+            reject(response, HttpStatus.FORBIDDEN, "Token was not issued for tenant " + requested, "TENANT_MISMATCH");
+            return;
+        }
+        if (tenant == null) {
+            tenant = requested != null ? requested : directory.getDefaultTenant();
+        }
+        if (!directory.exists(tenant)) {
+            reject(response, HttpStatus.BAD_REQUEST, "Unknown tenant: " + tenant, "UNKNOWN_TENANT");
+            return;
+        }
+        
+        TenantContext.set(tenant);
+        MDC.put(RequestLoggingFilter.TENANT, tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+            MDC.remove(RequestLoggingFilter.TENANT);
+        }
+    }
+    
+    private String tokenTenant(HttpServletRequest request) {
+        // Invalid tokens are reported by AuthTokenFilter; the request is anonymous
+        Claims claims = claimsResolver.resolve(request);
+        if (claims == null) {
+            return null;
+        }
+        String tenant = claims.get(JwtUtils.TENANT_CLAIM, String.class);
+        return tenant != null ? tenant : directory.getDefaultTenant();
+    }
+    
+    private void reject(HttpServletResponse response, HttpStatus status, String message, String error) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto(message, error));
+    }
+}
@@ -0,0 +1,116 @@
+package com.sciqus.backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of one route class, keyed by client. Each bucket is a single {@link AtomicLong}
+ * holding the time at which it will be full again (the GCRA form of a token bucket), so taking a
+ * token is one compare-and-set on a map entry and never blocks. A bucket whose full-again time has
+ * passed carries no state, which is what the periodic idle sweep removes.
+ * <p>
+ * The map holds about {@code maxKeys} buckets. When it is full a new client still gets its own
+ * bucket: an idle one is dropped to make room or, failing that, the sampled bucket closest to
+ * being full again. A client spraying new keys therefore only pushes out nearly spent buckets
+ * instead of locking out every client that arrives after it.
+ */
+final class TokenBucketLimiter {
+    
+    // Buckets looked at to pick one to evict; a sample keeps a full map's cost per new client constant
+    static final int EVICTION_SAMPLE = 16;
+    
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final long sweepIntervalNanos;
+    private final LongSupplier clock;
+    
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    
+    TokenBucketLimiter(int capacity, int refillTokens, long refillPeriodNanos, int maxKeys,
+                       long sweepIntervalNanos, LongSupplier clock) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriodNanos < refillTokens) {
+            throw new IllegalArgumentException("Capacity, refill tokens and refill period must be positive");
+        }
+        this.nanosPerToken = refillPeriodNanos / refillTokens;
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+        this.sweepIntervalNanos = sweepIntervalNanos;
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + sweepIntervalNanos);
+    }
+    
+    /**
+     * Takes one token from the client's bucket.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+        
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictOne(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    int size() {
+        return buckets.size();
+    }
+    
+    /**
+     * Drops the first idle bucket among a sample, or else the sampled bucket that is full again
+     * soonest. Forgetting a bucket forgives the tokens its client still owes, which for the chosen
+     * one is the least of the sample.
+     */
+    private void evictOne(long now) {
+        Map.Entry<String, AtomicLong> candidate = null;
+        long candidateFullAt = 0;
+        int sampled = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            long fullAt = entry.getValue().get();
+            if (fullAt - now <= 0) {
+                candidate = entry;
+                break;
+            }
+            if (candidate == null || fullAt - candidateFullAt < 0) {
+                candidate = entry;
+                candidateFullAt = fullAt;
+            }
+            if (++sampled == EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        if (candidate != null) {
+            buckets.remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+    
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        // A token taken from a bucket while it is being removed is forgotten; the client gets at
+        // most one extra request, which is cheaper than locking every acquire
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
@@ -0,0 +1,290 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DeliveredEvent;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.EnrollmentCreated;
+import com.sciqus.backend.events.EnrollmentRemoved;
+import com.sciqus.backend.events.UserChanged;
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.tenant.TenantDirectory;
+import com.sciqus.backend.tenant.TenantScope;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single producer behind the admin dashboard stream. It listens to the outbox, recounts the
+ * dashboard statistics once per batch that touched users or courses and fans the changed values
+ * out to every connected admin, so open tabs no longer poll the count queries themselves.
+ * <p>
+ * Each connection has a small bounded queue drained by a shared sender pool. The producer only
+ * enqueues; a client whose queue fills up is disconnected and gets a fresh snapshot when its
+ * EventSource reconnects.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class AdminStatsStreamService implements DomainEventSubscriber, MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsStreamService.class);
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    private final String tenant;
+    private final int clientBufferSize;
+    private final long timeoutMillis;
+    
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final LongAdder evicted = new LongAdder();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService ticker;
+    
+    private volatile Map<String, Object> lastStats;
+    
+    public AdminStatsStreamService(TenantDirectory tenantDirectory,
+                                   @Value("${app.admin-stream.client-buffer-size:64}") int clientBufferSize,
+                                   @Value("${app.admin-stream.timeout:30m}") Duration timeout,
+                                   @Value("${app.admin-stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${app.admin-stream.resync-interval:60s}") Duration resyncInterval,
+                                   @Value("${app.admin-stream.sender-threads:2}") int senderThreads) {
+        // One instance per tenant; the ticker thread has no request to take the tenant from
+        this.tenant = tenantDirectory.currentTenant();
+        this.clientBufferSize = clientBufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("admin-stream-sender"));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("admin-stream-ticker"));
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        // Catches changes that did not go through the outbox (startup data, direct repository writes)
+        ticker.scheduleWithFixedDelay(() -> TenantContext.run(tenant, this::resync), resyncInterval.toMillis(), resyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Dashboard statistics as served by {@code /api/admin/stats}.
+     */
+    public Map<String, Object> loadStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", userService.getTotalUserCount());
+        stats.put("totalStudents", userService.getStudentCount());
+        stats.put("totalCourses", courseService.getTotalCourseCount());
+        stats.put("activeCourses", courseService.getActiveCourseCount());
+        return stats;
+    }
+    
+    public SseEmitter connect() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> client.close(null));
+        emitter.onError(error -> client.close(null));
+        
+        Map<String, Object> stats = lastStats;
+        if (stats == null) {
+            stats = loadStats();
+            lastStats = stats;
+        }
+        clients.add(client);
+        client.enqueue(SseEmitter.event().name("snapshot").data(stats, MediaType.APPLICATION_JSON).build());
+        return emitter;
+    }
+    
+    @Override
+    public void onEvents(List<DeliveredEvent> events) {
+        if (clients.isEmpty()) {
+            // Nobody is watching; the next connection loads a fresh snapshot
+            lastStats = null;
+            return;
+        }
+        
+        List<Map<String, Object>> changes = new ArrayList<>(events.size());
+        boolean countsAffected = false;
+        for (DeliveredEvent delivered : events) {
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("sequence", delivered.sequence());
+            change.put("type", delivered.event().getClass().getSimpleName());
+            change.put("aggregateType", delivered.event().aggregateType());
+            change.put("aggregateId", delivered.event().aggregateId());
+            if (delivered.event() instanceof CourseChanged course) {
+                change.put("change", course.change());
+                countsAffected = true;
+            } else if (delivered.event() instanceof UserChanged user) {
+                change.put("change", user.change());
+                countsAffected = true;
+            } else if (delivered.event() instanceof EnrollmentCreated enrollment) {
+                change.put("studentId", enrollment.studentId());
+            } else if (delivered.event() instanceof EnrollmentRemoved enrollment) {
+                change.put("studentId", enrollment.studentId());
+            }
+            changes.add(change);
+        }
+        
+        broadcast(SseEmitter.event().name("changes").data(changes, MediaType.APPLICATION_JSON));
+        if (countsAffected) {
+            publishStats();
+        }
+    }
+    
+    public int getConnectionCount() {
+        return clients.size();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sciqus.admin.stream.connections", clients, Set::size)
+                .description("Open admin dashboard event streams")
+                .register(registry);
+        FunctionCounter.builder("sciqus.admin.stream.evicted", evicted, LongAdder::sum)
+                .description("Admin streams closed because the client fell too far behind")
+                .register(registry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+        clients.clear();
+    }
+    
+    private void publishStats() {
+        Map<String, Object> previous = lastStats;
+        Map<String, Object> current = loadStats();
+        lastStats = current;
+        
+        Map<String, Object> delta = new LinkedHashMap<>();
+        current.forEach((key, value) -> {
+            if (previous == null || !value.equals(previous.get(key))) {
+                delta.put(key, value);
+            }
+        });
+        if (!delta.isEmpty()) {
+            broadcast(SseEmitter.event().name("stats").data(delta, MediaType.APPLICATION_JSON));
+        }
+    }
+    
+    private void resync() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        try {
+            publishStats();
+        } catch (Exception e) {
+            logger.warn("Admin stream statistics refresh failed: {}", e.getMessage());
+        }
+    }
+    
+    private void heartbeat() {
+        // Keeps proxies from closing idle connections and surfaces dead ones through failed writes
+        broadcast(SseEmitter.event().comment("heartbeat"));
+    }
+    
+    private void broadcast(SseEmitter.SseEventBuilder builder) {
+        // Serialized once; every client sends the same immutable parts
+        Set<ResponseBodyEmitter.DataWithMediaType> event = Collections.unmodifiableSet(builder.build());
+        for (Client client : clients) {
+            client.enqueue(event);
+        }
+    }
+    
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private class Client {
+        
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(clientBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evicted.increment();
+                logger.debug("Closing admin stream that fell {} events behind", clientBufferSize);
+                close(null);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                close(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before the flag was cleared
+            if (!queue.isEmpty() && !closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        void close(Throwable error) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            clients.remove(this);
+            queue.clear();
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
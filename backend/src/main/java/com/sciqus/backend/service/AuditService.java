@@ -0,0 +1,154 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.audit.AuditWriter;
+import com.sciqus.backend.dto.AuditEventDto;
+import com.sciqus.backend.dto.PageResponseDto;
+import com.sciqus.backend.entity.AuditEvent;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.logging.RequestLoggingFilter;
+import com.sciqus.backend.repository.AuditEventRepository;
+import com.sciqus.backend.tenant.TenantDirectory;
+import jakarta.persistence.criteria.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records enrollment, user and course mutations and answers audit queries.
+ * Recording never touches the database on the calling thread: events are handed to
+ * {@link AuditWriter}, and inside a transaction only once it has committed.
+ */
+@Service
+public class AuditService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+    
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    private static final int MAX_DETAILS_LENGTH = 500;
+    
+    @Autowired
+    private AuditWriter auditWriter;
+    
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    public void recordEnrollment(AuditEvent.Action action, Long enrollmentId, User student, Course course) {
+        record(action, enrollmentId, student.getId(), course.getCourseId(),
+                student.getUsername() + " / " + course.getCourseCode());
+    }
+    
+    public void recordUser(AuditEvent.Action action, User user) {
+        // Account changes of a student show up in that student's trail as well
+        Long studentId = user.getRole() == User.Role.STUDENT ? user.getId() : null;
+        record(action, user.getId(), studentId, null,
+                user.getUsername() + " role=" + user.getRole() + " active=" + user.getIsActive());
+    }
+    
+    public void recordUserDeleted(Long userId) {
+        record(AuditEvent.Action.USER_DELETED, userId, userId, null, null);
+    }
+    
+    public void recordCourse(AuditEvent.Action action, Course course) {
+        record(action, course.getCourseId(), null, course.getCourseId(),
+                course.getCourseCode() + " active=" + course.getIsActive());
+    }
+    
+    public void recordCourseDeleted(Long courseId) {
+        record(AuditEvent.Action.COURSE_DELETED, courseId, null, courseId, null);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponseDto<AuditEventDto> search(Long studentId, Long courseId, LocalDateTime from, LocalDateTime to,
+                                                 int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        
+        Specification<AuditEvent> filter = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (studentId != null) {
+                predicates.add(cb.equal(root.get("studentId"), studentId));
+            }
+            if (courseId != null) {
+                predicates.add(cb.equal(root.get("courseId"), courseId));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("occurredAt"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThan(root.get("occurredAt"), to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "occurredAt").and(Sort.by(Sort.Direction.DESC, "id"));
+        Page<AuditEvent> events = auditEventRepository.findAll(filter, PageRequest.of(page, size, newestFirst));
+        return PageResponseDto.of(events.map(AuditEventDto::from));
+    }
+    
+    private void record(AuditEvent.Action action, Long entityId, Long studentId, Long courseId, String details) {
+        AuditEvent event = new AuditEvent();
+        event.setOccurredAt(LocalDateTime.now());
+        event.setAction(action);
+        event.setEntityType(action.getEntityType());
+        event.setEntityId(entityId);
+        event.setStudentId(studentId);
+        event.setCourseId(courseId);
+        event.setRequestId(MDC.get(RequestLoggingFilter.REQUEST_ID));
+        event.setTenant(tenantDirectory.currentTenant());
+        event.setDetails(details != null && details.length() > MAX_DETAILS_LENGTH
+                ? details.substring(0, MAX_DETAILS_LENGTH) : details);
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            event.setActorId(principal.getId());
+            event.setActorUsername(principal.getUsername());
+        } else if (authentication != null && authentication.isAuthenticated()) {
+            event.setActorUsername(authentication.getName());
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Rolled back changes never happened, so they are not audited
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(event);
+                }
+            });
+        } else {
+            submit(event);
+        }
+    }
+    
+    private void submit(AuditEvent event) {
+        if (!auditWriter.submit(event)) {
+            // Counted in sciqus.audit.events.dropped; a full buffer would otherwise flood the log as well
+            logger.debug("Audit buffer full, dropped {} for entity {}", event.getAction(), event.getEntityId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sciqus.backend.service;
 
+import com.sciqus.backend.dto.DtoMapper;
 import com.sciqus.backend.dto.JwtResponseDto;
 import com.sciqus.backend.dto.LoginDto;
 import com.sciqus.backend.dto.UserRegistrationDto;
@@ -7,11 +8,13 @@ import com.sciqus.backend.dto.UserResponseDto;
 import com.sciqus.backend.entity.User;
 import com.sciqus.backend.exception.UserAlreadyExistsException;
 import com.sciqus.backend.util.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -28,16 +31,27 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
     
     public JwtResponseDto login(LoginDto loginDto) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginDto.getUsernameOrEmail(),
-                        loginDto.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginDto.getUsernameOrEmail(),
+                            loginDto.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            meterRegistry.counter("sciqus.auth.logins", "result", "failure").increment();
+            meterRegistry.counter("sciqus.auth.failures", "reason", "bad_credentials").increment();
+            throw e;
+        }
+        meterRegistry.counter("sciqus.auth.logins", "result", "success").increment();
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -85,27 +99,13 @@ public class AuthService {
         
         User savedUser = userService.createUser(user);
         
-        return mapToUserResponseDto(savedUser);
+        return DtoMapper.mapToUserResponseDto(savedUser);
     }
     
     public UserResponseDto getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
         User user = userService.getUserByUsername(username).orElse(null);
-        return mapToUserResponseDto(user);
-    }
-    
-    private UserResponseDto mapToUserResponseDto(User user) {
-        UserResponseDto dto = new UserResponseDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setPhoneNumber(user.getPhoneNumber());
-        dto.setRole(user.getRole().toString());
-        dto.setIsActive(user.getIsActive());
-        dto.setCourseId(user.getCourseId());
-        return dto;
+        return DtoMapper.mapToUserResponseDto(user);
     }
 }
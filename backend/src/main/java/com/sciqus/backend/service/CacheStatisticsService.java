@@ -0,0 +1,90 @@
+package com.sciqus.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class CacheStatisticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsService.class);
+    
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    public Map<String, Object> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("hits", region.getHitCount());
+            regionStats.put("misses", region.getMissCount());
+            regionStats.put("puts", region.getPutCount());
+            regionStats.put("evictions", getEvictionCount(regionName));
+            regionStats.put("hitRatio", hitRatio(region.getHitCount(), region.getMissCount()));
+            regions.put(regionName, regionStats);
+        }
+        
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+        queryCache.put("hitRatio", hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("regions", regions);
+        result.put("queryCache", queryCache);
+        return result;
+    }
+    
+    public void clearStatistics() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+    
+    // Evictions are only tracked by the cache provider, which publishes them through the JSR-107 statistics MBean
+    private long getEvictionCount(String regionName) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + ObjectName.quote(regionName) + ",*"), null);
+            if (names.isEmpty()) {
+                names = mBeanServer.queryNames(
+                        new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regionName + ",*"), null);
+            }
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) mBeanServer.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (Exception e) {
+            logger.debug("Eviction count unavailable for region {}: {}", regionName, e.getMessage());
+            return -1;
+        }
+    }
+    
+    private double hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
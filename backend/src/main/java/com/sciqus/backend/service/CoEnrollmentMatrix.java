@@ -0,0 +1,148 @@
+package com.sciqus.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * Sparse, symmetric course × course matrix counting the students enrolled in both courses, plus
+ * the enrollment count of every course. Only non-zero cells are stored, one
+ * {@link LongIntHashMap} row per course, so memory follows the pairs that actually occur rather
+ * than the square of the catalogue. Not thread-safe; {@link RecommendationService} guards it.
+ */
+final class CoEnrollmentMatrix {
+    
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt(Scored::coEnrollments)
+            .thenComparingInt(Scored::enrollments)
+            .thenComparing(Comparator.comparingLong(Scored::courseId).reversed());
+    
+    private final Map<Long, LongIntHashMap> rows = new HashMap<>();
+    private final LongIntHashMap enrollments = new LongIntHashMap();
+    private long cells;
+    
+    /** A student with {@code otherCourses} joined {@code courseId}. */
+    void addEnrollment(long courseId, long[] otherCourses) {
+        update(courseId, otherCourses, 1);
+    }
+    
+    /** A student with {@code otherCourses} left {@code courseId}. */
+    void removeEnrollment(long courseId, long[] otherCourses) {
+        update(courseId, otherCourses, -1);
+    }
+    
+    /** Counts every pair of one student's courses; used when building from the table. */
+    void addStudent(long[] courseIds) {
+        for (int i = 0; i < courseIds.length; i++) {
+            enrollments.addTo(courseIds[i], 1);
+            for (int j = i + 1; j < courseIds.length; j++) {
+                increment(courseIds[i], courseIds[j], 1);
+                increment(courseIds[j], courseIds[i], 1);
+            }
+        }
+    }
+    
+    int coEnrollments(long courseId, long otherCourseId) {
+        LongIntHashMap row = rows.get(courseId);
+        return row == null ? 0 : row.get(otherCourseId);
+    }
+    
+    /**
+     * The {@code limit} courses sharing the most students with {@code basis}, summed over the basis
+     * courses, best first. Ties go to the more popular course, then the older one.
+     */
+    List<Scored> top(long[] basis, LongPredicate excluded, int limit) {
+        LongIntHashMap scores = new LongIntHashMap();
+        for (long courseId : basis) {
+            LongIntHashMap row = rows.get(courseId);
+            if (row != null) {
+                row.forEach((other, count) -> {
+                    if (!excluded.test(other)) {
+                        scores.addTo(other, count);
+                    }
+                });
+            }
+        }
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, RANKING);
+        scores.forEach((courseId, score) -> offer(best, new Scored(courseId, score, enrollments.get(courseId)), limit));
+        return drain(best);
+    }
+    
+    /** Most enrolled courses, for students without enrollments to start from. */
+    List<Scored> popular(LongPredicate excluded, int limit) {
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, Comparator.comparingInt(Scored::enrollments)
+                .thenComparing(Comparator.comparingLong(Scored::courseId).reversed()));
+        enrollments.forEach((courseId, count) -> {
+            if (!excluded.test(courseId)) {
+                offer(best, new Scored(courseId, 0, count), limit);
+            }
+        });
+        return drain(best);
+    }
+    
+    int courseCount() {
+        return enrollments.size();
+    }
+    
+    /** Distinct course pairs with at least one shared student. */
+    long pairCount() {
+        return cells / 2;
+    }
+    
+    /** Heap bytes held by the matrix: rows, their keys in the row index, and the enrollment counts. */
+    long estimatedBytes() {
+        // HashMap node plus boxed key per row, and the node table
+        long bytes = 48 + enrollments.estimatedBytes() + 16 + 4L * Integer.highestOneBit(Math.max(1, rows.size()) * 2);
+        for (LongIntHashMap row : rows.values()) {
+            bytes += 48 + row.estimatedBytes();
+        }
+        return bytes;
+    }
+    
+    private void update(long courseId, long[] otherCourses, int delta) {
+        enrollments.addTo(courseId, delta);
+        for (long other : otherCourses) {
+            increment(courseId, other, delta);
+            increment(other, courseId, delta);
+        }
+    }
+    
+    private void increment(long courseId, long otherCourseId, int delta) {
+        LongIntHashMap row = rows.computeIfAbsent(courseId, id -> new LongIntHashMap());
+        int before = row.get(otherCourseId);
+        int after = row.addTo(otherCourseId, delta);
+        if (before == 0 && after != 0) {
+            cells++;
+        } else if (before != 0 && after == 0) {
+            cells--;
+        }
+        if (row.isEmpty()) {
+            rows.remove(courseId);
+        }
+    }
+    
+    private static void offer(PriorityQueue<Scored> best, Scored candidate, int limit) {
+        if (best.size() < limit) {
+            best.add(candidate);
+        } else if (limit > 0 && best.comparator().compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+    
+    private static List<Scored> drain(PriorityQueue<Scored> best) {
+        List<Scored> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+    
+    record Scored(long courseId, int coEnrollments, int enrollments) {
+    }
+}
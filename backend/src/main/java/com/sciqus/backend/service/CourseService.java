@@ -1,9 +1,23 @@
 package com.sciqus.backend.service;
 
+import com.sciqus.backend.dto.CourseResponseDto;
+import com.sciqus.backend.dto.FieldSelection;
+import com.sciqus.backend.entity.AuditEvent;
 import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.repository.ArchiveRepository;
 import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.FieldProjectionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,14 +28,54 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+    
+    @Autowired
+    private ArchiveRepository archiveRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
     
+    public List<CourseResponseDto> getAllCourses(FieldSelection fields) {
+        return fieldProjectionRepository.findAll(Course.class, null, fields, CourseResponseDto.class);
+    }
+    
     public Optional<Course> getCourseById(Long courseId) {
         return courseRepository.findById(courseId);
     }
     
+    /**
+     * Like {@link #getCourseById(Long)}, falling back to the archive for courses moved out by the
+     * archival job. Archived courses are detached copies and cannot be updated.
+     */
+    public Optional<Course> getCourseIncludingArchived(Long courseId) {
+        return getCourseById(courseId).or(() -> archiveRepository.findCourse(courseId));
+    }
+    
+    /**
+     * Loads the courses with the given ids, aligned with {@code ids} and null where none exists.
+     * Ids found in the second-level cache are served from it; the rest are read with a single IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<Course> getCoursesByIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Course.class)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(ids.size())
+                .multiLoad(ids);
+    }
+    
     public Optional<Course> getCourseByCode(String courseCode) {
         return courseRepository.findByCourseCode(courseCode);
     }
@@ -30,19 +84,30 @@ public class CourseService {
         return courseRepository.searchCourses(keyword);
     }
     
+    @Transactional
     public Course createCourse(Course course) {
         if (courseRepository.existsByCourseCode(course.getCourseCode())) {
             throw new RuntimeException("Course with code " + course.getCourseCode() + " already exists");
         }
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        auditService.recordCourse(AuditEvent.Action.COURSE_CREATED, saved);
+        eventPublisher.publish(CourseChanged.of(DomainEvent.ChangeType.CREATED, saved));
+        return saved;
     }
     
+    @Transactional
     public Course updateCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        auditService.recordCourse(AuditEvent.Action.COURSE_UPDATED, saved);
+        eventPublisher.publish(CourseChanged.of(DomainEvent.ChangeType.UPDATED, saved));
+        return saved;
     }
     
+    @Transactional
     public void deleteCourse(Long courseId) {
         courseRepository.deleteById(courseId);
+        auditService.recordCourseDeleted(courseId);
+        eventPublisher.publish(CourseChanged.deleted(courseId));
     }
     
     public boolean existsByCourseCode(String courseCode) {
@@ -61,10 +126,16 @@ public class CourseService {
         return courseRepository.findByIsActiveTrue();
     }
     
+    public List<CourseResponseDto> getActiveCourses(FieldSelection fields) {
+        Specification<Course> active = (root, query, cb) -> cb.isTrue(root.get("isActive"));
+        return fieldProjectionRepository.findAll(Course.class, active, fields, CourseResponseDto.class);
+    }
+    
     public List<Course> getInactiveCourses() {
         return courseRepository.findByIsActiveFalse();
     }
     
+    @Transactional
     public Course toggleCourseStatus(Long courseId) {
         Course course = getCourseById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
@@ -72,6 +143,7 @@ public class CourseService {
         return updateCourse(course);
     }
     
+    @Transactional
     public Course activateCourse(Long courseId) {
         Course course = getCourseById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
@@ -79,6 +151,7 @@ public class CourseService {
         return updateCourse(course);
     }
     
+    @Transactional
     public Course deactivateCourse(Long courseId) {
         Course course = getCourseById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
@@ -0,0 +1,223 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.EnrollmentBucketDto;
+import com.sciqus.backend.dto.EnrollmentTrendDto;
+import com.sciqus.backend.repository.EnrollmentRollupRepository;
+import com.sciqus.backend.repository.EnrollmentRollupRepository.Bucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment time series served from {@code enrollment_rollups} instead of scanning enrollments.
+ * Every enrollment and unenrollment adds one to its course's day, week and month counters in the
+ * same transaction, so a range query reads one row per bucket. {@link #backfill()} fills the
+ * counters for enrollments made before the rollups existed; it only ever raises them and can be
+ * re-run at any time.
+ */
+@Service
+public class EnrollmentAnalyticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentAnalyticsService.class);
+    
+    @Autowired
+    private EnrollmentRollupRepository rollupRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.analytics.max-buckets:1000}")
+    private int maxBuckets;
+    
+    @Value("${app.analytics.backfill-batch-days:31}")
+    private int batchDays;
+    
+    public enum Granularity {
+        DAY {
+            @Override
+            public LocalDate start(LocalDate day) {
+                return day;
+            }
+            
+            @Override
+            public LocalDate next(LocalDate start) {
+                return start.plusDays(1);
+            }
+        },
+        WEEK {
+            @Override
+            public LocalDate start(LocalDate day) {
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+            
+            @Override
+            public LocalDate next(LocalDate start) {
+                return start.plusWeeks(1);
+            }
+        },
+        MONTH {
+            @Override
+            public LocalDate start(LocalDate day) {
+                return day.withDayOfMonth(1);
+            }
+            
+            @Override
+            public LocalDate next(LocalDate start) {
+                return start.plusMonths(1);
+            }
+        };
+        
+        /** First day of the period containing {@code day}. */
+        public abstract LocalDate start(LocalDate day);
+        
+        /** First day of the period after the one starting on {@code start}. */
+        public abstract LocalDate next(LocalDate start);
+    }
+    
+    /** Counts a new enrollment in the course; must run inside the enrollment's transaction. */
+    public void recordEnrollment(Long courseId) {
+        record(courseId, 1, 0);
+    }
+    
+    /** Counts a removed enrollment in the course; must run inside the unenrollment's transaction. */
+    public void recordUnenrollment(Long courseId) {
+        record(courseId, 0, 1);
+    }
+    
+    /**
+     * Buckets from the period containing {@code from} to the one containing {@code to}, empty
+     * periods included. Without dates the last 30 days, 12 weeks or 12 months up to today are returned.
+     */
+    @Transactional(readOnly = true)
+    public EnrollmentTrendDto getTrend(Long courseId, Granularity granularity, LocalDate from, LocalDate to) {
+        if (granularity == null) {
+            throw new IllegalArgumentException("Granularity cannot be null");
+        }
+        LocalDate last = granularity.start(to == null ? LocalDate.now() : to);
+        LocalDate first = granularity.start(from != null ? from : switch (granularity) {
+            case DAY -> last.minusDays(29);
+            case WEEK -> last.minusWeeks(11);
+            case MONTH -> last.minusMonths(11);
+        });
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        long periods = switch (granularity) {
+            case DAY -> ChronoUnit.DAYS.between(first, last);
+            case WEEK -> ChronoUnit.WEEKS.between(first, last);
+            case MONTH -> ChronoUnit.MONTHS.between(first, last);
+        } + 1;
+        if (periods > maxBuckets) {
+            throw new IllegalArgumentException("Range spans " + periods + " buckets; at most " + maxBuckets + " are allowed");
+        }
+        
+        Map<LocalDate, long[]> counters = rollupRepository.findRange(courseId, granularity.name(), first, last);
+        List<EnrollmentBucketDto> buckets = new ArrayList<>((int) periods);
+        long totalEnrolled = 0;
+        long totalDropped = 0;
+        for (LocalDate period = first; !period.isAfter(last); period = granularity.next(period)) {
+            long[] counter = counters.getOrDefault(period, new long[2]);
+            buckets.add(new EnrollmentBucketDto(period, counter[0], counter[1], counter[0] - counter[1]));
+            totalEnrolled += counter[0];
+            totalDropped += counter[1];
+        }
+        Double changePercent = null;
+        if (buckets.size() >= 2) {
+            long previous = buckets.get(buckets.size() - 2).getEnrolled();
+            long latest = buckets.get(buckets.size() - 1).getEnrolled();
+            changePercent = previous == 0 ? null : Math.round((latest - previous) * 1000.0 / previous) / 10.0;
+        }
+        return new EnrollmentTrendDto(courseId, granularity.name(), first, last, totalEnrolled, totalDropped,
+                changePercent, buckets);
+    }
+    
+    /**
+     * Counts existing enrollments, hot and archived, into the daily rollups one batch of days at a
+     * time, then sums the days into weeks and months. Runs alongside live traffic.
+     */
+    public synchronized Map<String, Object> backfill() {
+        long started = System.nanoTime();
+        Map<String, Object> result = new LinkedHashMap<>();
+        LocalDate first = rollupRepository.findFirstEnrollmentDay();
+        if (first == null) {
+            result.put("buckets", 0);
+            result.put("durationMillis", 0L);
+            return result;
+        }
+        LocalDate end = LocalDate.now().plusDays(1);
+        int buckets = 0;
+        for (LocalDate chunk = first; chunk.isBefore(end); chunk = chunk.plusDays(batchDays)) {
+            LocalDate from = chunk;
+            LocalDate to = chunk.plusDays(batchDays).isAfter(end) ? end : chunk.plusDays(batchDays);
+            buckets += transactionTemplate.execute(status -> {
+                List<Bucket> days = rollupRepository.countEnrollmentsByDay(from, to);
+                rollupRepository.raise(days);
+                return days.size();
+            });
+        }
+        result.put("days", buckets);
+        for (Granularity granularity : List.of(Granularity.WEEK, Granularity.MONTH)) {
+            int periods = 0;
+            LocalDate chunk = granularity.start(first);
+            while (chunk.isBefore(end)) {
+                // Whole periods per batch, so no period is summed from part of its days
+                LocalDate from = chunk;
+                LocalDate to = granularity.next(chunk);
+                while (to.isBefore(end) && ChronoUnit.DAYS.between(from, to) < batchDays) {
+                    to = granularity.next(to);
+                }
+                LocalDate until = to;
+                periods += transactionTemplate.execute(status -> {
+                    List<Bucket> rolled = rollUp(rollupRepository.findDays(from, until), granularity);
+                    rollupRepository.raise(rolled);
+                    return rolled.size();
+                });
+                chunk = to;
+            }
+            result.put(granularity.name().toLowerCase() + "s", periods);
+            buckets += periods;
+        }
+        result.put("buckets", buckets);
+        result.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+        logger.info("Backfilled enrollment rollups from {}: {}", first, result);
+        return result;
+    }
+    
+    private void record(Long courseId, int enrolled, int dropped) {
+        LocalDate today = LocalDate.now();
+        // Always day, week, month in this order, so concurrent enrollments lock the rows alike
+        List<Bucket> buckets = new ArrayList<>(3);
+        for (Granularity granularity : Granularity.values()) {
+            buckets.add(new Bucket(courseId, granularity.name(), granularity.start(today), enrolled, dropped));
+        }
+        rollupRepository.increment(buckets);
+    }
+    
+    private static List<Bucket> rollUp(List<Bucket> days, Granularity granularity) {
+        Map<Period, int[]> sums = new LinkedHashMap<>();
+        for (Bucket day : days) {
+            int[] sum = sums.computeIfAbsent(new Period(day.courseId(), granularity.start(day.periodStart())), key -> new int[2]);
+            sum[0] += day.enrolled();
+            sum[1] += day.dropped();
+        }
+        List<Bucket> rolled = new ArrayList<>(sums.size());
+        sums.forEach((period, sum) -> rolled.add(new Bucket(period.courseId(), granularity.name(), period.start(), sum[0], sum[1])));
+        return rolled;
+    }
+    
+    private record Period(Long courseId, LocalDate start) {
+    }
+}
@@ -1,13 +1,27 @@
 package com.sciqus.backend.service;
 
+import com.sciqus.backend.dto.DtoMapper;
+import com.sciqus.backend.dto.EnrollmentResponseDto;
+import com.sciqus.backend.entity.AuditEvent;
 import com.sciqus.backend.entity.Course;
 import com.sciqus.backend.entity.Enrollment;
 import com.sciqus.backend.entity.User;
+import com.sciqus.backend.entity.WaitlistEntry;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.EnrollmentCreated;
+import com.sciqus.backend.events.EnrollmentRemoved;
+import com.sciqus.backend.repository.ArchiveRepository;
+import com.sciqus.backend.repository.CourseRepository;
 import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +31,42 @@ public class EnrollmentService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    
+    @Autowired
+    private ArchiveRepository archiveRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Autowired
+    private EnrollmentAnalyticsService enrollmentAnalyticsService;
+    
     @Transactional
     public Enrollment enrollStudentInCourse(User student, Course course) {
         // Validate input parameters
@@ -33,12 +83,77 @@ public class EnrollmentService {
                                      " is already enrolled in course " + course.getCourseName());
         }
         
-        // Create new enrollment
+        scheduleService.checkNoConflict(student.getId(), course);
+        prerequisiteService.checkPrerequisites(student, course);
+        if (course.getCapacity() != null) {
+            reserveSeat(course);
+        }
+        return createEnrollment(student, course);
+    }
+    
+    /**
+     * Fills free seats of the course from the head of its waitlist, skipping students who are no
+     * longer active or got enrolled another way. Holds the course lock, like direct enrollment.
+     */
+    @Transactional
+    public List<Enrollment> promoteFromWaitlist(Long courseId) {
+        Optional<Course> locked = courseRepository.findByIdForUpdate(courseId);
+        if (locked.isEmpty() || !locked.get().getIsActive()) {
+            return List.of();
+        }
+        Course course = locked.get();
+        long enrolled = enrollmentRepository.countByCourse(course);
+        List<Enrollment> promoted = new ArrayList<>();
+        while (course.getCapacity() == null || enrolled < course.getCapacity()) {
+            Optional<WaitlistEntry> head = waitlistService.pollHead(courseId);
+            if (head.isEmpty()) {
+                break;
+            }
+            Optional<User> student = userRepository.findById(head.get().getStudentId());
+            if (student.isEmpty() || !student.get().getIsActive()
+                    || enrollmentRepository.existsByStudentAndCourse(student.get(), course)
+                    || scheduleService.findConflict(student.get().getId(), course).isPresent()
+                    || !prerequisiteService.findMissingPrerequisites(student.get().getId(), courseId).isEmpty()) {
+                continue;
+            }
+            promoted.add(createEnrollment(student.get(), course));
+            meterRegistry.counter("sciqus.waitlist.promoted").increment();
+            enrolled++;
+        }
+        return promoted;
+    }
+    
+    public boolean isCourseFull(Course course) {
+        return course.getCapacity() != null && enrollmentRepository.countByCourse(course) >= course.getCapacity();
+    }
+    
+    private void reserveSeat(Course course) {
+        // Checked without the lock first, so students hammering a full course are turned away without queuing on its row
+        if (isCourseFull(course)) {
+            throw new RuntimeException("Course " + course.getCourseName() + " is full; join the waitlist instead");
+        }
+        Course locked = courseRepository.findByIdForUpdate(course.getCourseId())
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + course.getCourseId()));
+        // Waiting students get free seats first; the promoter hands them out
+        if (isCourseFull(locked) || waitlistService.hasWaiting(locked.getCourseId())) {
+            throw new RuntimeException("Course " + course.getCourseName() + " is full; join the waitlist instead");
+        }
+    }
+    
+    private Enrollment createEnrollment(User student, Course course) {
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
         enrollment.setCourse(course);
         
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        meterRegistry.counter("sciqus.enrollments", "action", "created").increment();
+        auditService.recordEnrollment(AuditEvent.Action.ENROLLMENT_CREATED, saved.getId(), student, course);
+        eventPublisher.publish(new EnrollmentCreated(saved.getId(), student.getId(), course.getCourseId()));
+        studentDashboardService.evictAfterCommit(student.getId());
+        scheduleService.evictAfterCommit(student.getId());
+        recommendationService.recordAfterCommit(student.getId(), course.getCourseId(), true);
+        enrollmentAnalyticsService.recordEnrollment(course.getCourseId());
+        return saved;
     }
     
     public List<Enrollment> getEnrollmentsByStudent(User student) {
@@ -48,6 +163,29 @@ public class EnrollmentService {
         return enrollmentRepository.findByStudent(student);
     }
     
+    /**
+     * Every enrollment the student ever had, newest first: current ones from the hot table and
+     * those moved to the archive by the archival job.
+     */
+    @Transactional(readOnly = true)
+    public List<EnrollmentResponseDto> getEnrollmentHistory(User student) {
+        if (student == null) {
+            throw new IllegalArgumentException("Student cannot be null");
+        }
+        List<EnrollmentResponseDto> history = new ArrayList<>();
+        enrollmentRepository.findLatestByStudentId(student.getId(), Limit.unlimited()).stream()
+                .map(DtoMapper::mapToEnrollmentResponseDto)
+                .forEach(history::add);
+        String studentName = student.getFirstName() + " " + student.getLastName();
+        for (EnrollmentResponseDto archived : archiveRepository.findEnrollmentsByStudent(student.getId())) {
+            archived.setStudentName(studentName);
+            history.add(archived);
+        }
+        history.sort(Comparator.comparing(EnrollmentResponseDto::getEnrollmentDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(EnrollmentResponseDto::getEnrollmentId, Comparator.reverseOrder()));
+        return history;
+    }
+    
     public List<Enrollment> getEnrollmentsByCourse(Course course) {
         if (course == null) {
             throw new IllegalArgumentException("Course cannot be null");
@@ -71,6 +209,17 @@ public class EnrollmentService {
         Optional<Enrollment> enrollment = enrollmentRepository.findByStudentAndCourse(student, course);
         if (enrollment.isPresent()) {
             enrollmentRepository.delete(enrollment.get());
+            meterRegistry.counter("sciqus.enrollments", "action", "removed").increment();
+            auditService.recordEnrollment(AuditEvent.Action.ENROLLMENT_REMOVED, enrollment.get().getId(), student, course);
+            eventPublisher.publish(new EnrollmentRemoved(enrollment.get().getId(), student.getId(), course.getCourseId()));
+            studentDashboardService.evictAfterCommit(student.getId());
+            scheduleService.evictAfterCommit(student.getId());
+            recommendationService.recordAfterCommit(student.getId(), course.getCourseId(), false);
+            enrollmentAnalyticsService.recordUnenrollment(course.getCourseId());
+            if (course.getCapacity() != null) {
+                // The freed seat goes to the head of the waitlist in this same transaction
+                promoteFromWaitlist(course.getCourseId());
+            }
             return true;
         }
         return false;
@@ -84,6 +233,7 @@ public class EnrollmentService {
     }
     
     // Convenience method for controller
+    @Transactional
     public Enrollment enrollStudent(User student, Course course) {
         return enrollStudentInCourse(student, course);
     }
@@ -139,7 +289,17 @@ public class EnrollmentService {
             return false;
         }
         
-        // Add more business rules here if needed (e.g., course capacity, prerequisites, etc.)
+        // Full courses take students through the waitlist
+        if (isCourseFull(course)) {
+            return false;
+        }
+        
+        // Check prerequisites
+        if (!prerequisiteService.findMissingPrerequisites(student.getId(), course.getCourseId()).isEmpty()) {
+            return false;
+        }
+        
+        // Add more business rules here if needed
         
         return true;
     }
@@ -0,0 +1,83 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.LogLevelDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads and changes logger levels at runtime. Changes are not persisted; a restart goes back
+ * to the levels in application.properties.
+ */
+@Service
+public class LogLevelService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LogLevelService.class);
+    
+    @Autowired
+    private LoggingSystem loggingSystem;
+    
+    /** Categories with an explicitly configured level. */
+    public List<LogLevelDto> getConfiguredLevels() {
+        return loggingSystem.getLoggerConfigurations().stream()
+                .filter(configuration -> configuration.getConfiguredLevel() != null)
+                .map(this::toDto)
+                .toList();
+    }
+    
+    public LogLevelDto getLevel(String category) {
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(category);
+        if (configuration == null) {
+            return new LogLevelDto(category, null, effectiveLevelOf(category));
+        }
+        return toDto(configuration);
+    }
+    
+    /**
+     * Sets the level of a category; a {@code null} or empty level removes the override so the
+     * category inherits from its parent again.
+     */
+    public LogLevelDto setLevel(String category, String level) {
+        LogLevel logLevel = null;
+        if (level != null && !level.isBlank()) {
+            try {
+                logLevel = LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid log level: " + level);
+            }
+        }
+        loggingSystem.setLogLevel(category, logLevel);
+        logger.info("Log level of '{}' set to {}", category, logLevel == null ? "inherited" : logLevel);
+        return getLevel(category);
+    }
+    
+    private String effectiveLevelOf(String category) {
+        // Walk up to the nearest configured ancestor, like the logging system does
+        String name = category;
+        while (true) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            if (configuration != null) {
+                return configuration.getEffectiveLevel().name();
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return loggingSystem.getLoggerConfiguration(LoggingSystem.ROOT_LOGGER_NAME).getEffectiveLevel().name();
+            }
+            name = name.substring(0, dot);
+        }
+    }
+    
+    private LogLevelDto toDto(LoggerConfiguration configuration) {
+        LogLevel configured = configuration.getConfiguredLevel();
+        return new LogLevelDto(configuration.getName(),
+                configured == null ? null : configured.name(),
+                configuration.getEffectiveLevel().name());
+    }
+}
@@ -0,0 +1,135 @@
+package com.sciqus.backend.service;
+
+/**
+ * Open-addressing map from {@code long} to {@code int} on two parallel arrays, without boxing or
+ * per-entry objects. Linear probing over a power-of-two table; removal shifts the following run
+ * back instead of leaving tombstones, so lookups never slow down after churn.
+ * <p>
+ * Key {@code 0} marks a free slot and cannot be stored; database ids start at 1. Not thread-safe.
+ */
+final class LongIntHashMap {
+    
+    private static final int MIN_CAPACITY = 4;
+    
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    
+    LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+    
+    LongIntHashMap(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize * 4 / 3)) * 2);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+    
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            if (keys[slot] == 0) {
+                return 0;
+            }
+        }
+    }
+    
+    /** Adds {@code delta} to the value of {@code key}; entries that reach zero are removed. */
+    int addTo(long key, int delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                int value = values[slot] + delta;
+                if (value == 0) {
+                    removeAt(slot);
+                } else {
+                    values[slot] = value;
+                }
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (delta == 0) {
+            return 0;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        // Kept at most three quarters full
+        if (++size > (mask + 1) * 3 / 4) {
+            resize(keys.length * 2);
+        }
+        return delta;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+    
+    /** Heap bytes of this map and its arrays, assuming compressed oops. */
+    long estimatedBytes() {
+        return 32 + (16 + 8L * keys.length) + (16 + 4L * values.length);
+    }
+    
+    private void removeAt(int slot) {
+        size--;
+        // Pull later entries of the run back into the hole unless they already sit between home and hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+    
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,170 @@
+package com.sciqus.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the prerequisite graph with its transitive closure. Every course in the
+ * graph owns one bit; {@code required[bit]} holds the bits of all courses needed, directly or
+ * through other prerequisites, before enrolling in that course. Checking a student then takes a
+ * clone and an {@code andNot} against the bits of their completed courses.
+ * <p>
+ * Changing one course's prerequisites only recomputes the closures of that course and of the
+ * courses that require it; everything else is shared with the previous snapshot.
+ */
+final class PrerequisiteClosure {
+    
+    static final PrerequisiteClosure EMPTY = new PrerequisiteClosure(Map.of(), new long[0], Map.of(), new BitSet[0]);
+    
+    private final Map<Long, Integer> bits;
+    private final long[] courseIds;
+    private final Map<Long, Set<Long>> direct;
+    // Indexed by bit; null when the course needs nothing
+    private final BitSet[] required;
+    
+    private PrerequisiteClosure(Map<Long, Integer> bits, long[] courseIds, Map<Long, Set<Long>> direct, BitSet[] required) {
+        this.bits = bits;
+        this.courseIds = courseIds;
+        this.direct = direct;
+        this.required = required;
+    }
+    
+    static PrerequisiteClosure of(Map<Long, Set<Long>> edges) {
+        PrerequisiteClosure closure = EMPTY;
+        for (Map.Entry<Long, Set<Long>> entry : edges.entrySet()) {
+            closure = closure.withPrerequisites(entry.getKey(), entry.getValue());
+        }
+        return closure;
+    }
+    
+    /** Whether giving {@code courseId} these prerequisites would make it require itself. */
+    boolean wouldCycle(Long courseId, Collection<Long> prerequisites) {
+        Integer bit = bits.get(courseId);
+        for (Long prerequisite : prerequisites) {
+            if (prerequisite.equals(courseId)) {
+                return true;
+            }
+            Integer prerequisiteBit = bits.get(prerequisite);
+            if (bit != null && prerequisiteBit != null && required[prerequisiteBit] != null
+                    && required[prerequisiteBit].get(bit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    PrerequisiteClosure withPrerequisites(Long courseId, Set<Long> prerequisites) {
+        if (direct.getOrDefault(courseId, Set.of()).equals(prerequisites)) {
+            return this;
+        }
+        Map<Long, Integer> newBits = new HashMap<>(bits);
+        List<Long> added = new ArrayList<>();
+        for (Long id : concat(courseId, prerequisites)) {
+            if (!newBits.containsKey(id)) {
+                newBits.put(id, courseIds.length + added.size());
+                added.add(id);
+            }
+        }
+        long[] newCourseIds = Arrays.copyOf(courseIds, courseIds.length + added.size());
+        for (int i = 0; i < added.size(); i++) {
+            newCourseIds[courseIds.length + i] = added.get(i);
+        }
+        Map<Long, Set<Long>> newDirect = new HashMap<>(direct);
+        if (prerequisites.isEmpty()) {
+            newDirect.remove(courseId);
+        } else {
+            newDirect.put(courseId, Set.copyOf(prerequisites));
+        }
+        
+        // Only the course itself and the courses that already required it can change
+        int changedBit = newBits.get(courseId);
+        Set<Long> affected = new HashSet<>();
+        affected.add(courseId);
+        for (int bit = 0; bit < required.length; bit++) {
+            if (required[bit] != null && required[bit].get(changedBit)) {
+                affected.add(courseIds[bit]);
+            }
+        }
+        BitSet[] newRequired = Arrays.copyOf(required, newCourseIds.length);
+        Set<Long> done = new HashSet<>();
+        for (Long id : affected) {
+            recompute(id, affected, done, new HashSet<>(), newBits, newDirect, newRequired);
+        }
+        return new PrerequisiteClosure(newBits, newCourseIds, newDirect, newRequired);
+    }
+    
+    /** Required courses missing from {@code completed}; empty when the student may enroll. */
+    List<Long> missing(Long courseId, BitSet completed) {
+        Integer bit = bits.get(courseId);
+        if (bit == null || required[bit] == null) {
+            return List.of();
+        }
+        BitSet missing = (BitSet) required[bit].clone();
+        missing.andNot(completed);
+        return toCourseIds(missing);
+    }
+    
+    /** Bits of the given courses; courses outside the graph are not needed by anything and are dropped. */
+    BitSet toBits(Collection<Long> ids) {
+        BitSet result = new BitSet(courseIds.length);
+        for (Long id : ids) {
+            Integer bit = bits.get(id);
+            if (bit != null) {
+                result.set(bit);
+            }
+        }
+        return result;
+    }
+    
+    Set<Long> directPrerequisites(Long courseId) {
+        return direct.getOrDefault(courseId, Set.of());
+    }
+    
+    List<Long> requiredCourses(Long courseId) {
+        Integer bit = bits.get(courseId);
+        return bit == null || required[bit] == null ? List.of() : toCourseIds(required[bit]);
+    }
+    
+    private List<Long> toCourseIds(BitSet set) {
+        List<Long> ids = new ArrayList<>(set.cardinality());
+        for (int bit = set.nextSetBit(0); bit >= 0; bit = set.nextSetBit(bit + 1)) {
+            ids.add(courseIds[bit]);
+        }
+        return ids;
+    }
+    
+    private static BitSet recompute(Long courseId, Set<Long> affected, Set<Long> done, Set<Long> visiting,
+                                    Map<Long, Integer> bits, Map<Long, Set<Long>> direct, BitSet[] required) {
+        int bit = bits.get(courseId);
+        // Unaffected closures are still valid; a cycle (prevented on write) would stop here instead of looping
+        if (!affected.contains(courseId) || done.contains(courseId) || !visiting.add(courseId)) {
+            return required[bit];
+        }
+        BitSet closure = new BitSet();
+        for (Long prerequisite : direct.getOrDefault(courseId, Set.of())) {
+            closure.set(bits.get(prerequisite));
+            BitSet inherited = recompute(prerequisite, affected, done, visiting, bits, direct, required);
+            if (inherited != null) {
+                closure.or(inherited);
+            }
+        }
+        required[bit] = closure.isEmpty() ? null : closure;
+        visiting.remove(courseId);
+        done.add(courseId);
+        return required[bit];
+    }
+    
+    private static List<Long> concat(Long first, Collection<Long> rest) {
+        List<Long> all = new ArrayList<>(rest.size() + 1);
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+}
@@ -0,0 +1,218 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.CoursePrerequisitesDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.CourseCompletion;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DeliveredEvent;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.PrerequisitesChanged;
+import com.sciqus.backend.repository.CourseCompletionRepository;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.PrerequisiteRepository;
+import com.sciqus.backend.tenant.TenantScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Prerequisite graph and completed courses. The graph lives in memory as a
+ * {@link PrerequisiteClosure}, replaced copy-on-write under a lock whenever an admin edits it,
+ * and each student's completed courses are cached as bits of that closure. Checking eligibility
+ * at enrollment is therefore a couple of bitset operations and no queries.
+ * <p>
+ * Edits are applied to the in-memory graph before they commit, so a second concurrent edit is
+ * checked for cycles against the first; the course is re-read from the table once the transaction
+ * ends, which also undoes a rolled back edit.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class PrerequisiteService implements DomainEventSubscriber {
+    
+    @Autowired
+    private PrerequisiteRepository prerequisiteRepository;
+    
+    @Autowired
+    private CourseCompletionRepository completionRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Value("${app.prerequisites.completion-cache-size:10000}")
+    private int maxStudents;
+    
+    private final Object writeLock = new Object();
+    private volatile PrerequisiteClosure closure;
+    private final ConcurrentHashMap<Long, Completed> completed = new ConcurrentHashMap<>();
+    
+    public CoursePrerequisitesDto getPrerequisites(Long courseId) {
+        PrerequisiteClosure current = closure();
+        return new CoursePrerequisitesDto(courseId, current.directPrerequisites(courseId).stream().sorted().toList(),
+                current.requiredCourses(courseId));
+    }
+    
+    @Transactional
+    public CoursePrerequisitesDto replacePrerequisites(Long courseId, List<Long> prerequisiteIds) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        Set<Long> prerequisites = new LinkedHashSet<>(prerequisiteIds == null ? List.of() : prerequisiteIds);
+        for (Long prerequisite : prerequisites) {
+            if (prerequisite == null || !courseRepository.existsById(prerequisite)) {
+                throw new IllegalArgumentException("Prerequisite course not found with id: " + prerequisite);
+            }
+        }
+        
+        synchronized (writeLock) {
+            PrerequisiteClosure current = closure();
+            if (current.wouldCycle(courseId, prerequisites)) {
+                throw new IllegalArgumentException("Prerequisites would form a cycle: course " + courseId
+                        + " is itself required by one of " + prerequisites);
+            }
+            prerequisiteRepository.replace(courseId, prerequisites);
+            closure = current.withPrerequisites(courseId, Set.copyOf(prerequisites));
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                refresh(courseId);
+            }
+        });
+        eventPublisher.publish(new PrerequisitesChanged(courseId));
+        return getPrerequisites(courseId);
+    }
+    
+    /** Courses the student still has to complete before enrolling in {@code courseId}. */
+    public List<Long> findMissingPrerequisites(Long studentId, Long courseId) {
+        PrerequisiteClosure current = closure();
+        return current.missing(courseId, completedBits(studentId, current));
+    }
+    
+    public void checkPrerequisites(User student, Course course) {
+        List<Long> missing = findMissingPrerequisites(student.getId(), course.getCourseId());
+        if (!missing.isEmpty()) {
+            String codes = courseRepository.findAllById(missing).stream()
+                    .map(Course::getCourseCode)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new RuntimeException("Complete the prerequisites of " + course.getCourseCode() + " first: " + codes);
+        }
+    }
+    
+    public List<Long> getCompletedCourseIds(Long studentId) {
+        return completionRepository.findCourseIdsByStudentId(studentId);
+    }
+    
+    @Transactional
+    public boolean recordCompletion(User student, Course course) {
+        if (completionRepository.findByStudentIdAndCourseId(student.getId(), course.getCourseId()).isPresent()) {
+            return false;
+        }
+        CourseCompletion completion = new CourseCompletion();
+        completion.setStudentId(student.getId());
+        completion.setCourseId(course.getCourseId());
+        completion.setCompletedAt(LocalDateTime.now());
+        completionRepository.save(completion);
+        evictAfterCommit(student.getId());
+        return true;
+    }
+    
+    @Transactional
+    public boolean removeCompletion(User student, Long courseId) {
+        Optional<CourseCompletion> completion = completionRepository.findByStudentIdAndCourseId(student.getId(), courseId);
+        if (completion.isEmpty()) {
+            return false;
+        }
+        completionRepository.delete(completion.get());
+        evictAfterCommit(student.getId());
+        return true;
+    }
+    
+    @Override
+    public void onEvents(List<DeliveredEvent> events) {
+        for (DeliveredEvent delivered : events) {
+            if (delivered.event() instanceof PrerequisitesChanged changed) {
+                refresh(changed.courseId());
+            } else if (delivered.event() instanceof CourseChanged course
+                    && (course.change() == DomainEvent.ChangeType.DELETED || course.change() == DomainEvent.ChangeType.ARCHIVED)) {
+                // Its edges went with it, on both sides; rare enough to reload everything
+                synchronized (writeLock) {
+                    closure = null;
+                }
+            }
+        }
+    }
+    
+    private PrerequisiteClosure closure() {
+        PrerequisiteClosure current = closure;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (closure == null) {
+                closure = PrerequisiteClosure.of(prerequisiteRepository.findAll());
+            }
+            return closure;
+        }
+    }
+    
+    private void refresh(Long courseId) {
+        synchronized (writeLock) {
+            if (closure != null) {
+                closure = closure.withPrerequisites(courseId, prerequisiteRepository.findByCourseId(courseId));
+            }
+        }
+    }
+    
+    private BitSet completedBits(Long studentId, PrerequisiteClosure current) {
+        Completed cached = completed.get(studentId);
+        // Bits are positions in one snapshot; edits are rare, so any new snapshot simply reloads them
+        if (cached != null && cached.closure() == current) {
+            return cached.bits();
+        }
+        if (completed.size() >= maxStudents) {
+            Iterator<Long> keys = completed.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        // Loaded inside compute so an eviction racing with the load waits for it instead of being
+        // overwritten by bits read before the completion committed
+        return completed.compute(studentId, (id, existing) -> existing != null && existing.closure() == current
+                ? existing : new Completed(current, current.toBits(completionRepository.findCourseIdsByStudentId(id)))).bits();
+    }
+    
+    private void evictAfterCommit(Long studentId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completed.remove(studentId);
+            }
+        });
+    }
+    
+    private record Completed(PrerequisiteClosure closure, BitSet bits) {
+    }
+}
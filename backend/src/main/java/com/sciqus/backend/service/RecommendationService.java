@@ -0,0 +1,314 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.RecommendedCourseDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.tenant.TenantScope;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * "Students also enrolled in" recommendations from a {@link CoEnrollmentMatrix} held in memory.
+ * {@link EnrollmentService} reports every enrollment and unenrollment once it commits, so the
+ * matrix is kept current one row update at a time; ranking a student's candidates only walks the
+ * rows of the courses they are in. The matrix is built from the enrollments table on first use,
+ * after an archival run moved enrollments out, or on demand by an admin.
+ * <p>
+ * Changes committed while a rebuild scans the table are replayed onto the new matrix. One that
+ * commits just as the scan starts may be counted twice until the next rebuild.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class RecommendationService implements MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+    
+    private static final String SCAN = "SELECT user_id, course_id FROM enrollments ORDER BY user_id";
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${app.recommendations.max-limit:50}")
+    private int maxLimit;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; null until built and after invalidation
+    private CoEnrollmentMatrix matrix;
+    // Guarded by lock; collects committed changes while a rebuild scans the table
+    private List<Delta> pending;
+    private volatile Map<String, Object> lastRebuild;
+    
+    public List<RecommendedCourseDto> getRecommendations(Long studentId, int limit) {
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        Set<Long> enrolled = new HashSet<>(enrollmentRepository.findCourseIdsByStudentId(studentId));
+        long[] basis = enrolled.stream().mapToLong(Long::longValue).toArray();
+        // Inactive courses are dropped after loading, so a few spares are ranked
+        int wanted = size + Math.max(4, size / 2);
+        
+        List<CoEnrollmentMatrix.Scored> ranked = meterRegistry.timer("sciqus.recommendations.lookup").record(() -> read(current -> {
+            List<CoEnrollmentMatrix.Scored> result = new ArrayList<>(current.top(basis, enrolled::contains, wanted));
+            if (result.size() < wanted) {
+                Set<Long> taken = result.stream().map(CoEnrollmentMatrix.Scored::courseId).collect(Collectors.toSet());
+                result.addAll(current.popular(id -> enrolled.contains(id) || taken.contains(id), wanted - result.size()));
+            }
+            return result;
+        }));
+        
+        Map<Long, Course> courses = courseRepository.findAllById(ranked.stream().map(CoEnrollmentMatrix.Scored::courseId).toList())
+                .stream()
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        List<RecommendedCourseDto> recommendations = new ArrayList<>(size);
+        for (CoEnrollmentMatrix.Scored scored : ranked) {
+            Course course = courses.get(scored.courseId());
+            if (course != null && Boolean.TRUE.equals(course.getIsActive()) && recommendations.size() < size) {
+                recommendations.add(new RecommendedCourseDto(course.getCourseId(), course.getCourseName(), course.getCourseCode(),
+                        course.getCourseDuration(), course.getDescription(), scored.coEnrollments()));
+            }
+        }
+        return recommendations;
+    }
+    
+    /**
+     * Counts the enrollment or unenrollment of the student once the current transaction commits.
+     * Must run after the change is written, so the student's other courses are read as they will be.
+     */
+    public void recordAfterCommit(Long studentId, Long courseId, boolean enrolled) {
+        long course = courseId;
+        long[] others = enrollmentRepository.findCourseIdsByStudentId(studentId).stream()
+                .mapToLong(Long::longValue)
+                .filter(id -> id != course)
+                .toArray();
+        Delta delta = new Delta(course, others, enrolled);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+        } else {
+            apply(delta);
+        }
+    }
+    
+    /** Drops the matrix once the current transaction commits; the next request rebuilds it. */
+    public void invalidateAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lock.writeLock().lock();
+                try {
+                    matrix = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+    
+    /** Builds the matrix from the enrollments table and swaps it in; returns the resulting statistics. */
+    public synchronized Map<String, Object> rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        long started = System.nanoTime();
+        CoEnrollmentMatrix built = new CoEnrollmentMatrix();
+        StudentGrouper grouper = new StudentGrouper(built);
+        try {
+            jdbcTemplate.query(SCAN, (RowCallbackHandler) rs -> grouper.add(rs.getLong("user_id"), rs.getLong("course_id")));
+            grouper.flush();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            replayed = pending.size();
+            pending.forEach(delta -> delta.applyTo(built));
+            pending = null;
+            matrix = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enrollments", grouper.enrollments);
+        stats.put("students", grouper.students);
+        stats.put("replayedChanges", replayed);
+        stats.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+        stats.put("builtAt", LocalDateTime.now());
+        lastRebuild = stats;
+        logger.info("Rebuilt co-enrollment matrix from {} enrollments of {} students: {} courses, {} pairs, ~{} KiB",
+                grouper.enrollments, grouper.students, built.courseCount(), built.pairCount(), built.estimatedBytes() / 1024);
+        return getStatistics();
+    }
+    
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("built", matrix != null);
+            stats.put("courses", matrix == null ? 0 : matrix.courseCount());
+            stats.put("pairs", matrix == null ? 0 : matrix.pairCount());
+            stats.put("estimatedBytes", matrix == null ? 0 : matrix.estimatedBytes());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("lastRebuild", lastRebuild);
+        return stats;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sciqus.recommendations.pairs", this, service -> service.gauge(CoEnrollmentMatrix::pairCount))
+                .description("Course pairs with shared students in the co-enrollment matrix")
+                .register(registry);
+        Gauge.builder("sciqus.recommendations.memory", this, service -> service.gauge(CoEnrollmentMatrix::estimatedBytes))
+                .description("Estimated heap held by the co-enrollment matrix")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+    
+    private <T> T read(Function<CoEnrollmentMatrix, T> query) {
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (matrix != null) {
+                    return query.apply(matrix);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            buildIfMissing();
+        }
+    }
+    
+    private synchronized void buildIfMissing() {
+        lock.readLock().lock();
+        boolean missing;
+        try {
+            missing = matrix == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (missing) {
+            rebuild();
+        }
+    }
+    
+    private void apply(Delta delta) {
+        lock.writeLock().lock();
+        try {
+            // Before the first build there is nothing to update; the build reads the committed row
+            if (matrix != null) {
+                delta.applyTo(matrix);
+            }
+            if (pending != null) {
+                pending.add(delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private double gauge(ToLongFunction<CoEnrollmentMatrix> metric) {
+        lock.readLock().lock();
+        try {
+            return matrix == null ? 0 : metric.applyAsLong(matrix);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private record Delta(long courseId, long[] otherCourses, boolean enrolled) {
+        
+        void applyTo(CoEnrollmentMatrix target) {
+            if (enrolled) {
+                target.addEnrollment(courseId, otherCourses);
+            } else {
+                target.removeEnrollment(courseId, otherCourses);
+            }
+        }
+    }
+    
+    /** Collects the rows of one student at a time from a scan ordered by student. */
+    private static final class StudentGrouper {
+        
+        private final CoEnrollmentMatrix target;
+        private long currentStudent;
+        private long[] courses = new long[16];
+        private int size;
+        long enrollments;
+        long students;
+        
+        StudentGrouper(CoEnrollmentMatrix target) {
+            this.target = target;
+        }
+        
+        void add(long studentId, long courseId) {
+            if (studentId != currentStudent) {
+                flush();
+                currentStudent = studentId;
+            }
+            if (size == courses.length) {
+                courses = Arrays.copyOf(courses, size * 2);
+            }
+            courses[size++] = courseId;
+            enrollments++;
+        }
+        
+        void flush() {
+            if (size > 0) {
+                target.addStudent(Arrays.copyOf(courses, size));
+                students++;
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.ReportJobDto;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.tenant.TenantDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CSV roster reports generated off the request thread. A job reads its courses' enrollments in
+ * keyset pages from a read replica and streams the rows straight into a temp file, so neither the
+ * request nor the worker ever holds a whole roster in memory. Jobs run on a bounded pool with a
+ * bounded queue; a submission that finds the queue full is refused instead of piling up.
+ * <p>
+ * A request for the same set of courses as a job that is still queued or running joins that job.
+ * Finished jobs and their files are removed after the retention period. Jobs belong to the tenant
+ * that submitted them, read that tenant's database and are invisible to other tenants.
+ */
+@Service
+public class RosterReportService implements MeterBinder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RosterReportService.class);
+    
+    private static final String PAGE = "SELECT e.user_id, e.enrolled_at, u.username, u.first_name, u.last_name, u.email "
+            + "FROM enrollments e JOIN users u ON u.id = e.user_id "
+            + "WHERE e.course_id = :courseId AND e.user_id > :afterUser "
+            + "ORDER BY e.user_id LIMIT :limit";
+    
+    private static final String HEADER = "course_id,course_code,course_name,student_id,username,first_name,last_name,email,enrolled_at";
+    
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    private final int pageSize;
+    private final int maxCourses;
+    private final Duration retention;
+    private final Path directory;
+    // Package-private so tests can hold the pool busy
+    final ThreadPoolExecutor workers;
+    
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Queued and running jobs by tenant and sorted course ids, for deduplication
+    private final Map<JobKey, Job> pending = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private volatile Timer duration;
+    
+    public RosterReportService(@Value("${app.reports.worker-threads:2}") int workerThreads,
+                               @Value("${app.reports.queue-capacity:32}") int queueCapacity,
+                               @Value("${app.reports.page-size:1000}") int pageSize,
+                               @Value("${app.reports.max-courses:100}") int maxCourses,
+                               @Value("${app.reports.retention:1h}") Duration retention,
+                               @Value("${app.reports.directory:}") String directory) throws IOException {
+        this.pageSize = pageSize;
+        this.maxCourses = maxCourses;
+        this.retention = retention;
+        this.directory = directory.isBlank()
+                ? Files.createTempDirectory("sciqus-reports")
+                : Files.createDirectories(Paths.get(directory));
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("roster-report"), new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Queues a roster report for the courses, or returns the queued or running job already
+     * covering the same courses. Throws {@link RejectedExecutionException} when the queue is full.
+     */
+    public ReportJobDto submit(List<Long> courseIds, String requestedBy) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one course id is required");
+        }
+        List<Long> key = courseIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (key.size() > maxCourses) {
+            throw new IllegalArgumentException("A report can cover at most " + maxCourses + " courses");
+        }
+        if (courseRepository.countByCourseIdIn(key) != key.size()) {
+            throw new IllegalArgumentException("Unknown course id in " + key);
+        }
+        
+        Job created = new Job(tenantDirectory.currentTenant(), key, requestedBy);
+        Job job = pending.computeIfAbsent(created.key(), ids -> created);
+        if (job != created) {
+            deduplicated.increment();
+            return job.toDto();
+        }
+        jobs.put(job.id, job);
+        try {
+            // The worker reads the database of the tenant that asked for the report
+            workers.execute(() -> TenantContext.run(job.tenant, () -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            pending.remove(job.key(), job);
+            rejected.increment();
+            throw new RejectedExecutionException("Report queue is full; try again later");
+        }
+        logger.info("Queued roster report {} for courses {} requested by {}", job.id, key, requestedBy);
+        return job.toDto();
+    }
+    
+    public Optional<ReportJobDto> getJob(String jobId) {
+        return findJob(jobId).map(Job::toDto);
+    }
+    
+    /** The finished report's file; empty while the job is pending, after it failed or once it expired. */
+    public Optional<Path> findArtifact(String jobId) {
+        Job job = findJob(jobId).orElse(null);
+        if (job == null || job.status != Status.COMPLETED || !Files.exists(job.file)) {
+            return Optional.empty();
+        }
+        return Optional.of(job.file);
+    }
+    
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", workers.getQueue().size());
+        stats.put("running", workers.getActiveCount());
+        stats.put("workers", workers.getMaximumPoolSize());
+        stats.put("queueCapacity", workers.getQueue().size() + workers.getQueue().remainingCapacity());
+        stats.put("retained", jobs.size());
+        stats.put("completed", completed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("deduplicated", deduplicated.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("rowsWritten", rowsWritten.sum());
+        return stats;
+    }
+    
+    /** Removes finished jobs older than the retention period together with their files. */
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-interval:5m}")
+    public void expireFinishedJobs() {
+        int expired = expireFinishedBefore(LocalDateTime.now().minus(retention));
+        if (expired > 0) {
+            logger.info("Expired {} roster reports", expired);
+        }
+    }
+    
+    private int expireFinishedBefore(LocalDateTime cutoff) {
+        int expired = 0;
+        for (Job job : jobs.values()) {
+            LocalDateTime finishedAt = job.finishedAt;
+            if (finishedAt != null && !finishedAt.isAfter(cutoff) && jobs.remove(job.id, job)) {
+                delete(job.file);
+                expired++;
+            }
+        }
+        return expired;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sciqus.reports.queue.depth", workers, executor -> executor.getQueue().size())
+                .description("Roster reports waiting for a worker")
+                .register(registry);
+        Gauge.builder("sciqus.reports.running", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Roster reports being generated")
+                .register(registry);
+        FunctionCounter.builder("sciqus.reports.jobs", completed, LongAdder::sum)
+                .tag("outcome", "completed")
+                .description("Roster report jobs by outcome")
+                .register(registry);
+        FunctionCounter.builder("sciqus.reports.jobs", failed, LongAdder::sum)
+                .tag("outcome", "failed")
+                .register(registry);
+        FunctionCounter.builder("sciqus.reports.jobs", deduplicated, LongAdder::sum)
+                .tag("outcome", "deduplicated")
+                .register(registry);
+        FunctionCounter.builder("sciqus.reports.jobs", rejected, LongAdder::sum)
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("sciqus.reports.rows", rowsWritten, LongAdder::sum)
+                .description("Roster rows written to report files")
+                .register(registry);
+        duration = Timer.builder("sciqus.reports.duration")
+                .description("Time to generate one roster report")
+                .register(registry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        jobs.values().forEach(job -> delete(job.file));
+        jobs.clear();
+    }
+    
+    private Optional<Job> findJob(String jobId) {
+        String tenant = tenantDirectory.currentTenant();
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.tenant.equals(tenant));
+    }
+    
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = Status.RUNNING;
+        long started = System.nanoTime();
+        Status outcome;
+        try {
+            job.rows = write(job);
+            job.sizeBytes = Files.size(job.file);
+            outcome = Status.COMPLETED;
+            completed.increment();
+            logger.info("Roster report {} finished: {} rows, {} bytes", job.id, job.rows, job.sizeBytes);
+        } catch (Exception e) {
+            delete(job.file);
+            job.error = e.getMessage();
+            outcome = Status.FAILED;
+            failed.increment();
+            logger.warn("Roster report {} failed: {}", job.id, e.getMessage());
+        }
+        Timer timer = duration;
+        if (timer != null) {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        // Out of the deduplication map before it looks finished, so a new request starts a fresh job
+        pending.remove(job.key(), job);
+        job.finishedAt = LocalDateTime.now();
+        job.status = outcome;
+    }
+    
+    private long write(Job job) throws IOException {
+        // Read-only transactions are routed to a replica when one is configured
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        long rows = 0;
+        try (Writer out = Files.newBufferedWriter(job.file, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.write('\n');
+            for (Long courseId : job.courseIds) {
+                String[] course = readOnly.execute(status -> jdbcTemplate.queryForObject(
+                        "SELECT course_code, course_name FROM courses WHERE course_id = :courseId",
+                        Map.of("courseId", courseId),
+                        (rs, rowNum) -> new String[] {rs.getString("course_code"), rs.getString("course_name")}));
+                String prefix = courseId + "," + csv(course[0]) + "," + csv(course[1]) + ",";
+                long afterUser = 0;
+                while (true) {
+                    long after = afterUser;
+                    List<RosterRow> page = readOnly.execute(status -> jdbcTemplate.query(PAGE,
+                            Map.of("courseId", courseId, "afterUser", after, "limit", pageSize),
+                            (rs, rowNum) -> {
+                                Timestamp enrolledAt = rs.getTimestamp("enrolled_at");
+                                return new RosterRow(rs.getLong("user_id"), csv(rs.getString("username")) + ","
+                                        + csv(rs.getString("first_name")) + "," + csv(rs.getString("last_name")) + ","
+                                        + csv(rs.getString("email")) + ","
+                                        + (enrolledAt == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(enrolledAt.toLocalDateTime())));
+                            }));
+                    for (RosterRow row : page) {
+                        out.write(prefix);
+                        out.write(Long.toString(row.userId()));
+                        out.write(',');
+                        out.write(row.fields());
+                        out.write('\n');
+                    }
+                    rows += page.size();
+                    rowsWritten.add(page.size());
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                    afterUser = page.get(page.size() - 1).userId();
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /** Quotes a CSV field when needed and defuses values a spreadsheet would run as a formula. */
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+    
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private record RosterRow(long userId, String fields) {
+    }
+    
+    private record JobKey(String tenant, List<Long> courseIds) {
+    }
+    
+    private final class Job {
+        
+        final String id = UUID.randomUUID().toString();
+        final String tenant;
+        final List<Long> courseIds;
+        final String requestedBy;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final Path file;
+        volatile Status status = Status.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile Long rows;
+        volatile Long sizeBytes;
+        volatile String error;
+        
+        Job(String tenant, List<Long> courseIds, String requestedBy) {
+            this.tenant = tenant;
+            this.courseIds = courseIds;
+            this.requestedBy = requestedBy;
+            this.file = directory.resolve("roster-" + id + ".csv");
+        }
+        
+        JobKey key() {
+            return new JobKey(tenant, courseIds);
+        }
+        
+        ReportJobDto toDto() {
+            LocalDateTime finished = finishedAt;
+            return new ReportJobDto(id, status.name(), courseIds, requestedBy, submittedAt, startedAt, finished,
+                    finished == null ? null : finished.plus(retention), rows, sizeBytes, error,
+                    status == Status.COMPLETED ? "/api/reports/rosters/" + id + "/download" : null);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.sciqus.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval index over one student's weekly schedule. Slots are placed on a week
+ * timeline (minutes since Monday 00:00) and kept sorted by start, with each implicit subtree of the
+ * sorted array storing its largest end. Finding the slots that overlap a new one therefore costs
+ * O(log n + k) instead of a scan; a change to the schedule builds a new index.
+ */
+final class ScheduleIndex {
+    
+    private final Slot[] slots;
+    // maxEnd[mid] is the largest weekEnd in the subtree [lo, hi) rooted at mid = (lo + hi) >>> 1
+    private final int[] maxEnd;
+    
+    private ScheduleIndex(Slot[] slots) {
+        this.slots = slots;
+        this.maxEnd = new int[slots.length];
+        build(0, slots.length);
+    }
+    
+    static ScheduleIndex of(List<Slot> slots) {
+        Slot[] sorted = slots.toArray(new Slot[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Slot::weekStart).thenComparingInt(Slot::weekEnd));
+        return new ScheduleIndex(sorted);
+    }
+    
+    /** Slots that meet at the same time as {@code candidate} on at least one date. */
+    List<Slot> conflictsWith(Slot candidate) {
+        List<Slot> conflicts = new ArrayList<>();
+        collect(0, slots.length, candidate, conflicts);
+        return conflicts;
+    }
+    
+    /** All slots, in week order. */
+    List<Slot> slots() {
+        return List.of(slots);
+    }
+    
+    boolean containsCourse(Long courseId) {
+        for (Slot slot : slots) {
+            if (slot.courseId().equals(courseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int build(int lo, int hi) {
+        if (lo >= hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        maxEnd[mid] = Math.max(slots[mid].weekEnd(), Math.max(build(lo, mid), build(mid + 1, hi)));
+        return maxEnd[mid];
+    }
+    
+    private void collect(int lo, int hi, Slot candidate, List<Slot> conflicts) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Nothing in this subtree ends after the candidate starts
+        if (maxEnd[mid] <= candidate.weekStart()) {
+            return;
+        }
+        collect(lo, mid, candidate, conflicts);
+        // The right subtree starts at or after mid, so it is only relevant while mid starts before the candidate ends
+        if (slots[mid].weekStart() < candidate.weekEnd()) {
+            if (slots[mid].overlaps(candidate)) {
+                conflicts.add(slots[mid]);
+            }
+            collect(mid + 1, hi, candidate, conflicts);
+        }
+    }
+    
+    record Slot(Long courseId, String courseCode, String courseName, DayOfWeek dayOfWeek,
+                LocalTime startTime, LocalTime endTime, LocalDate startDate, LocalDate endDate) {
+        
+        int weekStart() {
+            return (dayOfWeek.getValue() - 1) * 1440 + startTime.getHour() * 60 + startTime.getMinute();
+        }
+        
+        int weekEnd() {
+            return (dayOfWeek.getValue() - 1) * 1440 + endTime.getHour() * 60 + endTime.getMinute();
+        }
+        
+        /** Same weekday and overlapping times, on a date that lies in both terms. */
+        boolean overlaps(Slot other) {
+            if (dayOfWeek != other.dayOfWeek || !startTime.isBefore(other.endTime) || !other.startTime.isBefore(endTime)) {
+                return false;
+            }
+            LocalDate from = startDate.isAfter(other.startDate) ? startDate : other.startDate;
+            LocalDate to = endDate.isBefore(other.endDate) ? endDate : other.endDate;
+            return !from.with(TemporalAdjusters.nextOrSame(dayOfWeek)).isAfter(to);
+        }
+    }
+}
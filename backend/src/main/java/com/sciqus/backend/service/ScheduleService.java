@@ -0,0 +1,229 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.CourseSessionDto;
+import com.sciqus.backend.dto.ScheduleEntryDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.CourseSession;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DeliveredEvent;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.EnrollmentCreated;
+import com.sciqus.backend.events.EnrollmentRemoved;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.CourseSessionRepository;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.tenant.TenantScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Course meeting times and the per-student schedules built from them. Each student's schedule is
+ * kept in memory as a {@link ScheduleIndex}, so checking a new enrollment for time conflicts and
+ * serving {@code /api/student/schedule} do not read the student's enrollments again. Indexes are
+ * dropped when the student's enrollments change and when a course they take is rescheduled,
+ * including a course that had no sessions when they enrolled.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class ScheduleService implements DomainEventSubscriber {
+    
+    @Autowired
+    private CourseSessionRepository courseSessionRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Value("${app.schedule.index-cache-size:10000}")
+    private int maxIndexes;
+    
+    private final ConcurrentHashMap<Long, ScheduleIndex> indexes = new ConcurrentHashMap<>();
+    
+    public List<CourseSessionDto> getCourseSchedule(Long courseId) {
+        return courseSessionRepository.findByCourseId(courseId).stream()
+                .map(ScheduleService::toSlot)
+                .sorted(ScheduleService::compareSlots)
+                .map(slot -> new CourseSessionDto(slot.dayOfWeek(), slot.startTime(), slot.endTime(),
+                        slot.startDate(), slot.endDate()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Replaces the meeting times of a course. Sessions of one course may not overlap each other;
+     * students already enrolled keep their enrollment even if the new times clash elsewhere.
+     */
+    @Transactional
+    public List<CourseSessionDto> replaceCourseSchedule(Long courseId, List<CourseSessionDto> sessions) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        List<CourseSession> replacement = new ArrayList<>();
+        for (CourseSessionDto dto : sessions) {
+            if (dto.getDayOfWeek() == null || dto.getStartTime() == null || dto.getEndTime() == null
+                    || dto.getStartDate() == null || dto.getEndDate() == null) {
+                throw new IllegalArgumentException("Every session needs a day, start and end time, and start and end date");
+            }
+            CourseSession session = new CourseSession();
+            session.setCourse(course);
+            session.setDayOfWeek(dto.getDayOfWeek());
+            // The index works in whole minutes
+            session.setStartTime(dto.getStartTime().truncatedTo(ChronoUnit.MINUTES));
+            session.setEndTime(dto.getEndTime().truncatedTo(ChronoUnit.MINUTES));
+            session.setStartDate(dto.getStartDate());
+            session.setEndDate(dto.getEndDate());
+            if (!session.getStartTime().isBefore(session.getEndTime())) {
+                throw new IllegalArgumentException("Session must end after it starts: " + describe(toSlot(session)));
+            }
+            if (session.getEndDate().isBefore(session.getStartDate())) {
+                throw new IllegalArgumentException("Session term ends before it starts: " + describe(toSlot(session)));
+            }
+            replacement.add(session);
+        }
+        ScheduleIndex own = ScheduleIndex.of(replacement.stream().map(ScheduleService::toSlot).toList());
+        for (ScheduleIndex.Slot slot : own.slots()) {
+            if (own.conflictsWith(slot).size() > 1) {
+                throw new IllegalArgumentException("Sessions of a course may not overlap: " + describe(slot));
+            }
+        }
+        
+        courseSessionRepository.deleteByCourseId(courseId);
+        courseSessionRepository.saveAll(replacement);
+        eventPublisher.publish(CourseChanged.of(DomainEvent.ChangeType.UPDATED, course));
+        evictCourseAfterCommit(courseId);
+        return getCourseSchedule(courseId);
+    }
+    
+    /**
+     * Describes the first session of {@code course} that meets at the same time as one of the
+     * student's courses, if any.
+     */
+    public Optional<String> findConflict(Long studentId, Course course) {
+        List<CourseSession> sessions = courseSessionRepository.findByCourseId(course.getCourseId());
+        if (sessions.isEmpty()) {
+            return Optional.empty();
+        }
+        ScheduleIndex schedule = getIndex(studentId);
+        for (CourseSession session : sessions) {
+            ScheduleIndex.Slot slot = toSlot(session);
+            for (ScheduleIndex.Slot clash : schedule.conflictsWith(slot)) {
+                if (!clash.courseId().equals(course.getCourseId())) {
+                    return Optional.of(course.getCourseCode() + " " + describe(slot)
+                            + " overlaps " + clash.courseCode() + " " + describe(clash));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    public void checkNoConflict(Long studentId, Course course) {
+        findConflict(studentId, course).ifPresent(conflict -> {
+            throw new RuntimeException("Schedule conflict: " + conflict);
+        });
+    }
+    
+    public List<ScheduleEntryDto> getStudentSchedule(Long studentId) {
+        return getIndex(studentId).slots().stream()
+                .map(slot -> new ScheduleEntryDto(slot.courseId(), slot.courseCode(), slot.courseName(), slot.dayOfWeek(),
+                        slot.startTime(), slot.endTime(), slot.startDate(), slot.endDate()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Drops the student's index once the current transaction commits, so their next enrollment is
+     * checked against the schedule they just changed.
+     */
+    public void evictAfterCommit(Long studentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexes.remove(studentId);
+                }
+            });
+        } else {
+            indexes.remove(studentId);
+        }
+    }
+    
+    @Override
+    public void onEvents(List<DeliveredEvent> events) {
+        for (DeliveredEvent delivered : events) {
+            if (delivered.event() instanceof EnrollmentCreated created) {
+                indexes.remove(created.studentId());
+            } else if (delivered.event() instanceof EnrollmentRemoved removed) {
+                indexes.remove(removed.studentId());
+            } else if (delivered.event() instanceof CourseChanged course) {
+                evictCourse(course.courseId());
+            }
+        }
+    }
+    
+    private ScheduleIndex getIndex(Long studentId) {
+        ScheduleIndex cached = indexes.get(studentId);
+        if (cached != null) {
+            return cached;
+        }
+        if (indexes.size() >= maxIndexes) {
+            Iterator<Long> keys = indexes.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        // Loaded inside computeIfAbsent so an eviction racing with the load waits for it
+        return indexes.computeIfAbsent(studentId, id -> ScheduleIndex.of(
+                courseSessionRepository.findByStudentId(id).stream().map(ScheduleService::toSlot).toList()));
+    }
+    
+    private void evictCourseAfterCommit(Long courseId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictCourse(courseId);
+            }
+        });
+    }
+    
+    private void evictCourse(Long courseId) {
+        // An index only holds scheduled courses, so students of a course that had no sessions yet
+        // are found through their enrollments
+        enrollmentRepository.findStudentIdsByCourseId(courseId).forEach(indexes::remove);
+        indexes.values().removeIf(index -> index.containsCourse(courseId));
+    }
+    
+    private static ScheduleIndex.Slot toSlot(CourseSession session) {
+        Course course = session.getCourse();
+        return new ScheduleIndex.Slot(course.getCourseId(), course.getCourseCode(), course.getCourseName(),
+                session.getDayOfWeek(), session.getStartTime(), session.getEndTime(),
+                session.getStartDate(), session.getEndDate());
+    }
+    
+    private static int compareSlots(ScheduleIndex.Slot a, ScheduleIndex.Slot b) {
+        return Integer.compare(a.weekStart(), b.weekStart());
+    }
+    
+    private static String describe(ScheduleIndex.Slot slot) {
+        return slot.dayOfWeek() + " " + slot.startTime() + "-" + slot.endTime()
+                + " (" + slot.startDate() + " to " + slot.endDate() + ")";
+    }
+}
@@ -0,0 +1,177 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.entity.Enrollment;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DeliveredEvent;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.EnrollmentCreated;
+import com.sciqus.backend.events.EnrollmentRemoved;
+import com.sciqus.backend.events.UserChanged;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.repository.UserRepository;
+import com.sciqus.backend.tenant.TenantScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the student dashboard from a compact per-student summary instead of loading every
+ * enrollment and every active course. Summaries are built from two small queries, kept in memory
+ * and dropped whenever the outbox reports a change to the student, their enrollments or a course
+ * they point at. The available-course count is shared by all students and recounted only after a
+ * course changes.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class StudentDashboardService implements DomainEventSubscriber {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Value("${app.dashboard.summary-cache-size:10000}")
+    private int maxSummaries;
+    
+    private final ConcurrentHashMap<Long, Summary> summaries = new ConcurrentHashMap<>();
+    
+    // Bumped on every course change; a count computed under an older generation is not kept
+    private final AtomicLong courseGeneration = new AtomicLong();
+    private volatile AvailableCourses availableCourses;
+    
+    public Map<String, Object> getDashboard(Long studentId) {
+        Summary summary = getSummary(studentId);
+        
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("studentName", summary.studentName());
+        dashboard.put("username", summary.username());
+        dashboard.put("email", summary.email());
+        dashboard.put("totalEnrollments", summary.enrollmentCount());
+        dashboard.put("hasEnrollments", summary.enrollmentCount() > 0);
+        dashboard.put("availableCourses", getAvailableCourseCount());
+        if (summary.latestCourseId() != null) {
+            Map<String, Object> latest = new LinkedHashMap<>();
+            latest.put("courseId", summary.latestCourseId());
+            latest.put("courseCode", summary.latestCourseCode());
+            latest.put("courseName", summary.latestCourseName());
+            latest.put("enrolledAt", summary.latestEnrolledAt());
+            dashboard.put("latestEnrollment", latest);
+        } else {
+            dashboard.put("latestEnrollment", null);
+        }
+        return dashboard;
+    }
+    
+    public long getAvailableCourseCount() {
+        AvailableCourses cached = availableCourses;
+        long generation = courseGeneration.get();
+        if (cached != null && cached.generation() == generation) {
+            return cached.count();
+        }
+        long count = courseRepository.countByIsActiveTrue();
+        if (courseGeneration.get() == generation) {
+            availableCourses = new AvailableCourses(generation, count);
+        }
+        return count;
+    }
+    
+    /**
+     * Drops the student's summary once the current transaction commits, so the student sees their
+     * own enrollment change on the next request without waiting for the outbox.
+     */
+    public void evictAfterCommit(Long studentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    summaries.remove(studentId);
+                }
+            });
+        } else {
+            summaries.remove(studentId);
+        }
+    }
+    
+    @Override
+    public void onEvents(List<DeliveredEvent> events) {
+        // Only evictions, so redelivered events are harmless
+        for (DeliveredEvent delivered : events) {
+            if (delivered.event() instanceof EnrollmentCreated created) {
+                summaries.remove(created.studentId());
+            } else if (delivered.event() instanceof EnrollmentRemoved removed) {
+                summaries.remove(removed.studentId());
+            } else if (delivered.event() instanceof UserChanged user) {
+                summaries.remove(user.userId());
+            } else if (delivered.event() instanceof CourseChanged course) {
+                courseGeneration.incrementAndGet();
+                availableCourses = null;
+                summaries.values().removeIf(summary -> course.courseId().equals(summary.latestCourseId()));
+            }
+        }
+    }
+    
+    private Summary getSummary(Long studentId) {
+        Summary cached = summaries.get(studentId);
+        if (cached != null) {
+            return cached;
+        }
+        if (summaries.size() >= maxSummaries) {
+            Iterator<Long> keys = summaries.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        // Loading inside computeIfAbsent makes a concurrent eviction of this student wait for the
+        // load, so a summary read before a commit cannot outlive the eviction that follows it
+        return summaries.computeIfAbsent(studentId, this::loadSummary);
+    }
+    
+    private Summary loadSummary(Long studentId) {
+        User student = userRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+        long enrollmentCount = enrollmentRepository.countByStudentId(studentId);
+        List<Enrollment> latest = enrollmentCount == 0 ? List.of()
+                : enrollmentRepository.findLatestByStudentId(studentId, Limit.of(1));
+        if (latest.isEmpty()) {
+            return new Summary(student, enrollmentCount, null);
+        }
+        return new Summary(student, enrollmentCount, latest.get(0));
+    }
+    
+    private record AvailableCourses(long generation, long count) {
+    }
+    
+    private record Summary(String studentName, String username, String email, long enrollmentCount,
+                           Long latestCourseId, String latestCourseCode, String latestCourseName,
+                           LocalDateTime latestEnrolledAt) {
+        
+        Summary(User student, long enrollmentCount, Enrollment latest) {
+            this(student.getFirstName() + " " + student.getLastName(), student.getUsername(), student.getEmail(),
+                    enrollmentCount,
+                    latest == null ? null : latest.getCourse().getCourseId(),
+                    latest == null ? null : latest.getCourse().getCourseCode(),
+                    latest == null ? null : latest.getCourse().getCourseName(),
+                    latest == null ? null : latest.getEnrolledAt());
+        }
+    }
+}
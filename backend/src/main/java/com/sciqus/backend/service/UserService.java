@@ -1,10 +1,22 @@
 package com.sciqus.backend.service;
 
+import com.sciqus.backend.dto.FieldSelection;
+import com.sciqus.backend.dto.UserResponseDto;
+import com.sciqus.backend.entity.AuditEvent;
 import com.sciqus.backend.entity.User;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.UserChanged;
+import com.sciqus.backend.repository.FieldProjectionRepository;
 import com.sciqus.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,14 +30,43 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    public List<UserResponseDto> getAllUsers(FieldSelection fields) {
+        return fieldProjectionRepository.findAll(User.class, null, fields, UserResponseDto.class);
+    }
+    
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    /**
+     * Loads the users with the given ids, aligned with {@code ids} and null where none exists.
+     * Ids found in the second-level cache are served from it; the rest are read with a single IN query.
+     */
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(ids.size())
+                .multiLoad(ids);
+    }
+    
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -39,17 +80,28 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
     }
     
+    @Transactional
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditService.recordUser(AuditEvent.Action.USER_CREATED, saved);
+        eventPublisher.publish(UserChanged.of(DomainEvent.ChangeType.CREATED, saved));
+        return saved;
     }
     
+    @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditService.recordUser(AuditEvent.Action.USER_UPDATED, saved);
+        eventPublisher.publish(UserChanged.of(DomainEvent.ChangeType.UPDATED, saved));
+        return saved;
     }
     
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        auditService.recordUserDeleted(id);
+        eventPublisher.publish(UserChanged.deleted(id));
     }
     
     public boolean existsByUsername(String username) {
@@ -0,0 +1,53 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.repository.WaitlistRepository;
+import com.sciqus.backend.tenant.TenantDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background promoter for seats that unenrollment did not hand out itself: capacity raised by an
+ * admin, a limit removed, or a join that committed just after the seat was freed. Joins take no
+ * course lock, so that last race is closed here rather than on the request path.
+ */
+@Component
+public class WaitlistPromoter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistPromoter.class);
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
+    @Scheduled(fixedDelayString = "${app.waitlist.sweep-interval:30s}")
+    public void promoteWaitingStudents() {
+        tenantDirectory.forEachTenant(() -> {
+            try {
+                promoteTenant();
+            } catch (Exception e) {
+                logger.warn("Waitlist sweep of tenant {} failed: {}", tenantDirectory.currentTenant(), e.getMessage());
+            }
+        });
+    }
+    
+    private void promoteTenant() {
+        for (Long courseId : waitlistRepository.findCoursesWithFreeSeats()) {
+            try {
+                int promoted = enrollmentService.promoteFromWaitlist(courseId).size();
+                if (promoted > 0) {
+                    logger.info("Promoted {} waitlisted students into course {}", promoted, courseId);
+                }
+            } catch (Exception e) {
+                logger.warn("Waitlist promotion for course {} failed: {}", courseId, e.getMessage());
+            }
+        }
+    }
+}
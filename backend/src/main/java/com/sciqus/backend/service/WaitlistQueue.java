@@ -0,0 +1,156 @@
+package com.sciqus.backend.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory order of one course's waitlist, answering "how many are ahead of this ticket" in
+ * O(log n). Tickets are kept in an append-only sorted array; a Fenwick tree over it counts the
+ * entries still waiting, so joining, leaving and ranking are all logarithmic. Removed slots are
+ * reclaimed once they outnumber the live ones.
+ * <p>
+ * Tickets are handed out under the queue's monitor, so the array stays sorted without any
+ * database lock. Entries appear here before their insert commits and are removed again if it rolls back.
+ */
+final class WaitlistQueue {
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] tickets;
+    // 1-based Fenwick tree; slot i holds the live count of (i - lowbit(i), i]
+    private int[] tree;
+    private int size;
+    private int live;
+    
+    private WaitlistQueue(int capacity) {
+        tickets = new long[capacity];
+        tree = new int[capacity + 1];
+    }
+    
+    /** Builds the queue from tickets already stored, in ascending order. */
+    static WaitlistQueue of(List<Long> sortedTickets) {
+        WaitlistQueue queue = new WaitlistQueue(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, sortedTickets.size())) * 2));
+        for (Long ticket : sortedTickets) {
+            queue.tickets[queue.size++] = ticket;
+        }
+        queue.rebuildTree();
+        return queue;
+    }
+    
+    /**
+     * Appends a new ticket taken from {@code clock}, bumped past the last one if the clock is behind.
+     */
+    synchronized long enqueue(LongSupplier clock) {
+        long ticket = clock.getAsLong();
+        if (size > 0 && ticket <= tickets[size - 1]) {
+            ticket = tickets[size - 1] + 1;
+        }
+        if (size == tickets.length) {
+            grow();
+        }
+        tickets[size++] = ticket;
+        // A new last slot covers itself plus the slots its range spans, all already complete
+        int i = size;
+        tree[i] = 1 + prefix(i - 1) - prefix(i - (i & -i));
+        live++;
+        return ticket;
+    }
+    
+    /**
+     * Adds a ticket handed out elsewhere. Returns false when it would have to go before the last
+     * ticket, which the append-only array cannot do; the caller then reloads the queue. A ticket
+     * still in the array, waiting or already removed, is left alone.
+     */
+    synchronized boolean addKnown(long ticket) {
+        int index = lowerBound(ticket);
+        if (index < size && tickets[index] == ticket) {
+            return true;
+        }
+        if (index < size) {
+            return false;
+        }
+        enqueue(() -> ticket);
+        return true;
+    }
+    
+    synchronized boolean remove(long ticket) {
+        for (int index = lowerBound(ticket); index < size && tickets[index] == ticket; index++) {
+            if (prefix(index + 1) - prefix(index) == 1) {
+                add(index + 1, -1);
+                live--;
+                if (size - live > live && size > MIN_CAPACITY) {
+                    compact();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /** 1-based position of {@code ticket}: the live entries with a smaller ticket, plus one. */
+    synchronized int position(long ticket) {
+        return prefix(lowerBound(ticket)) + 1;
+    }
+    
+    synchronized int size() {
+        return live;
+    }
+    
+    private int lowerBound(long ticket) {
+        int index = Arrays.binarySearch(tickets, 0, size, ticket);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && tickets[index - 1] == ticket) {
+            index--;
+        }
+        return index;
+    }
+    
+    private int prefix(int slots) {
+        int sum = 0;
+        for (int i = slots; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+    
+    private void add(int slot, int delta) {
+        for (int i = slot; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+    
+    private void grow() {
+        tickets = Arrays.copyOf(tickets, tickets.length * 2);
+        // Existing slots keep their ranges, so the tree only needs the extra room
+        tree = Arrays.copyOf(tree, tickets.length + 1);
+    }
+    
+    private void compact() {
+        long[] remaining = new long[Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, live)) * 2)];
+        int kept = 0;
+        for (int index = 0; index < size; index++) {
+            if (prefix(index + 1) - prefix(index) == 1) {
+                remaining[kept++] = tickets[index];
+            }
+        }
+        tickets = remaining;
+        tree = new int[remaining.length + 1];
+        size = kept;
+        rebuildTree();
+    }
+    
+    private void rebuildTree() {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i <= size; i++) {
+            tree[i] += 1;
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+        live = size;
+    }
+}
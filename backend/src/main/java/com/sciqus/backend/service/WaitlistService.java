@@ -0,0 +1,206 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.WaitlistPositionDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.entity.WaitlistEntry;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.DeliveredEvent;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.WaitlistChanged;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.repository.WaitlistRepository;
+import com.sciqus.backend.tenant.TenantScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FIFO waitlists of full courses. Joining inserts one row and appends to an in-memory
+ * {@link WaitlistQueue}, so a burst of joins on a hot course never waits on a database lock; only
+ * promotion, which hands out seats, locks the course row. Positions are answered from the
+ * in-memory queue in O(log n), which is loaded from the table the first time a course is used.
+ * Joins and departures are published through the outbox, so the queues of other nodes follow along.
+ */
+@Service
+@Scope(value = TenantScope.NAME, proxyMode = ScopedProxyMode.TARGET_CLASS)
+public class WaitlistService implements DomainEventSubscriber {
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    private final ConcurrentHashMap<Long, WaitlistQueue> queues = new ConcurrentHashMap<>();
+    
+    // Join time in microseconds, strictly increasing on this node
+    private final AtomicLong clock = new AtomicLong();
+    
+    @Transactional
+    public WaitlistPositionDto join(User student, Course course) {
+        if (student == null || course == null) {
+            throw new IllegalArgumentException("Student and Course cannot be null");
+        }
+        if (!course.getIsActive() || !student.getIsActive()) {
+            throw new RuntimeException("You cannot join the waitlist of this course");
+        }
+        if (course.getCapacity() == null || enrollmentRepository.countByCourse(course) < course.getCapacity()) {
+            throw new RuntimeException("Course " + course.getCourseName() + " has free seats; enroll directly");
+        }
+        if (enrollmentRepository.existsByStudentAndCourse(student, course)) {
+            throw new RuntimeException("You are already enrolled in course " + course.getCourseName());
+        }
+        if (waitlistRepository.existsByCourseIdAndStudentId(course.getCourseId(), student.getId())) {
+            throw new RuntimeException("You are already on the waitlist of course " + course.getCourseName());
+        }
+        // A seat the student could not take anyway would only be skipped at promotion
+        scheduleService.checkNoConflict(student.getId(), course);
+        prerequisiteService.checkPrerequisites(student, course);
+        
+        WaitlistQueue queue = queue(course.getCourseId());
+        long ticket = queue.enqueue(this::nextTicket);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    queue.remove(ticket);
+                }
+            }
+        });
+        
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setCourseId(course.getCourseId());
+        entry.setStudentId(student.getId());
+        entry.setTicket(ticket);
+        entry.setJoinedAt(LocalDateTime.now());
+        waitlistRepository.save(entry);
+        eventPublisher.publish(new WaitlistChanged(DomainEvent.ChangeType.CREATED, course.getCourseId(), student.getId(), ticket));
+        return toPosition(entry, queue);
+    }
+    
+    @Transactional(readOnly = true)
+    public WaitlistPositionDto getPosition(User student, Long courseId) {
+        WaitlistEntry entry = waitlistRepository.findByCourseIdAndStudentId(courseId, student.getId())
+                .orElseThrow(() -> new RuntimeException("You are not on the waitlist of course " + courseId));
+        return toPosition(entry, queue(courseId));
+    }
+    
+    @Transactional
+    public boolean leave(User student, Long courseId) {
+        Optional<WaitlistEntry> entry = waitlistRepository.findByCourseIdAndStudentId(courseId, student.getId());
+        if (entry.isEmpty()) {
+            return false;
+        }
+        waitlistRepository.delete(entry.get());
+        publishRemoved(entry.get());
+        removeAfterCommit(courseId, entry.get().getTicket());
+        return true;
+    }
+    
+    public int getWaitingCount(Long courseId) {
+        return queue(courseId).size();
+    }
+    
+    /**
+     * Takes the first entry of the course's queue, locking and deleting its row. Called while the
+     * caller holds the course lock, so concurrent promotions cannot hand out the same seat.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<WaitlistEntry> pollHead(Long courseId) {
+        List<WaitlistEntry> head = waitlistRepository.findHeadForUpdate(courseId, Limit.of(1));
+        if (head.isEmpty()) {
+            return Optional.empty();
+        }
+        waitlistRepository.delete(head.get(0));
+        publishRemoved(head.get(0));
+        removeAfterCommit(courseId, head.get(0).getTicket());
+        return Optional.of(head.get(0));
+    }
+    
+    public boolean hasWaiting(Long courseId) {
+        return waitlistRepository.existsByCourseId(courseId);
+    }
+    
+    @Override
+    public void onEvents(List<DeliveredEvent> events) {
+        for (DeliveredEvent delivered : events) {
+            if (delivered.event() instanceof CourseChanged course
+                    && (course.change() == DomainEvent.ChangeType.DELETED || course.change() == DomainEvent.ChangeType.ARCHIVED)) {
+                // Their rows went with the course
+                queues.remove(course.courseId());
+            } else if (delivered.event() instanceof WaitlistChanged changed) {
+                apply(changed);
+            }
+        }
+    }
+    
+    /**
+     * Brings a loaded queue up to date with a join or departure committed on any node; this node's
+     * own changes are already in it. A join that cannot be placed drops the queue, which is then
+     * reloaded from the table on next use.
+     */
+    private void apply(WaitlistChanged changed) {
+        WaitlistQueue queue = queues.get(changed.courseId());
+        if (queue == null) {
+            return;
+        }
+        if (changed.change() == DomainEvent.ChangeType.DELETED) {
+            queue.remove(changed.ticket());
+        } else if (!queue.addKnown(changed.ticket())) {
+            queues.remove(changed.courseId(), queue);
+        }
+    }
+    
+    private void publishRemoved(WaitlistEntry entry) {
+        eventPublisher.publish(new WaitlistChanged(DomainEvent.ChangeType.DELETED, entry.getCourseId(),
+                entry.getStudentId(), entry.getTicket()));
+    }
+    
+    private WaitlistQueue queue(Long courseId) {
+        return queues.computeIfAbsent(courseId, id -> WaitlistQueue.of(waitlistRepository.findTicketsByCourseId(id)));
+    }
+    
+    private void removeAfterCommit(Long courseId, long ticket) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue(courseId).remove(ticket);
+            }
+        });
+    }
+    
+    private long nextTicket() {
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return clock.updateAndGet(last -> Math.max(last + 1, now));
+    }
+    
+    private WaitlistPositionDto toPosition(WaitlistEntry entry, WaitlistQueue queue) {
+        return new WaitlistPositionDto(entry.getCourseId(), entry.getStudentId(), queue.position(entry.getTicket()),
+                queue.size(), entry.getJoinedAt());
+    }
+}
@@ -0,0 +1,52 @@
+package com.sciqus.backend.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant of the work running on the current thread. Set by {@code TenantFilter} for the length
+ * of a request and by background jobs around each tenant's share of the work. Unset means the
+ * default tenant; use {@link TenantDirectory#currentTenant()} to resolve it.
+ */
+public final class TenantContext {
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private TenantContext() {
+    }
+    
+    /** The tenant set on this thread, or null. */
+    public static String get() {
+        return CURRENT.get();
+    }
+    
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+    
+    public static void clear() {
+        CURRENT.remove();
+    }
+    
+    /** Runs the task as the tenant and restores whatever was set before. */
+    public static void run(String tenant, Runnable task) {
+        call(tenant, () -> {
+            task.run();
+            return null;
+        });
+    }
+    
+    /** Runs the task as the tenant and restores whatever was set before. */
+    public static <T> T call(String tenant, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sciqus.backend.tenant;
+
+import com.sciqus.backend.config.TenancyProperties;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The tenants this deployment serves. With tenancy disabled there is a single tenant,
+ * {@value #SINGLE_TENANT}, backed by {@code spring.datasource}.
+ */
+public class TenantDirectory {
+    
+    public static final String SINGLE_TENANT = "default";
+    
+    private static final Pattern VALID_TENANT = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    
+    private final boolean enabled;
+    private final String defaultTenant;
+    private final List<String> tenants;
+    
+    public TenantDirectory(TenancyProperties properties) {
+        this.enabled = properties.isEnabled();
+        if (!enabled) {
+            this.defaultTenant = SINGLE_TENANT;
+            this.tenants = List.of(SINGLE_TENANT);
+            return;
+        }
+        this.tenants = List.copyOf(properties.getTenants().keySet());
+        if (tenants.isEmpty()) {
+            throw new IllegalStateException("app.tenancy.enabled is set but no app.tenancy.tenants are configured");
+        }
+        for (String tenant : tenants) {
+            if (!VALID_TENANT.matcher(tenant).matches()) {
+                throw new IllegalStateException("Invalid tenant id '" + tenant + "': use letters, digits, '_' and '-'");
+            }
+        }
+        if (!tenants.contains(properties.getDefaultTenant())) {
+            throw new IllegalStateException("Default tenant '" + properties.getDefaultTenant() + "' is not in app.tenancy.tenants");
+        }
+        this.defaultTenant = properties.getDefaultTenant();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public String getDefaultTenant() {
+        return defaultTenant;
+    }
+    
+    public List<String> getTenants() {
+        return tenants;
+    }
+    
+    public boolean exists(String tenant) {
+        return tenants.contains(tenant);
+    }
+    
+    /** The tenant set on this thread, or the default tenant. */
+    public String currentTenant() {
+        String tenant = TenantContext.get();
+        return tenant != null ? tenant : defaultTenant;
+    }
+    
+    /** Runs the task once as each tenant, in configuration order. */
+    public void forEachTenant(Runnable task) {
+        for (String tenant : tenants) {
+            TenantContext.run(tenant, task);
+        }
+    }
+}
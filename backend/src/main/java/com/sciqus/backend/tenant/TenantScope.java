@@ -0,0 +1,94 @@
+package com.sciqus.backend.tenant;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bean scope {@value #NAME}: one instance per tenant, picked by {@link TenantDirectory#currentTenant()}.
+ * Services that keep indexes or caches built from the database use it through a scoped proxy,
+ * so each tenant's copy is built from its own database and never answers for another tenant.
+ * With tenancy disabled every such bean has exactly one instance.
+ */
+@Component
+public class TenantScope implements Scope, BeanFactoryPostProcessor, DisposableBean {
+    
+    public static final String NAME = "tenant";
+    
+    private final Map<String, Map<String, Object>> instances = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> destructionCallbacks = new ConcurrentHashMap<>();
+    
+    private ConfigurableListableBeanFactory beanFactory;
+    private volatile TenantDirectory directory;
+    
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        beanFactory.registerScope(NAME, this);
+    }
+    
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        Map<String, Object> beans = instances.computeIfAbsent(currentTenant(), tenant -> new ConcurrentHashMap<>());
+        Object bean = beans.get(name);
+        if (bean == null) {
+            // Not computeIfAbsent: creating one scoped bean may create others of the same tenant
+            synchronized (beans) {
+                bean = beans.get(name);
+                if (bean == null) {
+                    bean = objectFactory.getObject();
+                    beans.put(name, bean);
+                }
+            }
+        }
+        return bean;
+    }
+    
+    @Override
+    public Object remove(String name) {
+        String tenant = currentTenant();
+        Map<String, Object> beans = instances.get(tenant);
+        destructionCallbacks.remove(tenant + "/" + name);
+        return beans == null ? null : beans.remove(name);
+    }
+    
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        destructionCallbacks.put(currentTenant() + "/" + name, callback);
+    }
+    
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+    
+    @Override
+    public String getConversationId() {
+        return currentTenant();
+    }
+    
+    @Override
+    public void destroy() {
+        List<Runnable> callbacks = new ArrayList<>(destructionCallbacks.values());
+        destructionCallbacks.clear();
+        instances.clear();
+        callbacks.forEach(Runnable::run);
+    }
+    
+    private String currentTenant() {
+        TenantDirectory current = directory;
+        if (current == null) {
+            current = beanFactory.getBean(TenantDirectory.class);
+            directory = current;
+        }
+        return current.currentTenant();
+    }
+}
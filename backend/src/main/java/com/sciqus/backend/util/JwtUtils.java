@@ -1,9 +1,11 @@
 package com.sciqus.backend.util;
 
+import com.sciqus.backend.tenant.TenantDirectory;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +19,12 @@ public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
+    /** Claim holding the tenant the token was issued for. */
+    public static final String TENANT_CLAIM = "tenant";
+    
+    @Autowired
+    private TenantDirectory tenantDirectory;
+    
     @Value("${app.jwtSecret}")
     private String jwtSecret;
     
@@ -28,6 +36,7 @@ public class JwtUtils {
         
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(TENANT_CLAIM, tenantDirectory.currentTenant())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -43,21 +52,37 @@ public class JwtUtils {
                 .getSubject();
     }
     
+    /** Tenant claim of a valid token; null for tokens issued before tenancy was enabled. */
+    public String getTenantFromJwtToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .get(TENANT_CLAIM, String.class);
+    }
+    
     public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+    
+    /** Claims of a valid token; null, with the reason logged, when it does not verify. */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT signature is invalid: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
         
-        return false;
+        return null;
     }
     
     private SecretKey getSigningKey() {
@@ -0,0 +1,13 @@
+-- Enrollments created and removed per course and period (DAY, WEEK from Monday, MONTH), kept
+-- current by EnrollmentService and backfilled from enrollments / enrollments_archive.
+-- No foreign key: the history of archived and deleted courses stays queryable.
+CREATE TABLE enrollment_rollups (
+    course_id    BIGINT     NOT NULL,
+    granularity  VARCHAR(5) NOT NULL,
+    period_start DATE       NOT NULL,
+    enrolled     INT        NOT NULL DEFAULT 0,
+    dropped      INT        NOT NULL DEFAULT 0,
+    PRIMARY KEY (course_id, granularity, period_start)
+);
+
+CREATE INDEX idx_enrollment_rollups_period ON enrollment_rollups (granularity, period_start);
@@ -0,0 +1,3 @@
+-- Outbox rows are no longer deleted once delivered: every node delivers every event to its own
+-- subscribers, keeping its position in memory, and rows are purged by age (app.outbox.retention).
+CREATE INDEX idx_outbox_events_created_at ON outbox_events (created_at);
@@ -0,0 +1,9 @@
+-- Covering index for the course lists by status (/api/courses/filter/active and /inactive,
+-- findByIsActiveTrue/False, countByIsActiveTrue/False): selections of course_id and course_code,
+-- such as ?fields=courseId,courseCode, are answered from the index without reading the rows.
+-- Its leading column serves every query idx_courses_is_active did, so that index goes.
+--
+-- users needs nothing beyond idx_users_role: no list filters users by role, and countByRole,
+-- the only role query, already reads just that index.
+CREATE INDEX idx_courses_active_code ON courses (is_active, course_code);
+DROP INDEX idx_courses_is_active ON courses;
@@ -0,0 +1,43 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Databases created that way are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id           BIGINT       NOT NULL,
+    username     VARCHAR(50)  NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    first_name   VARCHAR(100),
+    last_name    VARCHAR(100),
+    phone_number VARCHAR(20),
+    role         ENUM('ADMIN', 'STUDENT') NOT NULL,
+    is_active    BIT,
+    course_id    BIGINT,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE courses (
+    course_id       BIGINT       NOT NULL,
+    course_name     VARCHAR(100) NOT NULL,
+    course_code     VARCHAR(20)  NOT NULL,
+    course_duration INTEGER      NOT NULL,
+    description     VARCHAR(500),
+    is_active       BIT          NOT NULL,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    PRIMARY KEY (course_id),
+    CONSTRAINT uk_courses_course_code UNIQUE (course_code)
+);
+
+CREATE TABLE enrollments (
+    id          BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    course_id   BIGINT NOT NULL,
+    enrolled_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_enrollments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_enrollments_course FOREIGN KEY (course_id) REFERENCES courses (course_id)
+);
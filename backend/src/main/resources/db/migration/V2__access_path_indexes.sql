@@ -0,0 +1,16 @@
+-- Secondary indexes for the repository access paths.
+-- InnoDB secondary indexes carry the primary key, so an index on (a, b) also covers
+-- queries that only need a, b and the row id.
+
+-- findStudentsByCourseId, findByCourse, countByCourse: course_id lookups that only need user_id
+-- to reach users. Serves plain course_id lookups through its leftmost column.
+CREATE INDEX idx_enrollments_course_user ON enrollments (course_id, user_id);
+
+-- existsByStudentAndCourse, findByStudentAndCourse, findByStudent; also stops double enrollment
+CREATE UNIQUE INDEX uk_enrollments_user_course ON enrollments (user_id, course_id);
+
+-- findByIsActiveTrue/False, countByIsActiveTrue/False
+CREATE INDEX idx_courses_is_active ON courses (is_active);
+
+-- countByRole
+CREATE INDEX idx_users_role ON users (role);
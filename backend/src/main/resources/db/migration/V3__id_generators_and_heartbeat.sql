@@ -0,0 +1,31 @@
+-- Id blocks for PooledTableIdGenerator, one row per entity. With the pooled-lo optimizer
+-- next_val is the next unused id, so existing rows only need to be skipped once.
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM users))
+    WHERE sequence_name = 'users';
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(course_id), 0) + 1 FROM courses))
+    WHERE sequence_name = 'courses';
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM enrollments))
+    WHERE sequence_name = 'enrollments';
+
+INSERT INTO id_generators (sequence_name, next_val)
+    SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users
+    WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE sequence_name = 'users');
+INSERT INTO id_generators (sequence_name, next_val)
+    SELECT 'courses', COALESCE(MAX(course_id), 0) + 1 FROM courses
+    WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE sequence_name = 'courses');
+INSERT INTO id_generators (sequence_name, next_val)
+    SELECT 'enrollments', COALESCE(MAX(id), 0) + 1 FROM enrollments
+    WHERE NOT EXISTS (SELECT 1 FROM id_generators WHERE sequence_name = 'enrollments');
+
+-- Written by ReplicaLagMonitor on the primary and read back from each replica
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id      INT    NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
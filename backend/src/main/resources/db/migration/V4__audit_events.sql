@@ -0,0 +1,23 @@
+-- Append-only audit trail of enrollment, user and course mutations, written in batches by AuditWriter.
+-- Rows are never updated or deleted by the application.
+
+CREATE TABLE audit_events (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    occurred_at    DATETIME(6)  NOT NULL,
+    action         VARCHAR(32)  NOT NULL,
+    entity_type    VARCHAR(16)  NOT NULL,
+    entity_id      BIGINT,
+    student_id     BIGINT,
+    course_id      BIGINT,
+    actor_id       BIGINT,
+    actor_username VARCHAR(50),
+    request_id     VARCHAR(64),
+    details        VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- Query paths: by student, by course, by time range, newest first.
+-- The secondary indexes carry the primary key, so the (occurred_at, id) ordering is served from the index.
+CREATE INDEX idx_audit_events_student_time ON audit_events (student_id, occurred_at);
+CREATE INDEX idx_audit_events_course_time ON audit_events (course_id, occurred_at);
+CREATE INDEX idx_audit_events_time ON audit_events (occurred_at);
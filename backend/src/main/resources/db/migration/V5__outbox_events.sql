@@ -0,0 +1,13 @@
+-- Transactional outbox: domain events are inserted in the same transaction as the change they describe
+-- and deleted by OutboxDispatcher once every in-process subscriber has handled them.
+-- AUTO_INCREMENT ids give the delivery order; the dispatcher always reads from the lowest id left.
+
+CREATE TABLE outbox_events (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(16)   NOT NULL,
+    aggregate_id   BIGINT        NOT NULL,
+    event_type     VARCHAR(32)   NOT NULL,
+    payload        VARCHAR(2000) NOT NULL,
+    created_at     DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,31 @@
+-- Cold tier: enrollments older than the archive horizon and courses inactive beyond the retention
+-- period are moved here in batches by ArchivalJob, so the hot tables and their indexes only carry
+-- current data. Rows keep their ids; there are no foreign keys because either side may be archived.
+
+CREATE TABLE enrollments_archive (
+    id          BIGINT      NOT NULL,
+    user_id     BIGINT      NOT NULL,
+    course_id   BIGINT      NOT NULL,
+    enrolled_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Enrollment history of a student, newest first
+CREATE INDEX idx_enrollments_archive_user_time ON enrollments_archive (user_id, enrolled_at);
+
+CREATE TABLE courses_archive (
+    course_id       BIGINT       NOT NULL,
+    course_name     VARCHAR(100) NOT NULL,
+    course_code     VARCHAR(20)  NOT NULL,
+    course_duration INTEGER      NOT NULL,
+    description     VARCHAR(500),
+    is_active       BIT          NOT NULL,
+    created_at      DATETIME(6),
+    updated_at      DATETIME(6),
+    archived_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (course_id)
+);
+
+-- Lets ArchivalJob find enrollments past the horizon without scanning the hot table
+CREATE INDEX idx_enrollments_enrolled_at ON enrollments (enrolled_at);
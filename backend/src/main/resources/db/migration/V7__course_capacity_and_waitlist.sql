@@ -0,0 +1,20 @@
+-- Optional seat limit per course; NULL means unlimited
+ALTER TABLE courses ADD COLUMN capacity INTEGER;
+ALTER TABLE courses_archive ADD COLUMN capacity INTEGER;
+
+-- FIFO waitlist of full courses. Joining is a plain insert with no shared counter row, so joins on one
+-- course do not contend on a lock; the order is the ticket (join time in microseconds) and then the id.
+CREATE TABLE course_waitlist (
+    id        BIGINT      NOT NULL,
+    course_id BIGINT      NOT NULL,
+    user_id   BIGINT      NOT NULL,
+    ticket    BIGINT      NOT NULL,
+    joined_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_waitlist_course_user UNIQUE (course_id, user_id),
+    CONSTRAINT fk_course_waitlist_course FOREIGN KEY (course_id) REFERENCES courses (course_id) ON DELETE CASCADE,
+    CONSTRAINT fk_course_waitlist_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Head of a course's queue for promotion
+CREATE INDEX idx_course_waitlist_course_ticket ON course_waitlist (course_id, ticket, id);
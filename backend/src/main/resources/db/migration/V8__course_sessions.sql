@@ -0,0 +1,14 @@
+-- Weekly meeting slots of a course, each valid between two term dates
+CREATE TABLE course_sessions (
+    id          BIGINT     NOT NULL,
+    course_id   BIGINT     NOT NULL,
+    day_of_week VARCHAR(9) NOT NULL,
+    start_time  TIME       NOT NULL,
+    end_time    TIME       NOT NULL,
+    start_date  DATE       NOT NULL,
+    end_date    DATE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_course_sessions_course FOREIGN KEY (course_id) REFERENCES courses (course_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_course_sessions_course ON course_sessions (course_id);
@@ -0,0 +1,23 @@
+-- Prerequisite graph: a student needs every course reachable from course_id before enrolling in it.
+-- Kept acyclic by PrerequisiteService; the whole table is small enough to hold in memory.
+CREATE TABLE course_prerequisites (
+    course_id       BIGINT NOT NULL,
+    prerequisite_id BIGINT NOT NULL,
+    PRIMARY KEY (course_id, prerequisite_id),
+    CONSTRAINT fk_course_prerequisites_course FOREIGN KEY (course_id) REFERENCES courses (course_id) ON DELETE CASCADE,
+    CONSTRAINT fk_course_prerequisites_prerequisite FOREIGN KEY (prerequisite_id) REFERENCES courses (course_id) ON DELETE CASCADE
+);
+
+-- Courses that require a given course
+CREATE INDEX idx_course_prerequisites_prerequisite ON course_prerequisites (prerequisite_id);
+
+-- Courses a student has completed. No foreign key to courses: completions outlive archived courses.
+CREATE TABLE course_completions (
+    id           BIGINT      NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    course_id    BIGINT      NOT NULL,
+    completed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_completions_user_course UNIQUE (user_id, course_id),
+    CONSTRAINT fk_course_completions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
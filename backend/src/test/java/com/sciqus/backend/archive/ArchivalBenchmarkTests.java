@@ -0,0 +1,127 @@
+package com.sciqus.backend.archive;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times hot-table queries on a dataset that is mostly cold, before and after an archival pass.
+ *
+ * Run with: mvn test -Dtest=ArchivalBenchmarkTests -Dbenchmarks=true
+ */
+// Own database, and no second-level cache, so the queries actually hit the tables being measured
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "app.archive.batch-pause=0ms"
+})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ArchivalBenchmarkTests {
+    
+    private static final long FIRST_ID = 10_000_000L;
+    private static final int ACTIVE_COURSES = 200;
+    private static final int COLD_COURSES = 5_000;
+    private static final int STUDENTS = 500;
+    private static final int ENROLLMENTS_PER_STUDENT = 40;
+    private static final int ITERATIONS = 50;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private ArchivalJob archivalJob;
+    
+    @Test
+    void hotQueriesBeforeAndAfterArchival() {
+        seed();
+        Course popular = courseRepository.findById(FIRST_ID).orElseThrow();
+        
+        List<Long> before = measure(popular);
+        long start = System.nanoTime();
+        ArchivalJob.Result result = archivalJob.runOnce();
+        System.out.printf("[archive] moved %,d enrollments and %,d courses in %.0f ms%n",
+                result.enrollments(), result.courses(), (System.nanoTime() - start) / 1e6);
+        assertThat(result.courses()).isEqualTo(COLD_COURSES);
+        List<Long> after = measure(popular);
+        
+        String[] names = {"courses findAll", "courses search", "enrollments by course", "enrollments count by course"};
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("[archive %-28s] before %7.3f ms, after %7.3f ms%n", names[i],
+                    before.get(i) / 1e6 / ITERATIONS, after.get(i) / 1e6 / ITERATIONS);
+        }
+    }
+    
+    private List<Long> measure(Course popular) {
+        List<Supplier<Object>> queries = List.of(
+                () -> courseRepository.findAll(),
+                () -> courseRepository.searchCourses("Hot"),
+                () -> enrollmentRepository.findByCourse(popular),
+                () -> enrollmentRepository.countByCourse(popular));
+        List<Long> timings = new ArrayList<>();
+        for (Supplier<Object> query : queries) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                query.get();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                query.get();
+            }
+            timings.add(System.nanoTime() - start);
+        }
+        return timings;
+    }
+    
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp recent = Timestamp.valueOf(now.minusDays(30));
+        Timestamp old = Timestamp.valueOf(now.minusYears(3));
+        
+        List<Object[]> courses = new ArrayList<>();
+        for (int i = 0; i < ACTIVE_COURSES + COLD_COURSES; i++) {
+            boolean active = i < ACTIVE_COURSES;
+            courses.add(new Object[] {FIRST_ID + i, (active ? "Hot " : "Cold ") + i, "BNC" + i, 12,
+                    "Benchmark course " + i, active, old, active ? recent : old});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (course_id, course_name, course_code, course_duration, "
+                + "description, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", courses);
+        
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(new Object[] {FIRST_ID + i, "bench" + i, "bench" + i + "@example.com", "unused", "STUDENT", true});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role, is_active) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", users);
+        
+        // Nine in ten enrollments are past the horizon; all point at active courses, which therefore stay hot
+        List<Object[]> enrollments = new ArrayList<>();
+        long id = FIRST_ID;
+        for (int s = 0; s < STUDENTS; s++) {
+            for (int e = 0; e < ENROLLMENTS_PER_STUDENT; e++) {
+                long courseId = FIRST_ID + (s + e) % ACTIVE_COURSES;
+                enrollments.add(new Object[] {id++, FIRST_ID + s, courseId, e % 10 == 0 ? recent : old});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO enrollments (id, user_id, course_id, enrolled_at) VALUES (?, ?, ?, ?)",
+                enrollments);
+    }
+}
@@ -0,0 +1,113 @@
+package com.sciqus.backend.archive;
+
+import com.sciqus.backend.dto.EnrollmentResponseDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.EnrollmentService;
+import com.sciqus.backend.service.StudentDashboardService;
+import com.sciqus.backend.service.UserService;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArchivalTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    
+    @Autowired
+    private ArchivalJob archivalJob;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void coldRowsMoveToTheArchiveAndStayReadable() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = new User();
+        student.setUsername("arch" + suffix);
+        student.setFirstName("Archie");
+        student.setLastName("Cold");
+        student.setEmail("arch" + suffix + "@example.com");
+        student.setPassword("secret123");
+        student = userService.createUser(student);
+        Course old = fixtures.newCourse("ARA" + suffix);
+        Course current = fixtures.newCourse("ARB" + suffix);
+        enrollmentService.enrollStudentInCourse(student, old);
+        enrollmentService.enrollStudentInCourse(student, current);
+        
+        // Written behind Hibernate's back, like rows that simply aged
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(3);
+        jdbcTemplate.update("UPDATE enrollments SET enrolled_at = ? WHERE course_id = ?", longAgo, old.getCourseId());
+        courseService.toggleCourseStatus(old.getCourseId());
+        jdbcTemplate.update("UPDATE courses SET updated_at = ? WHERE course_id = ?", longAgo.plusYears(1), old.getCourseId());
+        assertThat(courseService.getCourseById(old.getCourseId())).isPresent();
+        assertThat(studentDashboardService.getDashboard(student.getId())).containsEntry("totalEnrollments", 2L);
+        
+        ArchivalJob.Result result = archivalJob.runOnce();
+        assertThat(result.enrollments()).isGreaterThanOrEqualTo(1);
+        assertThat(result.courses()).isGreaterThanOrEqualTo(1);
+        
+        // Gone from the hot table and from the second-level cache, still served through the archive
+        assertThat(courseRepository.findById(old.getCourseId())).isEmpty();
+        assertThat(courseRepository.findById(current.getCourseId())).isPresent();
+        assertThat(courseService.getCourseIncludingArchived(old.getCourseId()))
+                .hasValueSatisfying(course -> assertThat(course.getCourseCode()).isEqualTo(old.getCourseCode()));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments_archive WHERE user_id = ?",
+                Integer.class, student.getId())).isEqualTo(1);
+        assertThat(studentDashboardService.getDashboard(student.getId())).containsEntry("totalEnrollments", 1L);
+        
+        List<EnrollmentResponseDto> history = enrollmentService.getEnrollmentHistory(student);
+        assertThat(history).extracting(EnrollmentResponseDto::getCourseId)
+                .containsExactly(current.getCourseId(), old.getCourseId());
+        assertThat(history.get(1).getCourseName()).isEqualTo(old.getCourseName());
+        assertThat(history.get(1).getStudentName()).isEqualTo("Archie Cold");
+        
+        String token = "Bearer " + fixtures.studentToken(student);
+        mockMvc.perform(get("/api/courses/" + old.getCourseId()).header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseCode").value(old.getCourseCode()));
+        mockMvc.perform(get("/api/student/enrollments/history").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].courseId").value(old.getCourseId()));
+        
+        // A second pass finds nothing left to move for this student
+        archivalJob.runOnce();
+        assertThat(enrollmentService.getEnrollmentHistory(student)).hasSize(2);
+    }
+}
@@ -0,0 +1,161 @@
+package com.sciqus.backend.audit;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.EnrollmentService;
+import com.sciqus.backend.service.UserService;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditLogTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private AuditWriter auditWriter;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void bufferRejectsWhenFullAndDrainsInOrder() {
+        BoundedMpscBuffer<Integer> buffer = new BoundedMpscBuffer<>(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.offer(round * 10 + i)).isTrue();
+            }
+            assertThat(buffer.offer(99)).isFalse();
+            
+            List<Integer> drained = new ArrayList<>();
+            assertThat(buffer.drainTo(drained::add, 10)).isEqualTo(4);
+            assertThat(drained).containsExactly(round * 10, round * 10 + 1, round * 10 + 2, round * 10 + 3);
+            assertThat(buffer.size()).isZero();
+        }
+    }
+    
+    @Test
+    void concurrentProducersLoseNothingTheyWereToldWasAccepted() throws Exception {
+        BoundedMpscBuffer<long[]> buffer = new BoundedMpscBuffer<>(256);
+        int producers = 4;
+        int perProducer = 20_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    if (buffer.offer(new long[] {producer, i})) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        
+        // Per producer, elements must come out in the order they went in
+        long[] lastSeen = {-1, -1, -1, -1};
+        int[] received = {0};
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drainTo(element -> {
+                assertThat(element[1]).isGreaterThan(lastSeen[(int) element[0]]);
+                lastSeen[(int) element[0]] = element[1];
+                received[0]++;
+            }, 64);
+        }
+        assertThat(received[0]).isEqualTo(accepted.get());
+    }
+    
+    @Test
+    void mutationsAreQueryableByStudentAndCourse() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = new User();
+        student.setUsername("audit" + suffix);
+        student.setEmail("audit" + suffix + "@example.com");
+        student.setPassword("secret123");
+        student = userService.createUser(student);
+        
+        Course course = new Course();
+        course.setCourseName("Audit " + suffix);
+        course.setCourseCode("AUD" + suffix);
+        course.setCourseDuration(4);
+        course = courseService.createCourse(course);
+        
+        enrollmentService.enrollStudentInCourse(student, course);
+        enrollmentService.unenrollStudentFromCourse(student, course);
+        
+        // A rolled back enrollment leaves no trace
+        User rolledBackStudent = student;
+        Course rolledBackCourse = course;
+        transactionTemplate.executeWithoutResult(status -> {
+            enrollmentService.enrollStudentInCourse(rolledBackStudent, rolledBackCourse);
+            status.setRollbackOnly();
+        });
+        
+        assertThat(auditWriter.flush()).isTrue();
+        String token = "Bearer " + fixtures.adminToken();
+        
+        mockMvc.perform(get("/api/admin/audit-events")
+                        .param("studentId", String.valueOf(student.getId()))
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(3))
+                .andExpect(jsonPath("$.data.content[*].action")
+                        .value(contains("ENROLLMENT_REMOVED", "ENROLLMENT_CREATED", "USER_CREATED")));
+        
+        mockMvc.perform(get("/api/admin/audit-events")
+                        .param("courseId", String.valueOf(course.getCourseId()))
+                        .param("size", "1")
+                        .param("page", "1")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(3))
+                .andExpect(jsonPath("$.data.totalPages").value(3))
+                .andExpect(jsonPath("$.data.content[0].action").value("ENROLLMENT_CREATED"));
+        
+        mockMvc.perform(get("/api/admin/audit-events")
+                        .param("from", "2999-01-01T00:00:00")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(0));
+    }
+    
+    @Test
+    void auditEventsRequireAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/audit-events"))
+                .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,73 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every main-pool connection is held by a transaction that then needs a fresh id block.
+ * Without the dedicated allocation pool this waits out the connection timeout.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id_allocation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "spring.jpa.properties.sciqus.id.allocation_size=1"
+})
+class IdAllocationPoolTests {
+    
+    private static final int TRANSACTIONS = 4;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void insertsSucceedWhenMainPoolIsExhausted() throws Exception {
+        CyclicBarrier allHoldingConnections = new CyclicBarrier(TRANSACTIONS);
+        ExecutorService executor = Executors.newFixedThreadPool(TRANSACTIONS);
+        try {
+            List<Future<Long>> ids = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                String code = "POOL" + i;
+                ids.add(executor.submit(() -> transactionTemplate.execute(status -> {
+                    courseRepository.existsByCourseCode(code);
+                    await(allHoldingConnections);
+                    Course course = new Course();
+                    course.setCourseName("Pool " + code);
+                    course.setCourseCode(code);
+                    course.setCourseDuration(4);
+                    return courseRepository.saveAndFlush(course).getCourseId();
+                })));
+            }
+            for (Future<Long> id : ids) {
+                assertThat(id.get(10, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
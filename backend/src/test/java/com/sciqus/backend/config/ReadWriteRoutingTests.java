@@ -0,0 +1,103 @@
+package com.sciqus.backend.config;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.service.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent in-memory databases stand in for primary and replica. The replica is a
+ * snapshot of the primary taken before each test, so anything written afterwards is only
+ * visible when a read is routed to the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.max-replica-lag=0",
+        "app.datasource.routing.lag-check-interval=1h",
+        "app.datasource.routing.sticky-window=1m"
+})
+class ReadWriteRoutingTests {
+    
+    @Autowired
+    private ReplicationRoutingDataSource routingDataSource;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private long snapshotCount;
+    
+    @BeforeEach
+    void snapshotPrimaryIntoReplica() {
+        JdbcTemplate primary = new JdbcTemplate(routingDataSource.getPrimary());
+        JdbcTemplate replica = new JdbcTemplate(routingDataSource.getReplicas().get("replica-0"));
+        
+        List<String> script = primary.queryForList("SCRIPT", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+        
+        snapshotCount = primary.queryForObject("SELECT COUNT(*) FROM courses", Long.class);
+    }
+    
+    @AfterEach
+    void reset() {
+        SecurityContextHolder.clearContext();
+        routingDataSource.updateReplicaHealth(Map.of(), 0);
+    }
+    
+    @Test
+    void readOnlyTransactionsAreServedByReplica() {
+        courseService.createCourse(newCourse());
+        
+        assertThat(courseRepository.count()).isEqualTo(snapshotCount);
+        assertThat(new JdbcTemplate(routingDataSource.getPrimary())
+                .queryForObject("SELECT COUNT(*) FROM courses", Long.class)).isEqualTo(snapshotCount + 1);
+    }
+    
+    @Test
+    void readsStayOnPrimaryForWritingUser() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer-" + UUID.randomUUID(), null, List.of()));
+        courseService.createCourse(newCourse());
+        
+        assertThat(courseRepository.count()).isEqualTo(snapshotCount + 1);
+        
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("someone-else", null, List.of()));
+        assertThat(courseRepository.count()).isEqualTo(snapshotCount);
+    }
+    
+    @Test
+    void laggingReplicaIsSkipped() {
+        courseService.createCourse(newCourse());
+        
+        routingDataSource.updateReplicaHealth(Map.of("replica-0", 60_000L), 5_000);
+        
+        assertThat(courseRepository.count()).isEqualTo(snapshotCount + 1);
+    }
+    
+    private Course newCourse() {
+        Course course = new Course();
+        course.setCourseName("Routing Course");
+        course.setCourseCode(UUID.randomUUID().toString().substring(0, 12));
+        course.setCourseDuration(8);
+        return course;
+    }
+}
@@ -0,0 +1,187 @@
+package com.sciqus.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.events.OutboxDispatcher;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.security.TenantFilter;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.StudentDashboardService;
+import com.sciqus.backend.tenant.TenantContext;
+import com.sciqus.backend.util.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two tenants on two independent in-memory databases. Both are migrated and get their own admin
+ * at startup; the same ids and course codes exist in each, so anything that leaks between
+ * tenants (connections, second-level cache entries, tokens) shows up as the other tenant's data.
+ */
+@SpringBootTest(properties = {
+        "app.tenancy.enabled=true",
+        "app.tenancy.default-tenant=alpha",
+        "app.tenancy.tenants.alpha.url=jdbc:h2:mem:tenant_alpha;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.tenancy.tenants.beta.url=jdbc:h2:mem:tenant_beta;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.tenancy.tenants.beta.maximum-pool-size=4",
+        "app.rate-limit.search.capacity=3",
+        "app.rate-limit.search.refill-period=1h"
+})
+@AutoConfigureMockMvc
+class TenantShardingTests {
+    
+    @Autowired
+    private TenantRoutingDataSource tenantRoutingDataSource;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void sameCodeAndIdLiveIndependentlyInEachTenant() {
+        String code = "T-" + UUID.randomUUID().toString().substring(0, 8);
+        TenantContext.run("alpha", () -> courseService.createCourse(newCourse(code, "Alpha Course")));
+        TenantContext.run("beta", () -> courseService.createCourse(newCourse(code, "Beta Course")));
+        assertThat(count("alpha", "course_code = '" + code + "'")).isEqualTo(1);
+        assertThat(count("beta", "course_code = '" + code + "'")).isEqualTo(1);
+        
+        // Same primary key in both databases: a second-level cache shared across tenants would
+        // answer the second lookup with the first tenant's row
+        long id = 900_000_000L + ThreadLocalRandom.current().nextInt(1_000_000);
+        insertCourse("alpha", id, "Alpha Cached");
+        insertCourse("beta", id, "Beta Cached");
+        assertThat(TenantContext.call("alpha", () -> courseRepository.findById(id)).get().getCourseName()).isEqualTo("Alpha Cached");
+        assertThat(TenantContext.call("beta", () -> courseRepository.findById(id)).get().getCourseName()).isEqualTo("Beta Cached");
+        assertThat(TenantContext.call("alpha", () -> courseRepository.findById(id)).get().getCourseName()).isEqualTo("Alpha Cached");
+        
+        assertThat(tenantRoutingDataSource.getPools().get("beta").getMaximumPoolSize()).isEqualTo(4);
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+    }
+    
+    @Test
+    void tenantScopedServicesHaveOneInstancePerTenant() {
+        if (count("alpha", "is_active = TRUE") == count("beta", "is_active = TRUE")) {
+            insertCourse("beta", 910_000_000L + ThreadLocalRandom.current().nextInt(1_000_000), "Beta Extra");
+        }
+        
+        // The dashboard caches the count per instance; one shared instance would hand alpha's to beta
+        assertThat(TenantContext.call("alpha", studentDashboardService::getAvailableCourseCount))
+                .isEqualTo(count("alpha", "is_active = TRUE"));
+        assertThat(TenantContext.call("beta", studentDashboardService::getAvailableCourseCount))
+                .isEqualTo(count("beta", "is_active = TRUE"));
+    }
+    
+    @Test
+    void tokenCarriesTenantAndRequestsStayInIt() throws Exception {
+        String code = "H-" + UUID.randomUUID().toString().substring(0, 8);
+        Course beta = TenantContext.call("beta", () -> courseService.createCourse(newCourse(code, "Beta Http")));
+        
+        String betaToken = login("beta");
+        assertThat(jwtUtils.getTenantFromJwtToken(betaToken)).isEqualTo("beta");
+        String alphaToken = login(null);
+        assertThat(jwtUtils.getTenantFromJwtToken(alphaToken)).isEqualTo("alpha");
+        
+        mockMvc.perform(get("/api/courses/" + beta.getCourseId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + betaToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseCode").value(code));
+        mockMvc.perform(get("/api/courses/" + beta.getCourseId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + betaToken)
+                        .header(TenantFilter.TENANT_HEADER, "alpha"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("TENANT_MISMATCH"));
+        mockMvc.perform(post("/api/auth/login")
+                        .header(TenantFilter.TENANT_HEADER, "gamma")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernameOrEmail\":\"admin\",\"password\":\"admin123\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("UNKNOWN_TENANT"));
+        
+        String alphaCode = TenantContext.call("alpha", () -> courseRepository.findById(beta.getCourseId())
+                .map(Course::getCourseCode).orElse(null));
+        assertThat(alphaCode).isNotEqualTo(code);
+    }
+    
+    @Test
+    void rateLimitBucketsAreKeptPerTenant() throws Exception {
+        // Same address in both tenants, three searches per bucket
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/courses/search").param("keyword", "java")
+                            .header(TenantFilter.TENANT_HEADER, "beta"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/courses/search").param("keyword", "java")
+                        .header(TenantFilter.TENANT_HEADER, "beta"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/courses/search").param("keyword", "java")
+                        .header(TenantFilter.TENANT_HEADER, "alpha"))
+                .andExpect(status().isOk());
+    }
+    
+    private String login(String tenant) throws Exception {
+        var request = post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernameOrEmail\":\"admin\",\"password\":\"admin123\"}");
+        if (tenant != null) {
+            request.header(TenantFilter.TENANT_HEADER, tenant);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.path("data").path("token").asText();
+    }
+    
+    private long count(String tenant, String condition) {
+        return jdbc(tenant).queryForObject("SELECT COUNT(*) FROM courses WHERE " + condition, Long.class);
+    }
+    
+    private void insertCourse(String tenant, long id, String name) {
+        jdbc(tenant).update("INSERT INTO courses (course_id, course_name, course_code, course_duration, is_active) VALUES (?, ?, ?, 8, TRUE)",
+                id, name, "C" + id);
+    }
+    
+    private JdbcTemplate jdbc(String tenant) {
+        return new JdbcTemplate(tenantRoutingDataSource.getPools().get(tenant));
+    }
+    
+    private Course newCourse(String code, String name) {
+        Course course = new Course();
+        course.setCourseName(name);
+        course.setCourseCode(code);
+        course.setCourseDuration(8);
+        return course;
+    }
+}
@@ -0,0 +1,134 @@
+package com.sciqus.backend.controller;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.UserService;
+import com.sciqus.backend.support.TestFixtures;
+import com.sciqus.backend.util.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchLookupTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void coursesComeBackInRequestOrderWithMissingIdsReported() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course first = fixtures.newCourse("MGA" + suffix);
+        Course second = fixtures.newCourse("MGB" + suffix);
+        Course third = fixtures.newCourse("MGC" + suffix);
+        long missingId = third.getCourseId() + 1_000_000;
+        User student = new User();
+        student.setUsername("mget" + suffix);
+        student.setEmail("mget" + suffix + "@example.com");
+        student.setPassword("secret123");
+        student = userService.createUser(student);
+        
+        mockMvc.perform(get("/api/courses")
+                        .param("ids", third.getCourseId() + "," + missingId + "," + first.getCourseId()
+                                + "," + second.getCourseId() + "," + first.getCourseId())
+                        .header("Authorization", "Bearer " + token(student.getUsername(), "ROLE_STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].courseCode").value(contains(
+                        third.getCourseCode(), first.getCourseCode(), second.getCourseCode())))
+                .andExpect(jsonPath("$.missing.length()").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(missingId));
+    }
+    
+    @Test
+    void uncachedIdsAreLoadedTogetherAndThenServedFromCache() {
+        long suffix = System.nanoTime() % 1_000_000;
+        List<Long> ids = Arrays.asList(
+                fixtures.newCourse("MGD" + suffix).getCourseId(),
+                fixtures.newCourse("MGE" + suffix).getCourseId(),
+                fixtures.newCourse("MGF" + suffix).getCourseId());
+        entityManagerFactory.getCache().evict(Course.class);
+        // Statement counts are shared with background work of this context, so entity loads are checked instead
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        assertThat(courseService.getCoursesByIds(ids)).extracting(Course::getCourseId).containsExactlyElementsOf(ids);
+        assertThat(statistics.getEntityStatistics(Course.class.getName()).getLoadCount()).isEqualTo(3);
+        assertThat(statistics.getCacheRegionStatistics("courses").getMissCount()).isEqualTo(3);
+        
+        statistics.clear();
+        assertThat(courseService.getCoursesByIds(ids)).extracting(Course::getCourseId).containsExactlyElementsOf(ids);
+        assertThat(statistics.getEntityStatistics(Course.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCacheRegionStatistics("courses").getHitCount()).isEqualTo(3);
+    }
+    
+    @Test
+    void usersAreLookedUpFromPostedIds() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User user = new User();
+        user.setUsername("multi" + suffix);
+        user.setEmail("multi" + suffix + "@example.com");
+        user.setPassword("secret123");
+        user = userService.createUser(user);
+        
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[-1," + user.getId() + "]}")
+                        .header("Authorization", "Bearer " + token("admin", "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username").value(contains(user.getUsername())))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.missing").value(contains(-1)));
+    }
+    
+    @Test
+    void oversizedLookupIsRejected() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 501).mapToObj(String::valueOf).toList());
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids + "]}")
+                        .header("Authorization", "Bearer " + token("admin", "ROLE_ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+    
+    private String token(String username, String role) {
+        org.springframework.security.core.userdetails.User principal = new org.springframework.security.core.userdetails.User(
+                username, "", List.of(new SimpleGrantedAuthority(role)));
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.sciqus.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BinaryContentNegotiationTests {
+    
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Test
+    void binaryEncodingsCarryTheSameDocumentAsJson() throws Exception {
+        Course course = new Course();
+        course.setCourseName("Binary Course");
+        course.setCourseCode("BIN" + System.nanoTime() % 1_000_000);
+        course.setCourseDuration(7);
+        courseService.createCourse(course);
+        
+        byte[] json = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/courses").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/courses").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        JsonNode expected = new ObjectMapper().readTree(json);
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor)).isEqualTo(expected);
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile)).isEqualTo(expected);
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+    
+    @Test
+    void sparseFieldsetsApplyToBinaryEncodings() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/courses").param("fields", "courseCode").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        JsonNode courses = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertThat(courses).isNotEmpty().allSatisfy(node -> assertThat(node.size()).isEqualTo(1));
+    }
+}
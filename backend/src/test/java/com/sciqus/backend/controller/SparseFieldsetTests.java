@@ -0,0 +1,116 @@
+package com.sciqus.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.dto.CourseResponseDto;
+import com.sciqus.backend.dto.FieldSelection;
+import com.sciqus.backend.dto.UserResponseDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SparseFieldsetTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Test
+    void courseListCarriesOnlySelectedFields() throws Exception {
+        Course course = courseService.createCourse(newCourse("SPF" + System.nanoTime() % 1_000_000));
+        
+        String full = mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseDuration").exists())
+                .andReturn().getResponse().getContentAsString();
+        String sparse = mockMvc.perform(get("/api/courses").param("fields", "courseId, courseName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(2))))
+                .andExpect(jsonPath("$[*]", everyItem(hasKey("courseName"))))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(sparse.length()).isLessThan(full.length() / 3);
+        
+        mockMvc.perform(get("/api/courses/filter/active").param("fields", "courseCode")
+                        .header("Authorization", "Bearer " + fixtures.adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.courseCode == '" + course.getCourseCode() + "')]").exists())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(1))));
+    }
+    
+    @Test
+    void projectionReadsOnlySelectedColumns() {
+        Course course = courseService.createCourse(newCourse("SPP" + System.nanoTime() % 1_000_000));
+        
+        List<CourseResponseDto> courses = courseService.getAllCourses(
+                FieldSelection.parse("courseCode,isActive", CourseResponseDto.class));
+        
+        CourseResponseDto projected = courses.stream()
+                .filter(dto -> course.getCourseCode().equals(dto.getCourseCode()))
+                .findFirst().orElseThrow();
+        assertThat(projected.getIsActive()).isTrue();
+        assertThat(projected.getDescription()).isNull();
+        assertThat(projected.getCourseId()).isNull();
+    }
+    
+    @Test
+    void userListAndDetailHonourFields() throws Exception {
+        String token = "Bearer " + fixtures.adminToken();
+        mockMvc.perform(get("/api/users").param("fields", "id,role").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.role == 'ADMIN')]").exists())
+                .andExpect(jsonPath("$[*]", everyItem(aMapWithSize(2))));
+        
+        Course course = courseService.createCourse(newCourse("SPD" + System.nanoTime() % 1_000_000));
+        mockMvc.perform(get("/api/courses/" + course.getCourseId()).param("fields", "courseName")
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", aMapWithSize(1)))
+                .andExpect(jsonPath("$.courseName").value(course.getCourseName()));
+    }
+    
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/courses").param("fields", "courseName,password"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void dtosStayPlainForOtherMappers() throws Exception {
+        CourseResponseDto course = new CourseResponseDto();
+        course.setCourseCode("PLAIN1");
+        UserResponseDto user = new UserResponseDto();
+        user.setUsername("plain");
+        
+        // Mappers without the field selection filter provider write every property
+        ObjectMapper plain = new ObjectMapper().findAndRegisterModules();
+        assertThat(plain.readTree(plain.writeValueAsString(course)).get("courseCode").asText()).isEqualTo("PLAIN1");
+        assertThat(plain.readTree(plain.writeValueAsString(user)).has("email")).isTrue();
+    }
+    
+    private Course newCourse(String code) {
+        Course course = TestFixtures.course(code);
+        course.setDescription("A long course description that list views do not need. ".repeat(8));
+        return course;
+    }
+}
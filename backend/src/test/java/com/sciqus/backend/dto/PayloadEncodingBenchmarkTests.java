@@ -0,0 +1,99 @@
+package com.sciqus.backend.dto;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares encode/decode time and encoded size of JSON, CBOR and Smile for bulk responses, using
+ * the same mappers the HTTP message converters use.
+ *
+ * Run with: mvn test -Dtest=PayloadEncodingBenchmarkTests -Dbenchmarks=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PayloadEncodingBenchmarkTests {
+    
+    private static final int ROWS = 2_000;
+    private static final int ITERATIONS = 200;
+    
+    @Autowired
+    private ObjectMapper jsonMapper;
+    
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    
+    @Test
+    void courseListEncoding() throws Exception {
+        List<CourseResponseDto> courses = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            courses.add(new CourseResponseDto((long) i, "Course " + i, "BENCH" + i, 12,
+                    "Description of course " + i + " covering the syllabus in some detail", true, 100,
+                    LocalDateTime.now(), LocalDateTime.now()));
+        }
+        compare("courses", ApiResponseDto.success(courses), CourseResponseDto.class);
+    }
+    
+    @Test
+    void userListEncoding() throws Exception {
+        List<UserResponseDto> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(new UserResponseDto((long) i, "user" + i, "user" + i + "@example.com", "First" + i,
+                    "Last" + i, "555-0100", "STUDENT", true, (long) (i % 50)));
+        }
+        compare("users", ApiResponseDto.success(users), UserResponseDto.class);
+    }
+    
+    @Test
+    void enrollmentListEncoding() throws Exception {
+        List<EnrollmentResponseDto> enrollments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            EnrollmentResponseDto dto = new EnrollmentResponseDto();
+            dto.setEnrollmentId((long) i);
+            dto.setStudentId((long) i);
+            dto.setStudentName("First" + i + " Last" + i);
+            dto.setCourseId((long) (i % 50));
+            dto.setCourseName("Course " + i % 50);
+            dto.setEnrollmentDate(LocalDateTime.now());
+            enrollments.add(dto);
+        }
+        compare("enrollments", ApiResponseDto.success(enrollments), EnrollmentResponseDto.class);
+    }
+    
+    private void compare(String name, ApiResponseDto<?> body, Class<?> element) throws Exception {
+        JavaType type = jsonMapper.getTypeFactory().constructParametricType(ApiResponseDto.class,
+                jsonMapper.getTypeFactory().constructCollectionType(List.class, element));
+        for (ObjectMapper mapper : List.of(jsonMapper, cborConverter.getObjectMapper(), smileConverter.getObjectMapper())) {
+            byte[] encoded = mapper.writeValueAsBytes(body);
+            // Warm-up pass so every format is measured on compiled code
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(body), type);
+            }
+            long encodeStart = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                encoded = mapper.writeValueAsBytes(body);
+            }
+            long encodeNanos = System.nanoTime() - encodeStart;
+            long decodeStart = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                mapper.readValue(encoded, type);
+            }
+            long decodeNanos = System.nanoTime() - decodeStart;
+            System.out.printf("[%s %-5s] %,9d bytes, encode %6.2f ms, decode %6.2f ms%n", name,
+                    mapper.getFactory().getFormatName(), encoded.length,
+                    encodeNanos / 1e6 / ITERATIONS, decodeNanos / 1e6 / ITERATIONS);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.sciqus.backend.events;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.service.EnrollmentService;
+import com.sciqus.backend.service.UserService;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database, so rows of other test contexts do not show up in these tests' outbox.
+// The second-level cache is shared across contexts in the JVM, so it is off to keep other databases' rows out.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class OutboxDispatchTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private RecordingSubscriber subscriber;
+    
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+    
+    @Test
+    void committedChangesAreDeliveredInOrderPerAggregate() {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("EVT" + suffix);
+        courseService.toggleCourseStatus(course.getCourseId());
+        
+        User student = new User();
+        student.setUsername("evt" + suffix);
+        student.setEmail("evt" + suffix + "@example.com");
+        student.setPassword("secret123");
+        student = userService.createUser(student);
+        enrollmentService.enrollStudentInCourse(student, course);
+        enrollmentService.unenrollStudentFromCourse(student, course);
+        
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        
+        List<DeliveredEvent> forCourse = subscriber.forAggregate("COURSE", course.getCourseId());
+        assertThat(forCourse).extracting(DeliveredEvent::event).containsExactly(
+                new CourseChanged(DomainEvent.ChangeType.CREATED, course.getCourseId(), course.getCourseCode(), true),
+                new CourseChanged(DomainEvent.ChangeType.UPDATED, course.getCourseId(), course.getCourseCode(), false),
+                new EnrollmentCreated(((EnrollmentCreated) forCourse.get(2).event()).enrollmentId(), student.getId(), course.getCourseId()),
+                new EnrollmentRemoved(((EnrollmentCreated) forCourse.get(2).event()).enrollmentId(), student.getId(), course.getCourseId()));
+        assertThat(forCourse).extracting(DeliveredEvent::sequence).isSorted();
+        assertThat(subscriber.forAggregate("USER", student.getId())).hasSize(1);
+    }
+    
+    @Test
+    void rolledBackChangesPublishNothing() {
+        String code = "RBK" + System.nanoTime() % 1_000_000;
+        transactionTemplate.executeWithoutResult(status -> {
+            fixtures.newCourse(code);
+            status.setRollbackOnly();
+        });
+        
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(subscriber.events).noneMatch(delivered ->
+                delivered.event() instanceof CourseChanged changed && code.equals(changed.courseCode()));
+    }
+    
+    @Test
+    void failedBatchIsDeliveredAgain() {
+        subscriber.failuresLeft.set(1);
+        Course course = fixtures.newCourse("RTY" + System.nanoTime() % 1_000_000);
+        
+        // Either the dispatcher thread or this call meets the failure; the next pass delivers the batch again
+        while (!outboxDispatcher.dispatchPending()) {
+            Thread.onSpinWait();
+        }
+        
+        List<DeliveredEvent> forCourse = subscriber.forAggregate("COURSE", course.getCourseId());
+        assertThat(forCourse).hasSize(2);
+        assertThat(forCourse.get(0).sequence()).isEqualTo(forCourse.get(1).sequence());
+    }
+    
+    @Test
+    void everyNodeDeliversEveryEvent() {
+        // A second dispatcher stands in for another node sharing the database and its subscribers
+        OutboxDispatcher otherNode = beanFactory.createBean(OutboxDispatcher.class);
+        Course course = fixtures.newCourse("NOD" + System.nanoTime() % 1_000_000);
+        
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(otherNode.dispatchPending()).isTrue();
+        
+        List<DeliveredEvent> forCourse = subscriber.forAggregate("COURSE", course.getCourseId());
+        assertThat(forCourse).hasSize(2);
+        assertThat(forCourse.get(0).sequence()).isEqualTo(forCourse.get(1).sequence());
+        
+        assertThat(otherNode.dispatchPending()).isTrue();
+        assertThat(subscriber.forAggregate("COURSE", course.getCourseId())).hasSize(2);
+    }
+    
+    @Test
+    void eventCommittedAfterALaterOneIsStillDelivered() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicReference<Course> early = new AtomicReference<>();
+        Thread slowTransaction = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            early.set(fixtures.newCourse("ERL" + suffix));
+            published.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slowTransaction.start();
+        assertThat(published.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        Course late = fixtures.newCourse("LAT" + suffix);
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(subscriber.forAggregate("COURSE", late.getCourseId())).hasSize(1);
+        
+        commit.countDown();
+        slowTransaction.join(10_000);
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        
+        assertThat(subscriber.forAggregate("COURSE", early.get().getCourseId())).hasSize(1);
+        assertThat(subscriber.forAggregate("COURSE", late.getCourseId())).hasSize(1);
+    }
+    
+    @Test
+    void expiredRowsArePurged() {
+        Course course = fixtures.newCourse("PRG" + System.nanoTime() % 1_000_000);
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ? WHERE aggregate_type = 'COURSE' AND aggregate_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)), course.getCourseId());
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE aggregate_type = 'COURSE' AND aggregate_id = ?",
+                Integer.class, course.getCourseId())).isZero();
+        assertThat(subscriber.forAggregate("COURSE", course.getCourseId())).hasSize(1);
+    }
+    
+    static class RecordingSubscriber implements DomainEventSubscriber {
+        
+        final List<DeliveredEvent> events = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        
+        @Override
+        public void onEvents(List<DeliveredEvent> batch) {
+            events.addAll(batch);
+            if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new IllegalStateException("Simulated subscriber failure");
+            }
+        }
+        
+        List<DeliveredEvent> forAggregate(String type, Long id) {
+            return events.stream()
+                    .filter(delivered -> delivered.event().aggregateType().equals(type)
+                            && delivered.event().aggregateId().equals(id))
+                    .toList();
+        }
+    }
+    
+    @TestConfiguration
+    static class SubscriberConfig {
+        
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.sciqus.backend.logging;
+
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoggingPipelineTests {
+    
+    private static final String CATEGORY = "com.sciqus.backend.service";
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @AfterEach
+    void resetLevel() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(CATEGORY)).setLevel(null);
+    }
+    
+    @Test
+    void requestIdIsEchoedOrGenerated() throws Exception {
+        mockMvc.perform(get("/api/courses").header(RequestLoggingFilter.REQUEST_ID_HEADER, "lb-1234"))
+                .andExpect(header().string(RequestLoggingFilter.REQUEST_ID_HEADER, "lb-1234"));
+        
+        // Anything that does not look like an id is replaced rather than copied into the logs
+        mockMvc.perform(get("/api/courses").header(RequestLoggingFilter.REQUEST_ID_HEADER, "bad\nid"))
+                .andExpect(header().string(RequestLoggingFilter.REQUEST_ID_HEADER, matchesPattern("[0-9a-f-]{36}")));
+    }
+    
+    @Test
+    void adminCanSwitchCategoryLevelAtRuntime() throws Exception {
+        String token = "Bearer " + fixtures.adminToken();
+        
+        mockMvc.perform(put("/api/admin/log-levels/" + CATEGORY)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"trace\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.effectiveLevel").value("TRACE"));
+        assertThat(LoggerFactory.getLogger(CATEGORY).isTraceEnabled()).isTrue();
+        
+        mockMvc.perform(get("/api/admin/log-levels").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.category == '" + CATEGORY + "')].configuredLevel").value("TRACE"));
+        
+        mockMvc.perform(put("/api/admin/log-levels/" + CATEGORY)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.configuredLevel").doesNotExist());
+        assertThat(LoggerFactory.getLogger(CATEGORY).isTraceEnabled()).isFalse();
+    }
+    
+    @Test
+    void logLevelsRequireAdmin() throws Exception {
+        mockMvc.perform(put("/api/admin/log-levels/" + CATEGORY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuredLevel\":\"DEBUG\"}"))
+                .andExpect(status().is4xxClientError());
+        assertThat(LoggerFactory.getLogger(CATEGORY).isDebugEnabled()).isFalse();
+    }
+}
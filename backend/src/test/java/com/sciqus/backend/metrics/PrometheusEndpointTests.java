@@ -0,0 +1,46 @@
+package com.sciqus.backend.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Actuator on its own port, as in application.properties; 0 picks a free one
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+class PrometheusEndpointTests {
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @LocalManagementPort
+    private int managementPort;
+    
+    @Test
+    void scrapeIncludesRequestLatencyAndDbTime() {
+        assertThat(restTemplate.getForEntity("/api/courses", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody()).contains(
+                "handler=\"CourseController.getAllCourses\"",
+                "sciqus_http_db_time_seconds_count{",
+                "sciqus_auth_password_seconds",
+                "hikaricp_connections_active");
+    }
+    
+    @Test
+    void applicationPortServesNoMetrics() {
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/health", String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
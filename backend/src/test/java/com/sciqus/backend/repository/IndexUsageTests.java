@@ -0,0 +1,153 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.config.EnrollmentDeduplicationCallback;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the query plans of the repository access paths against the indexes from
+ * V2__access_path_indexes.sql and later migrations. The SQL mirrors what Hibernate generates for
+ * each method. The tables are filled with a skewed data set and analyzed first: on empty tables
+ * every plan costs the same and the planner's choice says nothing.
+ *
+ * Where two indexes serve a predicate equally well (e.g. both composite enrollment indexes for
+ * a user_id + course_id lookup, or the foreign key index for a bare course_id count) the planner
+ * may pick either, so those paths accept both; what must never happen is a table scan.
+ */
+// Own database, so the data set and its statistics are not disturbed by other test contexts
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:index_usage;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class IndexUsageTests {
+    
+    private static final long FIRST_ID = 1_000_000;
+    private static final int USERS = 5_000;
+    private static final int COURSES = 2_000;
+    private static final int ENROLLMENTS = 20_000;
+    private static final int AUDIT_EVENTS = 20_000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void fillTables() {
+        Integer filled = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courses WHERE course_id >= ?", Integer.class, FIRST_ID);
+        if (filled > 0) {
+            return;
+        }
+        Random random = new Random(7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        // Mostly students and mostly retired courses, as in an installation that has run for a while
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{FIRST_ID + i, "idx" + i, "idx" + i + "@example.com", i % 100 == 0 ? "ADMIN" : "STUDENT"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role, is_active) VALUES (?, ?, ?, 'x', ?, TRUE)", users);
+        
+        List<Object[]> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(new Object[]{FIRST_ID + i, "Course " + i, "IDX" + i, i % 20 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (course_id, course_name, course_code, course_duration, is_active) VALUES (?, ?, ?, 8, ?)", courses);
+        
+        List<Object[]> enrollments = new ArrayList<>();
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            // Consecutive students per course, so no pair repeats
+            enrollments.add(new Object[]{FIRST_ID + i, FIRST_ID + i % USERS, FIRST_ID + i / (ENROLLMENTS / COURSES), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO enrollments (id, user_id, course_id, enrolled_at) VALUES (?, ?, ?, ?)", enrollments);
+        
+        List<Object[]> auditEvents = new ArrayList<>();
+        for (int i = 0; i < AUDIT_EVENTS; i++) {
+            auditEvents.add(new Object[]{Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i)),
+                    FIRST_ID + random.nextInt(USERS), FIRST_ID + random.nextInt(COURSES)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO audit_events (occurred_at, action, entity_type, student_id, course_id) "
+                + "VALUES (?, 'ENROLLED', 'ENROLLMENT', ?, ?)", auditEvents);
+        
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void studentsByCourseUseCoveringCourseIndex() {
+        // EnrollmentRepository.findStudentsByCourseId: user_id comes from the index, no enrollment row reads
+        assertUsesIndex("SELECT u.* FROM enrollments e JOIN users u ON u.id = e.user_id WHERE e.course_id = 1",
+                "idx_enrollments_course_user");
+        // EnrollmentRepository.countByCourse / findByCourse
+        assertUsesIndex("SELECT COUNT(e.id) FROM enrollments e WHERE e.course_id = 1",
+                "idx_enrollments_course_user", "fk_enrollments_course");
+    }
+    
+    @Test
+    void studentCourseLookupsUseCompositeIndex() {
+        // EnrollmentRepository.existsByStudentAndCourse / findByStudentAndCourse
+        assertUsesIndex("SELECT e.id FROM enrollments e WHERE e.user_id = 1 AND e.course_id = 2",
+                "uk_enrollments_user_course", "idx_enrollments_course_user");
+        // EnrollmentRepository.findByStudent
+        assertUsesIndex("SELECT e.* FROM enrollments e WHERE e.user_id = 1",
+                "uk_enrollments_user_course", "fk_enrollments_user");
+    }
+    
+    @Test
+    void activeCourseQueriesUseStatusIndex() {
+        // CourseRepository.findByIsActiveTrue / countByIsActiveTrue
+        assertUsesIndex("SELECT c.* FROM courses c WHERE c.is_active = TRUE", "idx_courses_active_code");
+        assertUsesIndex("SELECT COUNT(c.course_id) FROM courses c WHERE c.is_active = TRUE", "idx_courses_active_code");
+        // CourseService.getActiveCourses with ?fields=courseId,courseCode
+        assertUsesIndex("SELECT c.course_id, c.course_code FROM courses c WHERE c.is_active = TRUE", "idx_courses_active_code");
+    }
+    
+    @Test
+    void roleCountUsesRoleIndex() {
+        // UserRepository.countByRole
+        assertUsesIndex("SELECT COUNT(u.id) FROM users u WHERE u.role = 'STUDENT'", "idx_users_role");
+    }
+    
+    @Test
+    void auditQueriesUseTimeOrderedIndexes() {
+        // AuditService.search by student, by course and by time range
+        assertUsesIndex("SELECT a.* FROM audit_events a WHERE a.student_id = 1 ORDER BY a.occurred_at DESC, a.id DESC LIMIT 50",
+                "idx_audit_events_student_time");
+        assertUsesIndex("SELECT a.* FROM audit_events a WHERE a.course_id = 1 ORDER BY a.occurred_at DESC, a.id DESC LIMIT 50",
+                "idx_audit_events_course_time");
+        assertUsesIndex("SELECT a.* FROM audit_events a WHERE a.occurred_at >= TIMESTAMP '2026-01-01 00:00:00'",
+                "idx_audit_events_time");
+    }
+    
+    @Test
+    void duplicateEnrollmentsAreRemovedBeforeTheUniqueIndex() {
+        // A database as Hibernate created it, baselined at V1, with a student enrolled twice
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:duplicate_enrollments;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.update("INSERT INTO users (id, username, email, password, role) VALUES (1, 'twice', 'twice@example.com', 'x', 'STUDENT')");
+        legacy.update("INSERT INTO courses (course_id, course_name, course_code, course_duration, is_active) VALUES (1, 'Course', 'TWC', 8, TRUE)");
+        legacy.update("INSERT INTO enrollments (id, user_id, course_id) VALUES (1, 1, 1), (2, 1, 1), (3, 1, 1)");
+        
+        Flyway.configure().dataSource(dataSource).callbacks(new EnrollmentDeduplicationCallback()).target("2").load().migrate();
+        
+        assertThat(legacy.queryForList("SELECT id FROM enrollments", Long.class)).containsExactly(1L);
+    }
+    
+    private void assertUsesIndex(String sql, String... acceptedIndexes) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase();
+        assertThat(plan).as(plan).doesNotContain("tablescan");
+        assertThat(Arrays.stream(acceptedIndexes).anyMatch(plan::contains))
+                .as("expected one of %s in plan:%n%s", Arrays.toString(acceptedIndexes), plan)
+                .isTrue();
+    }
+}
@@ -0,0 +1,136 @@
+package com.sciqus.backend.repository;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.Enrollment;
+import com.sciqus.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Compares insert throughput of pooled ids + JDBC batching against the row-at-a-time pattern
+ * that IDENTITY columns force (one INSERT round trip per persisted entity).
+ *
+ * Run with: mvn test -Dtest=InsertThroughputBenchmarkTests -Dbenchmarks=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InsertThroughputBenchmarkTests {
+    
+    private static final int ROWS = 5_000;
+    private static final int ROUNDS = 3;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private static final AtomicInteger sequence = new AtomicInteger();
+    
+    @Test
+    void userInsertThroughput() {
+        for (int round = 1; round <= ROUNDS; round++) {
+            report("users", round,
+                    measure(() -> persist(newUsers(ROWS), this::persistRowAtATime)),
+                    measure(() -> persist(newUsers(ROWS), this::persistBatched)));
+        }
+    }
+    
+    @Test
+    void enrollmentInsertThroughput() {
+        Course course = newCourse();
+        for (int round = 1; round <= ROUNDS; round++) {
+            List<User> rowStudents = transactionTemplate.execute(status -> persistAndReturn(newUsers(ROWS)));
+            List<User> batchStudents = transactionTemplate.execute(status -> persistAndReturn(newUsers(ROWS)));
+            report("enrollments", round,
+                    measure(() -> persist(newEnrollments(rowStudents, course), this::persistRowAtATime)),
+                    measure(() -> persist(newEnrollments(batchStudents, course), this::persistBatched)));
+        }
+    }
+    
+    private <T> void persist(List<T> entities, Consumer<List<T>> strategy) {
+        transactionTemplate.executeWithoutResult(status -> strategy.accept(entities));
+    }
+    
+    // Flushing after each persist mirrors IDENTITY: the INSERT has to run before the id is known
+    private <T> void persistRowAtATime(List<T> entities) {
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            entityManager.flush();
+        }
+        entityManager.clear();
+    }
+    
+    private <T> void persistBatched(List<T> entities) {
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private <T> List<T> persistAndReturn(List<T> entities) {
+        persistBatched(entities);
+        return entities;
+    }
+    
+    private long measure(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+    
+    private void report(String entity, int round, long rowAtATimeNanos, long batchedNanos) {
+        System.out.printf("[%s round %d] row-at-a-time: %,.0f rows/s, pooled+batched: %,.0f rows/s (%.1fx)%n",
+                entity, round, throughput(rowAtATimeNanos), throughput(batchedNanos),
+                (double) rowAtATimeNanos / batchedNanos);
+    }
+    
+    private double throughput(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+    
+    private List<User> newUsers(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = sequence.incrementAndGet();
+            User user = new User();
+            user.setUsername("bench" + n);
+            user.setEmail("bench" + n + "@sciqus.com");
+            user.setPassword("not-a-real-hash");
+            user.setFirstName("Bench");
+            user.setLastName("User" + n);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    private List<Enrollment> newEnrollments(List<User> students, Course course) {
+        List<Enrollment> enrollments = new ArrayList<>(students.size());
+        for (User student : students) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollments.add(enrollment);
+        }
+        return enrollments;
+    }
+    
+    private Course newCourse() {
+        Course course = new Course();
+        course.setCourseName("Benchmark Course");
+        course.setCourseCode("BENCH-" + System.nanoTime() % 100000);
+        course.setCourseDuration(12);
+        return courseRepository.save(course);
+    }
+}
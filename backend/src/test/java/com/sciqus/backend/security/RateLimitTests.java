@@ -0,0 +1,119 @@
+package com.sciqus.backend.security;
+
+import com.sciqus.backend.support.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.search.capacity=2",
+        "app.rate-limit.search.refill-tokens=1",
+        "app.rate-limit.search.refill-period=1h"
+})
+@AutoConfigureMockMvc
+class RateLimitTests {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void bucketAllowsBurstThenRefillsAtConfiguredRate() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, SECOND, 100, 60 * SECOND, clock::get);
+        
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("b")).isZero();
+        
+        clock.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+    
+    @Test
+    void fullMapEvictsSpentBucketsInsteadOfLockingOutNewClients() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, SECOND, 3, 10 * SECOND, clock::get);
+        
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("heavy")).isZero();
+        }
+        // A client spraying fresh keys only displaces its own nearly spent buckets
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("spray-" + i)).isZero();
+        }
+        assertThat(limiter.size()).isEqualTo(3);
+        assertThat(limiter.tryAcquire("heavy")).isPositive();
+        assertThat(limiter.tryAcquire("late")).isZero();
+        
+        clock.addAndGet(10 * SECOND);
+        assertThat(limiter.tryAcquire("e")).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, 1, TimeUnit.HOURS.toNanos(1), 100, SECOND, System::nanoTime);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        assertThat(granted.get()).isEqualTo(100);
+    }
+    
+    @Test
+    void searchIsLimitedPerUserWithRetryAfter() throws Exception {
+        double rejectedBefore = rejectedSearches();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/courses/search").param("keyword", "java"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/courses/search").param("keyword", "java"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3600"))
+                .andExpect(jsonPath("$.error").value("RATE_LIMITED"));
+        
+        // A signed-in caller from the same address has a bucket of its own
+        mockMvc.perform(get("/api/courses/search").param("keyword", "java")
+                        .header("Authorization", "Bearer " + fixtures.adminToken()))
+                .andExpect(status().isOk());
+        assertThat(rejectedSearches()).isEqualTo(rejectedBefore + 1);
+    }
+    
+    private double rejectedSearches() {
+        return meterRegistry.get("sciqus.ratelimit.rejected").tag("route", "search").functionCounter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.events.CourseChanged;
+import com.sciqus.backend.events.OutboxDispatcher;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminStatsStreamTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private AdminStatsStreamService adminStatsStreamService;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Test
+    void streamStartsWithSnapshotAndPushesChanges() throws Exception {
+        int connectionsBefore = adminStatsStreamService.getConnectionCount();
+        MvcResult result = mockMvc.perform(get("/api/admin/stats/stream").header("Authorization", "Bearer " + fixtures.adminToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+        awaitContent(response, "event:snapshot");
+        assertThat(response.getContentAsString()).contains("\"totalCourses\":");
+        assertThat(adminStatsStreamService.getConnectionCount()).isEqualTo(connectionsBefore + 1);
+        
+        Course course = new Course();
+        course.setCourseName("Stream Course");
+        course.setCourseCode("SSE" + System.nanoTime() % 1_000_000);
+        course.setCourseDuration(3);
+        course = courseService.createCourse(course);
+        
+        // Every test context delivers every event, so this sees the row even if another context's dispatcher read it first
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        
+        awaitContent(response, "event:stats");
+        String content = response.getContentAsString();
+        assertThat(content).contains("event:changes", "\"type\":\"CourseChanged\"", "\"aggregateId\":" + course.getCourseId());
+        String statsEvent = content.substring(content.lastIndexOf("event:stats"));
+        // Only changed values are pushed
+        assertThat(statsEvent).contains("\"totalCourses\":").doesNotContain("\"totalUsers\":");
+    }
+    
+    @Test
+    void streamRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/stats/stream"))
+                .andExpect(status().is4xxClientError());
+    }
+    
+    private void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().contains(expected)) {
+            assertThat(System.nanoTime()).as("waiting for %s", expected).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.EnrollmentBucketDto;
+import com.sciqus.backend.dto.EnrollmentTrendDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.service.EnrollmentAnalyticsService.Granularity;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EnrollmentAnalyticsTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private EnrollmentAnalyticsService analyticsService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void enrollmentsAreCountedAsTheyHappen() {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("ANA" + suffix);
+        User first = fixtures.newStudent("ana" + suffix + "a");
+        enrollmentService.enrollStudentInCourse(first, course);
+        enrollmentService.enrollStudentInCourse(fixtures.newStudent("ana" + suffix + "b"), course);
+        enrollmentService.enrollStudentInCourse(fixtures.newStudent("ana" + suffix + "c"), course);
+        enrollmentService.unenrollStudentFromCourse(first, course);
+        
+        LocalDate today = LocalDate.now();
+        for (Granularity granularity : Granularity.values()) {
+            EnrollmentTrendDto trend = analyticsService.getTrend(course.getCourseId(), granularity, null, today);
+            assertThat(trend.getBuckets()).hasSize(granularity == Granularity.DAY ? 30 : 12);
+            EnrollmentBucketDto current = trend.getBuckets().get(trend.getBuckets().size() - 1);
+            assertThat(current.getPeriodStart()).isEqualTo(granularity.start(today));
+            assertThat(current).extracting(EnrollmentBucketDto::getEnrolled, EnrollmentBucketDto::getDropped, EnrollmentBucketDto::getNet)
+                    .containsExactly(3L, 1L, 2L);
+            assertThat(trend.getTotalEnrolled()).isEqualTo(3);
+        }
+    }
+    
+    @Test
+    void backfillCountsExistingEnrollmentsOnce() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("ANB" + suffix);
+        long id = 800_000_000L + suffix * 10;
+        // Monday, the Wednesday after and a day in March, all older than the rollups
+        archivedEnrollment(id, course, LocalDateTime.of(2021, 2, 1, 9, 30));
+        archivedEnrollment(id + 1, course, LocalDateTime.of(2021, 2, 1, 17, 0));
+        archivedEnrollment(id + 2, course, LocalDateTime.of(2021, 2, 3, 8, 0));
+        archivedEnrollment(id + 3, course, LocalDateTime.of(2021, 3, 15, 12, 0));
+        
+        analyticsService.backfill();
+        analyticsService.backfill();
+        
+        EnrollmentTrendDto days = analyticsService.getTrend(course.getCourseId(), Granularity.DAY,
+                LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 3));
+        assertThat(days.getBuckets()).extracting(EnrollmentBucketDto::getEnrolled).containsExactly(2L, 0L, 1L);
+        EnrollmentTrendDto weeks = analyticsService.getTrend(course.getCourseId(), Granularity.WEEK,
+                LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 10));
+        assertThat(weeks.getBuckets()).extracting(EnrollmentBucketDto::getEnrolled).containsExactly(3L, 0L);
+        
+        mockMvc.perform(get("/api/admin/analytics/enrollments")
+                        .param("courseId", String.valueOf(course.getCourseId()))
+                        .param("granularity", "MONTH")
+                        .param("from", "2021-02-10")
+                        .param("to", "2021-03-01")
+                        .header("Authorization", "Bearer " + fixtures.adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.from").value("2021-02-01"))
+                .andExpect(jsonPath("$.data.buckets.length()").value(2))
+                .andExpect(jsonPath("$.data.buckets[0].enrolled").value(3))
+                .andExpect(jsonPath("$.data.buckets[1].enrolled").value(1))
+                .andExpect(jsonPath("$.data.changePercent").value(-66.7));
+        
+        mockMvc.perform(get("/api/admin/analytics/enrollments")
+                        .param("from", "2021-03-01")
+                        .param("to", "2021-02-01")
+                        .header("Authorization", "Bearer " + fixtures.adminToken()))
+                .andExpect(status().isBadRequest());
+    }
+    
+    private void archivedEnrollment(long id, Course course, LocalDateTime enrolledAt) {
+        jdbcTemplate.update("INSERT INTO enrollments_archive (id, user_id, course_id, enrolled_at, archived_at) VALUES (?, ?, ?, ?, ?)",
+                id, id, course.getCourseId(), Timestamp.valueOf(enrolledAt), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
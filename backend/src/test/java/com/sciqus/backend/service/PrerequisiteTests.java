@@ -0,0 +1,162 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PrerequisiteTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private PrerequisiteService prerequisiteService;
+    
+    @Test
+    void incrementalClosureMatchesASearchOfTheGraph() {
+        Random random = new Random(11);
+        Map<Long, Set<Long>> edges = new HashMap<>();
+        PrerequisiteClosure closure = PrerequisiteClosure.EMPTY;
+        for (int step = 0; step < 400; step++) {
+            long course = 1 + random.nextInt(60);
+            Set<Long> prerequisites = new HashSet<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                prerequisites.add(1 + (long) random.nextInt(60));
+            }
+            boolean cycle = prerequisites.stream().anyMatch(p -> reachable(edges, p).contains(course) || p == course);
+            assertThat(closure.wouldCycle(course, prerequisites)).isEqualTo(cycle);
+            if (cycle) {
+                continue;
+            }
+            edges.put(course, prerequisites);
+            closure = closure.withPrerequisites(course, prerequisites);
+            
+            if (step % 40 == 0) {
+                PrerequisiteClosure rebuilt = PrerequisiteClosure.of(edges);
+                for (long id = 1; id <= 60; id++) {
+                    assertThat(rebuilt.requiredCourses(id)).containsExactlyInAnyOrderElementsOf(reachable(edges, id));
+                }
+            }
+        }
+        for (long id = 1; id <= 60; id++) {
+            Set<Long> expected = reachable(edges, id);
+            assertThat(closure.requiredCourses(id)).containsExactlyInAnyOrderElementsOf(expected);
+            BitSet completed = closure.toBits(expected);
+            assertThat(closure.missing(id, completed)).isEmpty();
+        }
+    }
+    
+    @Test
+    void enrollmentWaitsForCompletedPrerequisites() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = fixtures.newStudent("pre" + suffix);
+        Course basics = fixtures.newCourse("PRA" + suffix);
+        Course intermediate = fixtures.newCourse("PRB" + suffix);
+        Course advanced = fixtures.newCourse("PRC" + suffix);
+        String admin = "Bearer " + fixtures.adminToken();
+        
+        mockMvc.perform(put("/api/courses/" + intermediate.getCourseId() + "/prerequisites")
+                        .header("Authorization", admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + basics.getCourseId() + "]}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/courses/" + advanced.getCourseId() + "/prerequisites")
+                        .header("Authorization", admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + intermediate.getCourseId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prerequisiteIds[0]").value(intermediate.getCourseId()))
+                .andExpect(jsonPath("$.requiredCourseIds.length()").value(2));
+        
+        assertThat(enrollmentService.canStudentEnrollInCourse(student, advanced)).isFalse();
+        assertThatThrownBy(() -> enrollmentService.enrollStudentInCourse(student, advanced))
+                .hasMessageContaining(basics.getCourseCode())
+                .hasMessageContaining(intermediate.getCourseCode());
+        
+        mockMvc.perform(post("/api/courses/" + basics.getCourseId() + "/students/" + student.getId() + "/completion")
+                        .header("Authorization", admin))
+                .andExpect(status().isOk());
+        assertThat(prerequisiteService.findMissingPrerequisites(student.getId(), advanced.getCourseId()))
+                .containsExactly(intermediate.getCourseId());
+        prerequisiteService.recordCompletion(student, intermediate);
+        enrollmentService.enrollStudentInCourse(student, advanced);
+        
+        mockMvc.perform(get("/api/student/completed-courses").header("Authorization", "Bearer " + fixtures.studentToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        
+        // Withdrawing a completion blocks the next enrollment again
+        assertThat(prerequisiteService.removeCompletion(student, basics.getCourseId())).isTrue();
+        assertThat(prerequisiteService.findMissingPrerequisites(student.getId(), intermediate.getCourseId()))
+                .containsExactly(basics.getCourseId());
+    }
+    
+    @Test
+    void cyclesAreRejectedAndLeaveTheGraphUnchanged() {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course first = fixtures.newCourse("PRD" + suffix);
+        Course second = fixtures.newCourse("PRE" + suffix);
+        Course third = fixtures.newCourse("PRF" + suffix);
+        prerequisiteService.replacePrerequisites(second.getCourseId(), List.of(first.getCourseId()));
+        prerequisiteService.replacePrerequisites(third.getCourseId(), List.of(second.getCourseId()));
+        
+        assertThatThrownBy(() -> prerequisiteService.replacePrerequisites(first.getCourseId(), List.of(third.getCourseId())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cycle");
+        assertThatThrownBy(() -> prerequisiteService.replacePrerequisites(first.getCourseId(), List.of(first.getCourseId())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(prerequisiteService.getPrerequisites(first.getCourseId()).getRequiredCourseIds()).isEmpty();
+        assertThat(prerequisiteService.getPrerequisites(third.getCourseId()).getRequiredCourseIds())
+                .containsExactlyInAnyOrder(first.getCourseId(), second.getCourseId());
+        
+        // Dropping an edge in the middle shortens the chain above it
+        prerequisiteService.replacePrerequisites(second.getCourseId(), List.of());
+        assertThat(prerequisiteService.getPrerequisites(third.getCourseId()).getRequiredCourseIds())
+                .containsExactly(second.getCourseId());
+        prerequisiteService.replacePrerequisites(first.getCourseId(), List.of(third.getCourseId()));
+    }
+    
+    private static Set<Long> reachable(Map<Long, Set<Long>> edges, long from) {
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(edges.getOrDefault(from, Set.of()));
+        while (!pending.isEmpty()) {
+            Long next = pending.pop();
+            if (seen.add(next)) {
+                pending.addAll(edges.getOrDefault(next, Set.of()));
+            }
+        }
+        return seen;
+    }
+}
@@ -0,0 +1,159 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.RecommendedCourseDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.support.TestFixtures;
+import com.sciqus.backend.util.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecommendationTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private RecommendationService recommendationService;
+    
+    @Test
+    void primitiveMapAgreesWithAHashMap() {
+        Random random = new Random(3);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 200_000; step++) {
+            long key = 1 + random.nextInt(500);
+            int delta = random.nextInt(5) - 2;
+            int value = map.addTo(key, delta);
+            expected.merge(key, delta, Integer::sum);
+            expected.remove(key, 0);
+            assertThat(value).isEqualTo(expected.getOrDefault(key, 0));
+            if (step % 10_000 == 0) {
+                assertThat(map.size()).isEqualTo(expected.size());
+                Map<Long, Integer> seen = new HashMap<>();
+                map.forEach(seen::put);
+                assertThat(seen).isEqualTo(expected);
+            }
+        }
+        for (long key = 1; key <= 500; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, 0));
+        }
+    }
+    
+    @Test
+    void incrementalUpdatesMatchABuildFromScratch() {
+        Random random = new Random(5);
+        CoEnrollmentMatrix incremental = new CoEnrollmentMatrix();
+        Map<Integer, Set<Long>> students = new HashMap<>();
+        for (int step = 0; step < 5_000; step++) {
+            Set<Long> courses = students.computeIfAbsent(random.nextInt(80), id -> new HashSet<>());
+            long course = 1 + random.nextInt(40);
+            long[] others = courses.stream().mapToLong(Long::longValue).filter(id -> id != course).toArray();
+            if (courses.add(course)) {
+                incremental.addEnrollment(course, others);
+            } else {
+                courses.remove(course);
+                incremental.removeEnrollment(course, others);
+            }
+        }
+        
+        CoEnrollmentMatrix built = new CoEnrollmentMatrix();
+        students.values().forEach(courses -> built.addStudent(courses.stream().mapToLong(Long::longValue).toArray()));
+        assertThat(incremental.pairCount()).isEqualTo(built.pairCount());
+        assertThat(incremental.courseCount()).isEqualTo(built.courseCount());
+        for (long a = 1; a <= 40; a++) {
+            for (long b = 1; b <= 40; b++) {
+                assertThat(incremental.coEnrollments(a, b)).isEqualTo(built.coEnrollments(a, b));
+            }
+        }
+        assertThat(incremental.top(new long[] {1, 2}, id -> id <= 2, 5))
+                .isEqualTo(built.top(new long[] {1, 2}, id -> id <= 2, 5))
+                .hasSize(5);
+    }
+    
+    @Test
+    void studentsAreOfferedCoursesTheirClassmatesTook() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course shared = fixtures.newCourse("REA" + suffix);
+        Course often = fixtures.newCourse("REB" + suffix);
+        Course sometimes = fixtures.newCourse("REC" + suffix);
+        Course retired = fixtures.newCourse("RED" + suffix);
+        List<User> classmates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User classmate = fixtures.newStudent("rec" + suffix + "x" + i);
+            enrollmentService.enrollStudentInCourse(classmate, shared);
+            enrollmentService.enrollStudentInCourse(classmate, i == 0 ? sometimes : often);
+            enrollmentService.enrollStudentInCourse(classmate, retired);
+            classmates.add(classmate);
+        }
+        courseService.toggleCourseStatus(retired.getCourseId());
+        User student = fixtures.newStudent("rec" + suffix);
+        enrollmentService.enrollStudentInCourse(student, shared);
+        
+        List<RecommendedCourseDto> recommendations = recommendationService.getRecommendations(student.getId(), 2);
+        assertThat(recommendations).extracting(RecommendedCourseDto::getCourseId)
+                .containsExactly(often.getCourseId(), sometimes.getCourseId());
+        assertThat(recommendations).extracting(RecommendedCourseDto::getCoEnrollments).containsExactly(2, 1);
+        
+        // Kept current without a rebuild
+        enrollmentService.unenrollStudentFromCourse(classmates.get(1), often);
+        enrollmentService.enrollStudentInCourse(classmates.get(1), sometimes);
+        assertThat(recommendationService.getRecommendations(student.getId(), 2))
+                .extracting(RecommendedCourseDto::getCourseId)
+                .containsExactly(sometimes.getCourseId(), often.getCourseId());
+        
+        String admin = "Bearer " + token("admin", "ROLE_ADMIN");
+        mockMvc.perform(post("/api/admin/recommendations/rebuild").header("Authorization", admin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.built").value(true))
+                .andExpect(jsonPath("$.data.lastRebuild.enrollments").isNumber());
+        mockMvc.perform(get("/api/admin/recommendations/stats").header("Authorization", admin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.estimatedBytes").isNumber());
+        mockMvc.perform(get("/api/student/recommended-courses").param("limit", "2")
+                        .header("Authorization", "Bearer " + token(student.getUsername(), "ROLE_STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseId").value(sometimes.getCourseId()))
+                .andExpect(jsonPath("$[0].coEnrollments").value(2))
+                .andExpect(jsonPath("$[1].courseId").value(often.getCourseId()));
+    }
+    
+    private String token(String username, String role) {
+        org.springframework.security.core.userdetails.User principal = new org.springframework.security.core.userdetails.User(
+                username, "", List.of(new SimpleGrantedAuthority(role)));
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
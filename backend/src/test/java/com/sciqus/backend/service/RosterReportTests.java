@@ -0,0 +1,151 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.ReportJobDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.reports.worker-threads=1",
+        "app.reports.queue-capacity=2",
+        "app.reports.page-size=2",
+        "app.reports.retention=3s",
+        "app.reports.cleanup-interval=200ms"
+})
+@AutoConfigureMockMvc
+class RosterReportTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private RosterReportService reportService;
+    
+    @Test
+    void reportStreamsEveryRosterIntoOneCsv() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course first = fixtures.newCourse("RPA" + suffix);
+        Course second = fixtures.newCourse("RPB" + suffix);
+        User tricky = fixtures.newStudent("rpt" + suffix + "a", "=SUM(A1)", "Smith, Jr");
+        enrollmentService.enrollStudentInCourse(tricky, first);
+        for (int i = 0; i < 4; i++) {
+            enrollmentService.enrollStudentInCourse(fixtures.newStudent("rpt" + suffix + "b" + i, "Rita", "Roster"), first);
+        }
+        enrollmentService.enrollStudentInCourse(tricky, second);
+        
+        String admin = "Bearer " + fixtures.adminToken();
+        String body = "{\"ids\":[" + second.getCourseId() + "," + first.getCourseId() + "," + first.getCourseId() + "]}";
+        String response = mockMvc.perform(post("/api/reports/rosters").header("Authorization", admin)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.courseIds.length()").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = response.replaceAll(".*\"jobId\":\"([^\"]+)\".*", "$1");
+        
+        ReportJobDto job = awaitFinished(jobId);
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getRows()).isEqualTo(6);
+        assertThat(job.getExpiresAt()).isAfter(job.getFinishedAt());
+        
+        String csv = mockMvc.perform(get("/api/reports/rosters/" + jobId + "/download").header("Authorization", admin))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"roster-" + jobId + ".csv\""))
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(7);
+        assertThat(lines.get(0)).startsWith("course_id,course_code");
+        assertThat(lines.subList(1, 6)).allMatch(line -> line.startsWith(first.getCourseId() + ",RPA" + suffix + ","));
+        assertThat(lines.get(6)).isEqualTo(second.getCourseId() + ",RPB" + suffix + ",Course RPB" + suffix + ","
+                + tricky.getId() + ",rpt" + suffix + "a,'=SUM(A1),\"Smith, Jr\",rpt" + suffix + "a@example.com,"
+                + lines.get(6).substring(lines.get(6).lastIndexOf(',') + 1));
+        
+        // The scheduled cleanup removes the job together with its file once the retention has passed
+        Path file = reportService.findArtifact(jobId).orElseThrow();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (reportService.getJob(jobId).isPresent()) {
+            assertThat(System.currentTimeMillis()).as("waiting for the cleanup").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        assertThat(file).doesNotExist();
+        mockMvc.perform(get("/api/reports/rosters/" + jobId).header("Authorization", admin))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void identicalPendingRequestsShareAJobAndAFullQueueIsRefused() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("RPC" + suffix);
+        Course other = fixtures.newCourse("RPD" + suffix);
+        Course third = fixtures.newCourse("RPE" + suffix);
+        String admin = "Bearer " + fixtures.adminToken();
+        
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        reportService.workers.execute(() -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        busy.await();
+        try {
+            ReportJobDto queued = reportService.submit(List.of(course.getCourseId()), "admin");
+            ReportJobDto again = reportService.submit(List.of(course.getCourseId(), course.getCourseId()), "admin");
+            assertThat(again.getJobId()).isEqualTo(queued.getJobId());
+            assertThat(again.getStatus()).isEqualTo("QUEUED");
+            reportService.submit(List.of(other.getCourseId()), "admin");
+            
+            mockMvc.perform(post("/api/reports/rosters").header("Authorization", admin)
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[" + third.getCourseId() + "]}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+            mockMvc.perform(get("/api/reports/rosters/" + queued.getJobId() + "/download").header("Authorization", admin))
+                    .andExpect(status().isConflict());
+            mockMvc.perform(get("/api/reports/stats").header("Authorization", admin))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.queued").value(2));
+            
+            release.countDown();
+            assertThat(awaitFinished(queued.getJobId()).getStatus()).isEqualTo("COMPLETED");
+            assertThat(reportService.submit(List.of(course.getCourseId()), "admin").getJobId()).isNotEqualTo(queued.getJobId());
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    private ReportJobDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            ReportJobDto job = reportService.getJob(jobId).orElseThrow();
+            if (job.getStatus().equals("COMPLETED") || job.getStatus().equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.CourseSessionDto;
+import com.sciqus.backend.dto.ScheduleEntryDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScheduleTests {
+    
+    private static final LocalDate TERM_START = LocalDate.of(2030, 1, 7);
+    private static final LocalDate TERM_END = LocalDate.of(2030, 5, 31);
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private ScheduleService scheduleService;
+    
+    @Test
+    void indexFindsTheSameConflictsAsAScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            List<ScheduleIndex.Slot> slots = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                slots.add(randomSlot(random, i));
+            }
+            ScheduleIndex index = ScheduleIndex.of(slots);
+            for (int probe = 0; probe < 40; probe++) {
+                ScheduleIndex.Slot candidate = randomSlot(random, -1);
+                List<ScheduleIndex.Slot> expected = slots.stream().filter(slot -> slot.overlaps(candidate)).toList();
+                assertThat(index.conflictsWith(candidate)).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+    
+    @Test
+    void overlappingSessionsBlockEnrollment() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = fixtures.newStudent("sch" + suffix);
+        Course morning = newCourse("SCA" + suffix, List.of(
+                session(DayOfWeek.MONDAY, "09:00", "10:30", TERM_START, TERM_END),
+                session(DayOfWeek.WEDNESDAY, "09:00", "10:30", TERM_START, TERM_END)));
+        Course clash = newCourse("SCB" + suffix, List.of(
+                session(DayOfWeek.WEDNESDAY, "10:00", "11:00", TERM_START, TERM_END)));
+        Course adjacent = newCourse("SCC" + suffix, List.of(
+                session(DayOfWeek.MONDAY, "10:30", "12:00", TERM_START, TERM_END)));
+        // Same hours, but the terms do not share a Wednesday
+        Course nextTerm = newCourse("SCD" + suffix, List.of(
+                session(DayOfWeek.WEDNESDAY, "09:00", "10:30", TERM_END.plusDays(1), TERM_END.plusMonths(4))));
+        
+        enrollmentService.enrollStudentInCourse(student, morning);
+        assertThatThrownBy(() -> enrollmentService.enrollStudentInCourse(student, clash))
+                .hasMessageContaining("Schedule conflict")
+                .hasMessageContaining(morning.getCourseCode());
+        enrollmentService.enrollStudentInCourse(student, adjacent);
+        enrollmentService.enrollStudentInCourse(student, nextTerm);
+        
+        mockMvc.perform(get("/api/student/schedule").header("Authorization", "Bearer " + fixtures.studentToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].courseCode").value(morning.getCourseCode()))
+                .andExpect(jsonPath("$[0].dayOfWeek").value("MONDAY"))
+                .andExpect(jsonPath("$[1].courseCode").value(adjacent.getCourseCode()));
+        
+        // Moving the clashing course out of the way is picked up without restarting
+        scheduleService.replaceCourseSchedule(clash.getCourseId(), List.of(
+                session(DayOfWeek.FRIDAY, "10:00", "11:00", TERM_START, TERM_END)));
+        enrollmentService.enrollStudentInCourse(student, clash);
+        assertThat(scheduleService.getStudentSchedule(student.getId())).hasSize(5);
+        
+        enrollmentService.unenrollStudentFromCourse(student, morning);
+        assertThat(scheduleService.getStudentSchedule(student.getId())).hasSize(3);
+    }
+    
+    @Test
+    void schedulingAnEnrolledCourseIsPickedUp() {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = fixtures.newStudent("scu" + suffix);
+        Course unscheduled = newCourse("SCF" + suffix, List.of());
+        Course clash = newCourse("SCG" + suffix, List.of(
+                session(DayOfWeek.THURSDAY, "14:00", "15:00", TERM_START, TERM_END)));
+        
+        enrollmentService.enrollStudentInCourse(student, unscheduled);
+        // Caches an index that holds no slot of the unscheduled course
+        assertThat(scheduleService.getStudentSchedule(student.getId())).isEmpty();
+        
+        scheduleService.replaceCourseSchedule(unscheduled.getCourseId(), List.of(
+                session(DayOfWeek.THURSDAY, "13:30", "14:30", TERM_START, TERM_END)));
+        assertThat(scheduleService.getStudentSchedule(student.getId()))
+                .extracting(ScheduleEntryDto::getCourseCode).containsExactly(unscheduled.getCourseCode());
+        assertThatThrownBy(() -> enrollmentService.enrollStudentInCourse(student, clash))
+                .hasMessageContaining("Schedule conflict")
+                .hasMessageContaining(unscheduled.getCourseCode());
+    }
+    
+    @Test
+    void sessionsOfOneCourseMayNotOverlap() {
+        Course course = newCourse("SCE" + System.nanoTime() % 1_000_000, List.of());
+        assertThatThrownBy(() -> scheduleService.replaceCourseSchedule(course.getCourseId(), List.of(
+                session(DayOfWeek.TUESDAY, "13:00", "15:00", TERM_START, TERM_END),
+                session(DayOfWeek.TUESDAY, "14:00", "16:00", TERM_START, TERM_END))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduleService.replaceCourseSchedule(course.getCourseId(), List.of(
+                session(DayOfWeek.TUESDAY, "15:00", "13:00", TERM_START, TERM_END))))
+                .hasMessageContaining("must end after it starts");
+        assertThat(scheduleService.getCourseSchedule(course.getCourseId())).isEmpty();
+    }
+    
+    private ScheduleIndex.Slot randomSlot(Random random, long courseId) {
+        int start = random.nextInt(20 * 60);
+        LocalDate from = TERM_START.plusDays(random.nextInt(120));
+        return new ScheduleIndex.Slot(courseId, "C" + courseId, "Course " + courseId,
+                DayOfWeek.of(1 + random.nextInt(7)), LocalTime.ofSecondOfDay(start * 60L),
+                LocalTime.ofSecondOfDay((start + 15 + random.nextInt(180)) * 60L),
+                from, from.plusDays(random.nextInt(60)));
+    }
+    
+    private CourseSessionDto session(DayOfWeek day, String start, String end, LocalDate from, LocalDate to) {
+        return new CourseSessionDto(day, LocalTime.parse(start), LocalTime.parse(end), from, to);
+    }
+    
+    private Course newCourse(String code, List<CourseSessionDto> sessions) {
+        Course course = fixtures.newCourse(code);
+        if (!sessions.isEmpty()) {
+            scheduleService.replaceCourseSchedule(course.getCourseId(), sessions);
+        }
+        return course;
+    }
+}
@@ -0,0 +1,134 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.repository.CourseRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void repeatedCourseLookupsAreServedFromCache() {
+        Course course = courseService.createCourse(newCourse());
+        statistics.clear();
+        
+        courseService.getCourseById(course.getCourseId());
+        courseService.getCourseById(course.getCourseId());
+        
+        assertThat(statistics.getCacheRegionStatistics("courses").getHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+    
+    @Test
+    void courseUpdateIsVisibleOnNextLookup() {
+        Course course = courseService.createCourse(newCourse());
+        courseService.getCourseById(course.getCourseId());
+        
+        Course loaded = courseService.getCourseById(course.getCourseId()).orElseThrow();
+        loaded.setCourseName("Renamed Course");
+        courseService.updateCourse(loaded);
+        
+        assertThat(courseService.getCourseById(course.getCourseId()))
+                .get().extracting(Course::getCourseName).isEqualTo("Renamed Course");
+    }
+    
+    @Test
+    void courseDeleteEvictsCachedEntry() {
+        Course course = courseService.createCourse(newCourse());
+        courseService.getCourseById(course.getCourseId());
+        
+        courseService.deleteCourse(course.getCourseId());
+        
+        assertThat(courseService.getCourseById(course.getCourseId())).isEmpty();
+    }
+    
+    @Test
+    void activeCourseQueryCacheIsInvalidatedByStatusChange() {
+        Course course = courseService.createCourse(newCourse());
+        assertThat(courseService.getActiveCourses()).extracting(Course::getCourseId).contains(course.getCourseId());
+        assertThat(courseService.getActiveCourses()).extracting(Course::getCourseId).contains(course.getCourseId());
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(1);
+        
+        courseService.deactivateCourse(course.getCourseId());
+        
+        assertThat(courseService.getActiveCourses()).extracting(Course::getCourseId).doesNotContain(course.getCourseId());
+    }
+    
+    @Test
+    void courseCodeQueryCacheFollowsCodeChanges() {
+        Course course = courseService.createCourse(newCourse());
+        String oldCode = course.getCourseCode();
+        assertThat(courseRepository.findByCourseCode(oldCode)).isPresent();
+        
+        Course loaded = courseService.getCourseById(course.getCourseId()).orElseThrow();
+        loaded.setCourseCode("NEW-" + oldCode.substring(0, 8));
+        courseService.updateCourse(loaded);
+        
+        assertThat(courseRepository.findByCourseCode(oldCode)).isEmpty();
+        assertThat(courseRepository.findByCourseCode(loaded.getCourseCode())).isPresent();
+    }
+    
+    @Test
+    void userUpdateAndDeleteInvalidateCachedEntry() {
+        User user = userService.createUser(newUser());
+        userService.getUserById(user.getId());
+        
+        User loaded = userService.getUserById(user.getId()).orElseThrow();
+        loaded.setIsActive(false);
+        userService.updateUser(loaded);
+        assertThat(userService.getUserById(user.getId())).get().extracting(User::getIsActive).isEqualTo(false);
+        
+        userService.deleteUser(user.getId());
+        assertThat(userService.getUserById(user.getId())).isEmpty();
+    }
+    
+    private Course newCourse() {
+        Course course = new Course();
+        course.setCourseName("Cache Course");
+        course.setCourseCode(UUID.randomUUID().toString().substring(0, 12));
+        course.setCourseDuration(10);
+        return course;
+    }
+    
+    private User newUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername("cache" + suffix);
+        user.setEmail("cache" + suffix + "@sciqus.com");
+        user.setPassword("password123");
+        user.setFirstName("Cache");
+        user.setLastName("Test");
+        return user;
+    }
+}
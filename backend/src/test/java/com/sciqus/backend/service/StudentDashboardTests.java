@@ -0,0 +1,95 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.events.OutboxDispatcher;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StudentDashboardTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Test
+    void summaryFollowsEnrollmentsOfTheStudent() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        User student = new User();
+        student.setUsername("dash" + suffix);
+        student.setFirstName("Dana");
+        student.setLastName("Board");
+        student.setEmail("dash" + suffix + "@example.com");
+        student.setPassword("secret123");
+        student = userService.createUser(student);
+        Course first = fixtures.newCourse("DSA" + suffix);
+        Course second = fixtures.newCourse("DSB" + suffix);
+        
+        Map<String, Object> empty = studentDashboardService.getDashboard(student.getId());
+        assertThat(empty).containsEntry("studentName", "Dana Board")
+                .containsEntry("totalEnrollments", 0L)
+                .containsEntry("hasEnrollments", false)
+                .containsEntry("latestEnrollment", null);
+        
+        // Evicted on commit, without waiting for the outbox
+        enrollmentService.enrollStudentInCourse(student, first);
+        enrollmentService.enrollStudentInCourse(student, second);
+        Map<String, Object> enrolled = studentDashboardService.getDashboard(student.getId());
+        assertThat(enrolled).containsEntry("totalEnrollments", 2L).containsEntry("hasEnrollments", true);
+        assertThat(enrolled.get("latestEnrollment")).extracting("courseCode").isEqualTo(second.getCourseCode());
+        
+        enrollmentService.unenrollStudentFromCourse(student, second);
+        Map<String, Object> afterRemoval = studentDashboardService.getDashboard(student.getId());
+        assertThat(afterRemoval).containsEntry("totalEnrollments", 1L);
+        assertThat(afterRemoval.get("latestEnrollment")).extracting("courseCode").isEqualTo(first.getCourseCode());
+        
+        mockMvc.perform(get("/api/student/dashboard").header("Authorization", "Bearer " + fixtures.studentToken(student)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(student.getUsername()))
+                .andExpect(jsonPath("$.totalEnrollments").value(1))
+                .andExpect(jsonPath("$.latestEnrollment.courseId").value(first.getCourseId()));
+    }
+    
+    @Test
+    void availableCourseCountIsRecountedAfterCourseChange() {
+        long before = studentDashboardService.getAvailableCourseCount();
+        Course course = fixtures.newCourse("DSC" + System.nanoTime() % 1_000_000);
+        
+        // Every test context delivers every event, so this sees the row even if another context's dispatcher read it first
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(studentDashboardService.getAvailableCourseCount())
+                .isEqualTo(before + 1)
+                .isEqualTo(courseRepository.countByIsActiveTrue());
+    }
+}
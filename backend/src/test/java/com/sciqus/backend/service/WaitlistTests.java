@@ -0,0 +1,248 @@
+package com.sciqus.backend.service;
+
+import com.sciqus.backend.dto.WaitlistPositionDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.entity.WaitlistEntry;
+import com.sciqus.backend.events.DomainEvent;
+import com.sciqus.backend.events.DomainEventPublisher;
+import com.sciqus.backend.events.DomainEventSubscriber;
+import com.sciqus.backend.events.OutboxDispatcher;
+import com.sciqus.backend.events.WaitlistChanged;
+import com.sciqus.backend.repository.EnrollmentRepository;
+import com.sciqus.backend.repository.WaitlistRepository;
+import com.sciqus.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Short sweep interval so the scheduled promoter is seen running within the test
+@SpringBootTest(properties = "app.waitlist.sweep-interval=200ms")
+class WaitlistTests {
+    
+    @Autowired
+    private TestFixtures fixtures;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentService enrollmentService;
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+    
+    @Test
+    void queuePositionsMatchASortedList() {
+        Random random = new Random(42);
+        AtomicLong clock = new AtomicLong();
+        WaitlistQueue queue = WaitlistQueue.of(List.of());
+        List<Long> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                // A clock that sometimes stands still or goes back must still give increasing tickets
+                long ticket = queue.enqueue(() -> clock.addAndGet(random.nextInt(3) - 1));
+                assertThat(expected.isEmpty() || ticket > expected.get(expected.size() - 1)).isTrue();
+                expected.add(ticket);
+            } else {
+                long ticket = expected.remove(random.nextInt(expected.size()));
+                assertThat(queue.remove(ticket)).isTrue();
+                assertThat(queue.remove(ticket)).isFalse();
+            }
+            if (step % 97 == 0) {
+                assertThat(queue.size()).isEqualTo(expected.size());
+                for (int i = 0; i < expected.size(); i += Math.max(1, expected.size() / 20)) {
+                    assertThat(queue.position(expected.get(i))).isEqualTo(i + 1);
+                }
+            }
+        }
+        
+        WaitlistQueue reloaded = WaitlistQueue.of(expected);
+        assertThat(reloaded.size()).isEqualTo(expected.size());
+        assertThat(reloaded.position(expected.get(expected.size() - 1))).isEqualTo(expected.size());
+    }
+    
+    @Test
+    void freedSeatGoesToTheHeadOfTheWaitlist() {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("WLA" + suffix, 1);
+        User first = fixtures.newStudent("wla" + suffix);
+        User second = fixtures.newStudent("wlb" + suffix);
+        User third = fixtures.newStudent("wlc" + suffix);
+        User late = fixtures.newStudent("wld" + suffix);
+        
+        enrollmentService.enrollStudentInCourse(first, course);
+        assertThatThrownBy(() -> enrollmentService.enrollStudentInCourse(second, course))
+                .hasMessageContaining("join the waitlist");
+        assertThat(enrollmentService.canStudentEnrollInCourse(second, course)).isFalse();
+        
+        assertThat(waitlistService.join(second, course).getPosition()).isEqualTo(1);
+        assertThat(waitlistService.join(third, course).getPosition()).isEqualTo(2);
+        assertThatThrownBy(() -> waitlistService.join(third, course)).hasMessageContaining("already on the waitlist");
+        
+        // Unenrolling promotes in the same transaction
+        enrollmentService.unenrollStudentFromCourse(first, course);
+        assertThat(enrollmentService.isStudentEnrolledInCourse(course.getCourseId(), second.getId())).isTrue();
+        assertThatThrownBy(() -> waitlistService.getPosition(second, course.getCourseId()))
+                .hasMessageContaining("not on the waitlist");
+        WaitlistPositionDto third1 = waitlistService.getPosition(third, course.getCourseId());
+        assertThat(third1.getPosition()).isEqualTo(1);
+        assertThat(third1.getWaiting()).isEqualTo(1);
+        
+        assertThat(waitlistService.join(late, course).getPosition()).isEqualTo(2);
+        assertThat(waitlistService.leave(third, course.getCourseId())).isTrue();
+        assertThat(waitlistService.getPosition(late, course.getCourseId()).getPosition()).isEqualTo(1);
+        
+        // A raised capacity is filled by the promoter
+        course.setCapacity(2);
+        Course raised = courseService.updateCourse(course);
+        assertThat(enrollmentService.promoteFromWaitlist(raised.getCourseId())).hasSize(1);
+        assertThat(enrollmentService.isStudentEnrolledInCourse(course.getCourseId(), late.getId())).isTrue();
+        assertThat(waitlistService.getWaitingCount(course.getCourseId())).isZero();
+    }
+    
+    @Test
+    void concurrentJoinsGetDistinctPositionsInTicketOrder() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("WLB" + suffix, 1);
+        User holder = fixtures.newStudent("wlh" + suffix);
+        enrollmentService.enrollStudentInCourse(holder, course);
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            students.add(fixtures.newStudent("wl" + i + "x" + suffix));
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<WaitlistPositionDto>> joins = new ArrayList<>();
+            for (User student : students) {
+                joins.add(pool.submit(() -> waitlistService.join(student, course)));
+            }
+            for (Future<WaitlistPositionDto> join : joins) {
+                join.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        List<WaitlistPositionDto> positions = new ArrayList<>();
+        for (User student : students) {
+            positions.add(waitlistService.getPosition(student, course.getCourseId()));
+        }
+        List<Integer> ranks = new ArrayList<>(positions.stream().map(WaitlistPositionDto::getPosition).toList());
+        Collections.sort(ranks);
+        assertThat(ranks).isEqualTo(IntStream.rangeClosed(1, students.size()).boxed().toList());
+        assertThat(waitlistService.getWaitingCount(course.getCourseId())).isEqualTo(students.size());
+        
+        // The student in position 1 is the one promoted
+        WaitlistPositionDto head = positions.stream().filter(position -> position.getPosition() == 1).findFirst().orElseThrow();
+        enrollmentService.unenrollStudentFromCourse(holder, course);
+        assertThat(enrollmentService.isStudentEnrolledInCourse(course.getCourseId(), head.getStudentId())).isTrue();
+    }
+    
+    @Test
+    void scheduledSweepFillsSeatsAddedByRaisingCapacity() throws Exception {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("WLS" + suffix, 1);
+        enrollmentService.enrollStudentInCourse(fixtures.newStudent("wsh" + suffix), course);
+        User waiting = fixtures.newStudent("wsw" + suffix);
+        waitlistService.join(waiting, course);
+        
+        // Raising the capacity hands out no seat by itself; only the promoter's next run does
+        course.setCapacity(2);
+        courseService.updateCourse(course);
+        // The queue drops the student after the sweep's commit, so that is what is waited for
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (waitlistService.getWaitingCount(course.getCourseId()) > 0) {
+            assertThat(System.currentTimeMillis()).as("waiting for the sweep").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        assertThat(enrollmentRepository.existsByStudentAndCourse(waiting, course)).isTrue();
+    }
+    
+    @Test
+    void changesCommittedByAnotherNodeReachTheQueue() {
+        long suffix = System.nanoTime() % 1_000_000;
+        Course course = fixtures.newCourse("WLC" + suffix, 1);
+        enrollmentService.enrollStudentInCourse(fixtures.newStudent("wlo" + suffix), course);
+        User local = fixtures.newStudent("wll" + suffix);
+        User later = fixtures.newStudent("wlr" + suffix);
+        User earlier = fixtures.newStudent("wle" + suffix);
+        waitlistService.join(local, course);
+        long ticket = waitlistRepository.findByCourseIdAndStudentId(course.getCourseId(), local.getId()).orElseThrow().getTicket();
+        
+        // The other node's dispatcher shares the database but none of this node's subscribers
+        OutboxDispatcher otherNode = beanFactory.createBean(OutboxDispatcher.class);
+        ReflectionTestUtils.setField(otherNode, "subscribers",
+                new StaticListableBeanFactory().getBeanProvider(DomainEventSubscriber.class));
+        
+        // Rows and events as another node writes them, bypassing this node's queue; the earlier
+        // ticket comes from a node whose clock is behind
+        remoteChange(DomainEvent.ChangeType.CREATED, course, later, ticket + 1_000);
+        remoteChange(DomainEvent.ChangeType.CREATED, course, earlier, ticket - 1);
+        // The writing node delivers to its own subscribers first; the events must still reach this one
+        assertThat(otherNode.dispatchPending()).isTrue();
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(waitlistService.getWaitingCount(course.getCourseId())).isEqualTo(3);
+        assertThat(waitlistService.getPosition(earlier, course.getCourseId()).getPosition()).isEqualTo(1);
+        assertThat(waitlistService.getPosition(later, course.getCourseId()).getPosition()).isEqualTo(3);
+        
+        remoteChange(DomainEvent.ChangeType.DELETED, course, earlier, ticket - 1);
+        assertThat(otherNode.dispatchPending()).isTrue();
+        assertThat(outboxDispatcher.dispatchPending()).isTrue();
+        assertThat(waitlistService.getWaitingCount(course.getCourseId())).isEqualTo(2);
+        assertThat(waitlistService.getPosition(local, course.getCourseId()).getPosition()).isEqualTo(1);
+    }
+    
+    private void remoteChange(DomainEvent.ChangeType change, Course course, User student, long ticket) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (change == DomainEvent.ChangeType.CREATED) {
+                WaitlistEntry entry = new WaitlistEntry();
+                entry.setCourseId(course.getCourseId());
+                entry.setStudentId(student.getId());
+                entry.setTicket(ticket);
+                entry.setJoinedAt(LocalDateTime.now());
+                waitlistRepository.save(entry);
+            } else {
+                waitlistRepository.delete(waitlistRepository.findByCourseIdAndStudentId(course.getCourseId(), student.getId()).orElseThrow());
+            }
+            eventPublisher.publish(new WaitlistChanged(change, course.getCourseId(), student.getId(), ticket));
+        });
+    }
+}
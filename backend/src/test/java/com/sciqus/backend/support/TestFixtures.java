@@ -0,0 +1,77 @@
+package com.sciqus.backend.support;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.repository.UserRepository;
+import com.sciqus.backend.service.CourseService;
+import com.sciqus.backend.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Courses, students and tokens for tests. Students are saved directly rather than registered, so
+ * they skip password hashing; tokens are signed for a username without looking the user up.
+ */
+@Component
+public class TestFixtures {
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    /** An unsaved course, for tests that save it themselves. */
+    public static Course course(String code) {
+        Course course = new Course();
+        course.setCourseName("Course " + code);
+        course.setCourseCode(code);
+        course.setCourseDuration(8);
+        return course;
+    }
+    
+    public Course newCourse(String code) {
+        return courseService.createCourse(course(code));
+    }
+    
+    public Course newCourse(String code, int capacity) {
+        Course course = course(code);
+        course.setCapacity(capacity);
+        return courseService.createCourse(course);
+    }
+    
+    public User newStudent(String username) {
+        return newStudent(username, "Test", "Student");
+    }
+    
+    public User newStudent(String username, String firstName, String lastName) {
+        User student = new User();
+        student.setUsername(username);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(username + "@example.com");
+        student.setPassword("unused");
+        return userRepository.save(student);
+    }
+    
+    public String adminToken() {
+        return token("admin", "ROLE_ADMIN");
+    }
+    
+    public String studentToken(User student) {
+        return token(student.getUsername(), "ROLE_STUDENT");
+    }
+    
+    private String token(String username, String role) {
+        org.springframework.security.core.userdetails.User principal = new org.springframework.security.core.userdetails.User(
+                username, "", List.of(new SimpleGrantedAuthority(role)));
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
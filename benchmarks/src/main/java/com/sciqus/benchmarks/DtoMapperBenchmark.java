@@ -0,0 +1,65 @@
+package com.sciqus.benchmarks;
+
+import com.sciqus.backend.dto.CourseResponseDto;
+import com.sciqus.backend.dto.DtoMapper;
+import com.sciqus.backend.dto.EnrollmentResponseDto;
+import com.sciqus.backend.dto.UserResponseDto;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.Enrollment;
+import com.sciqus.backend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping as done by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+    
+    @Param({"1", "100", "1000"})
+    private int size;
+    
+    private List<Course> courses;
+    private List<User> users;
+    private List<Enrollment> enrollments;
+    
+    @Setup
+    public void setUp() {
+        courses = Fixtures.courses(size);
+        users = Fixtures.users(size);
+        enrollments = Fixtures.enrollments(users, courses);
+    }
+    
+    @Benchmark
+    public List<CourseResponseDto> mapToCourseResponseDto() {
+        return courses.stream().map(DtoMapper::mapToCourseResponseDto).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public List<UserResponseDto> mapToUserResponseDto() {
+        return users.stream().map(DtoMapper::mapToUserResponseDto).collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public List<EnrollmentResponseDto> mapToEnrollmentResponseDto() {
+        return enrollments.stream().map(DtoMapper::mapToEnrollmentResponseDto).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.sciqus.benchmarks;
+
+import com.sciqus.backend.config.TenancyProperties;
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.Enrollment;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.tenant.TenantDirectory;
+import com.sciqus.backend.util.JwtUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data shaped like production rows, plus a JwtUtils wired with the default settings.
+ */
+final class Fixtures {
+    
+    static final String JWT_SECRET = "sciqusSecretKeyForJWTTokenGenerationAndValidation2024SecureHS512Key";
+    static final int JWT_EXPIRATION_MS = 86400000;
+    
+    private Fixtures() {
+    }
+    
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        // Single-tenant deployment, as with app.tenancy.enabled=false
+        setField(jwtUtils, "tenantDirectory", new TenantDirectory(new TenancyProperties()));
+        return jwtUtils;
+    }
+    
+    static List<Course> courses(int count) {
+        List<Course> courses = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Course course = new Course();
+            course.setCourseId((long) i + 1);
+            course.setCourseName("Course " + i + " - Introduction to Applied Topics");
+            course.setCourseCode("CS" + (1000 + i));
+            course.setCourseDuration(12);
+            course.setDescription("A".repeat(400));
+            course.setIsActive(true);
+            course.setCreatedAt(now);
+            course.setUpdatedAt(now);
+            courses.add(course);
+        }
+        return courses;
+    }
+    
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("student" + i);
+            user.setEmail("student" + i + "@sciqus.com");
+            user.setPassword("$2a$10$abcdefghijklmnopqrstuuN3k3vQ8S9dZ6Lw3GmE1Qk8yV5o2v8Hy");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setPhoneNumber("+91-9000000" + (i % 1000));
+            user.setRole(User.Role.STUDENT);
+            user.setIsActive(true);
+            users.add(user);
+        }
+        return users;
+    }
+    
+    static List<Enrollment> enrollments(List<User> users, List<Course> courses) {
+        List<Enrollment> enrollments = new ArrayList<>(users.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < users.size(); i++) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setId((long) i + 1);
+            enrollment.setStudent(users.get(i));
+            enrollment.setCourse(courses.get(i % courses.size()));
+            enrollment.setEnrolledAt(now);
+            enrollments.add(enrollment);
+        }
+        return enrollments;
+    }
+    
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sciqus.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sciqus.backend.dto.CourseResponseDto;
+import com.sciqus.backend.dto.DtoMapper;
+import com.sciqus.backend.dto.EnrollmentResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Response body serialization for the course catalog and enrollment lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({"20", "200"})
+    private int size;
+    
+    // Same defaults Spring MVC uses for response bodies
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    private List<CourseResponseDto> courses;
+    private List<EnrollmentResponseDto> enrollments;
+    
+    @Setup
+    public void setUp() {
+        courses = Fixtures.courses(size).stream()
+                .map(DtoMapper::mapToCourseResponseDto)
+                .collect(Collectors.toList());
+        enrollments = Fixtures.enrollments(Fixtures.users(size), Fixtures.courses(size)).stream()
+                .map(DtoMapper::mapToEnrollmentResponseDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Benchmark
+    public byte[] serializeCourses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+    
+    @Benchmark
+    public byte[] serializeEnrollments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(enrollments);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sciqus.benchmarks;
+
+import com.sciqus.backend.util.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and the per-request verification done by AuthTokenFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtils = Fixtures.jwtUtils();
+        User principal = new User("student1", "unused", List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+    
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+    
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+    
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+    
+    // What AuthTokenFilter does on every authenticated request
+    @Benchmark
+    public String validateThenExtractUserName() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+}
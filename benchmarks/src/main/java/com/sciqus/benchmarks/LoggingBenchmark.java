@@ -0,0 +1,135 @@
+package com.sciqus.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.sciqus.backend.logging.DropCountingAsyncAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost on the request thread for one enrollment request: the DispatcherServlet, Hibernate
+ * SQL and service lines it produces at DEBUG, of which only the INFO line survives at INFO.
+ * Output goes to a file through the same pattern and appender setup as the backend, either
+ * synchronously or through the async appender with its drop or block policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+    
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] [%X{requestId:-},%X{userId:-}] %-40.40logger{39} : %m%n";
+    
+    @Param({"INFO", "DEBUG"})
+    private String level;
+    
+    @Param({"sync", "async-block", "async-drop"})
+    private String mode;
+    
+    private LoggerContext context;
+    private File logFile;
+    private long droppedAtStart;
+    
+    private Logger dispatcher;
+    private Logger sql;
+    private Logger service;
+    
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log").toFile();
+        context = new LoggerContext();
+        
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+        
+        Appender<ILoggingEvent> appender = file;
+        if (!mode.equals("sync")) {
+            DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(mode.equals("async-drop"));
+            if (mode.equals("async-block")) {
+                async.setDiscardingThreshold(0);
+            }
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.sciqus.backend").setLevel(Level.toLevel(level));
+        context.getLogger("org.springframework.web").setLevel(Level.toLevel(level));
+        context.getLogger("org.hibernate.SQL").setLevel(Level.toLevel(level));
+        
+        dispatcher = context.getLogger("org.springframework.web.servlet.DispatcherServlet");
+        sql = context.getLogger("org.hibernate.SQL");
+        service = context.getLogger("com.sciqus.backend.service.EnrollmentService");
+        droppedAtStart = DropCountingAsyncAppender.getDroppedCount();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        long dropped = DropCountingAsyncAppender.getDroppedCount() - droppedAtStart;
+        if (dropped > 0) {
+            System.out.println("Dropped log events: " + dropped);
+        }
+        logFile.delete();
+    }
+    
+    @Benchmark
+    public void enrollmentRequest() {
+        MDC.put("requestId", "3f1c2a9e-6b7d-4e21-9d3a-1f0b6c8e2a47");
+        MDC.put("userId", "42");
+        try {
+            dispatcher.debug("POST \"/api/student/enroll/{}\", parameters={}", 17, "{}");
+            sql.debug("select u1_0.id,u1_0.course_id,u1_0.created_at,u1_0.email from users u1_0 where u1_0.username=? or u1_0.email=?");
+            sql.debug("select c1_0.course_id,c1_0.course_code,c1_0.course_duration from courses c1_0 where c1_0.course_id=?");
+            sql.debug("select e1_0.id from enrollments e1_0 where e1_0.user_id=? and e1_0.course_id=? fetch first ? rows only");
+            service.debug("Enrolling student {} in course {}", 42, 17);
+            sql.debug("insert into enrollments (course_id,enrolled_at,user_id,id) values (?,?,?,?)");
+            service.info("Student {} enrolled in course {}", 42, 17);
+            dispatcher.debug("Using 'text/plain', given [*/*] and supported [text/plain, */*]");
+            dispatcher.debug("Writing [\"Successfully enrolled in course: Data Structures\"]");
+            dispatcher.debug("Completed 200 OK");
+        } finally {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sciqus.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost at the strength configured by {@code app.security.bcrypt-strength}.
+ * Override with {@code -p strength=12} to compare settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    
+    @Param({"10"})
+    private int strength;
+    
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+    
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode("admin123");
+    }
+    
+    @Benchmark
+    public String encode() {
+        return encoder.encode("admin123");
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("admin123", encoded);
+    }
+}
@@ -0,0 +1,28 @@
+package com.sciqus.benchmarks;
+
+import com.sciqus.backend.util.PasswordGeneratorDemo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporary password generation used when admins create users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordGeneratorBenchmark {
+    
+    @Benchmark
+    public String generatePassword() {
+        return PasswordGeneratorDemo.generatePassword(12);
+    }
+}
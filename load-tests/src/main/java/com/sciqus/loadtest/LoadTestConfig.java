@@ -0,0 +1,72 @@
+package com.sciqus.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Load profile read from {@code load-test.properties}, overridable through system properties.
+ */
+public class LoadTestConfig {
+    
+    private final Properties properties = new Properties();
+    
+    public static LoadTestConfig load() throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/load-test.properties")) {
+            if (in != null) {
+                config.properties.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("load.") || key.startsWith("gate."))
+                .forEach(key -> config.properties.setProperty(key, System.getProperty(key)));
+        return config;
+    }
+    
+    public String get(String key) {
+        return properties.getProperty(key);
+    }
+    
+    public String get(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+    
+    public int getInt(String key) {
+        return Integer.parseInt(get(key).trim());
+    }
+    
+    public Duration getDuration(String key) {
+        String value = get(key).trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+    
+    public List<String> getList(String key) {
+        return Arrays.stream(get(key, "").split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+    
+    /** Gate value for a scenario, falling back to {@code gate.default.<metric>}. */
+    public Double getGate(String scenario, String metric) {
+        String value = get("gate." + scenario + "." + metric, get("gate.default." + metric));
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+    
+    public Properties asProperties() {
+        return properties;
+    }
+}
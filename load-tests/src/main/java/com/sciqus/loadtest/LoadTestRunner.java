@@ -0,0 +1,195 @@
+package com.sciqus.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sciqus.backend.SciqusBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the backend in-process against the configured database, seeds it, drives each scenario
+ * over real HTTP and fails the build when a scenario misses its gate.
+ */
+public class LoadTestRunner {
+    
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private String baseUrl;
+    
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(config.getInt("load.concurrency")))
+                .build();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        boolean passed;
+        try (ConfigurableApplicationContext context = startBackend(config)) {
+            passed = new LoadTestRunner(config).run(context);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+    
+    static ConfigurableApplicationContext startBackend(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + config.get("load.db.url"),
+                "--spring.datasource.username=" + config.get("load.db.username"),
+                "--spring.datasource.password=" + config.get("load.db.password", ""),
+                "--spring.datasource.driver-class-name=" + config.get("load.db.driver"),
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                // Every client connects from 127.0.0.1 and would share one rate-limit bucket
+                "--app.rate-limit.enabled=" + config.get("load.rate-limit.enabled", "false")));
+        // Backend's own log level, e.g. -Dload.logging.level=DEBUG to measure the cost of debug logging
+        String logLevel = config.get("load.logging.level", "WARN");
+        for (String category : List.of("com.sciqus.backend", "org.springframework.web", "org.hibernate.SQL")) {
+            args.add("--logging.level." + category + "=" + logLevel);
+        }
+        String dialect = config.get("load.db.dialect");
+        if (dialect != null && !dialect.isBlank()) {
+            args.add("--spring.jpa.properties.hibernate.dialect=" + dialect);
+        }
+        return SpringApplication.run(SciqusBackendApplication.class, args.toArray(String[]::new));
+    }
+    
+    public boolean run(ConfigurableApplicationContext context) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        
+        log("Seeding %d students and %d courses", config.getInt("load.seed.students"), config.getInt("load.seed.courses"));
+        TestData data = TestData.seed(context, config.getInt("load.seed.students"), config.getInt("load.seed.courses"));
+        
+        List<ScenarioResult> results = new ArrayList<>();
+        for (String name : config.getList("load.scenarios")) {
+            Scenario scenario = Scenarios.create(name, data);
+            if (scenario.supportsWarmup()) {
+                drive(scenario, config.getDuration("load.warmup"), new ScenarioResult(name));
+            }
+            ScenarioResult result = new ScenarioResult(name);
+            drive(scenario, config.getDuration("load.duration"), result);
+            applyGates(result);
+            results.add(result);
+            log("%-17s %7d req  %8.1f req/s  p50 %7.2f ms  p99 %8.2f ms  errors %.2f%%  %s",
+                    name, result.getRequests(), result.getThroughputPerSec(), result.percentileMs(50),
+                    result.percentileMs(99), result.getErrorRate() * 100, result.passed() ? "PASS" : "FAIL " + result.toReport().get("violations"));
+        }
+        
+        boolean passed = results.stream().allMatch(ScenarioResult::passed);
+        writeReport(results, passed);
+        return passed;
+    }
+    
+    /** Runs the scenario on {@code load.concurrency} closed-loop clients until the duration elapses or it runs dry. */
+    private void drive(Scenario scenario, Duration duration, ScenarioResult result) throws InterruptedException {
+        int concurrency = config.getInt("load.concurrency");
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Scenario.Request request = scenario.next();
+                    if (request == null) {
+                        return;
+                    }
+                    long sent = System.nanoTime();
+                    int status = send(request);
+                    result.record(System.nanoTime() - sent, status);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        result.finish(System.nanoTime() - start);
+    }
+    
+    private int send(Scenario.Request request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(Duration.ofSeconds(30));
+        if (request.token() != null) {
+            builder.header("Authorization", "Bearer " + request.token());
+        }
+        if (request.body() != null) {
+            builder.header("Content-Type", "application/json");
+            builder.method(request.method(), HttpRequest.BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return client.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return -1;
+        }
+    }
+    
+    private void applyGates(ScenarioResult result) {
+        String name = result.getName();
+        Double p99Ms = config.getGate(name, "p99Ms");
+        if (p99Ms != null && result.percentileMs(99) > p99Ms) {
+            result.addViolation(String.format("p99 %.2f ms > %.0f ms", result.percentileMs(99), p99Ms));
+        }
+        Double errorRate = config.getGate(name, "errorRate");
+        if (errorRate != null && result.getErrorRate() > errorRate) {
+            result.addViolation(String.format("error rate %.4f > %.4f", result.getErrorRate(), errorRate));
+        }
+        Double minThroughput = config.getGate(name, "minThroughput");
+        if (minThroughput != null && result.getThroughputPerSec() < minThroughput) {
+            result.addViolation(String.format("throughput %.1f/s < %.1f/s", result.getThroughputPerSec(), minThroughput));
+        }
+        if (result.getRequests() == 0) {
+            result.addViolation("no requests completed");
+        }
+    }
+    
+    private void writeReport(List<ScenarioResult> results, boolean passed) throws Exception {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("database", config.get("load.db.url"));
+        settings.put("concurrency", config.getInt("load.concurrency"));
+        settings.put("warmup", config.get("load.warmup"));
+        settings.put("duration", config.get("load.duration"));
+        settings.put("students", config.getInt("load.seed.students"));
+        settings.put("courses", config.getInt("load.seed.courses"));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("passed", passed);
+        report.put("scenarios", results.stream().map(ScenarioResult::toReport).toList());
+        
+        File file = new File(config.get("load.report"));
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        log("Report written to %s", file.getAbsolutePath());
+    }
+    
+    private static void log(String format, Object... args) {
+        System.out.println("[load-test] " + String.format(format, args));
+    }
+}
@@ -0,0 +1,31 @@
+package com.sciqus.loadtest;
+
+/**
+ * Produces the requests of one traffic pattern. Implementations are shared by all client threads.
+ */
+public interface Scenario {
+    
+    String name();
+    
+    /**
+     * Next request to send, or {@code null} once the scenario has no more work
+     * (e.g. every student has already enrolled).
+     */
+    Request next();
+    
+    /** Whether the scenario can spend requests on warmup without using up its data set. */
+    default boolean supportsWarmup() {
+        return true;
+    }
+    
+    record Request(String method, String path, String body, String token) {
+        
+        static Request get(String path, String token) {
+            return new Request("GET", path, null, token);
+        }
+        
+        static Request post(String path, String body, String token) {
+            return new Request("POST", path, body, token);
+        }
+    }
+}
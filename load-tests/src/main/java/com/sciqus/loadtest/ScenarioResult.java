@@ -0,0 +1,119 @@
+package com.sciqus.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and counters for one measured scenario run.
+ */
+public class ScenarioResult {
+    
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final List<String> violations = new ArrayList<>();
+    
+    private Histogram histogram;
+    private long elapsedNanos;
+    
+    public ScenarioResult(String name) {
+        this.name = name;
+    }
+    
+    /** Called concurrently by client threads. A status of -1 means the request failed at the transport level. */
+    public void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        requests.increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+    
+    public void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.histogram = recorder.getIntervalHistogram();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getRequests() {
+        return requests.sum();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public double getErrorRate() {
+        long total = getRequests();
+        return total == 0 ? 0 : (double) getErrors() / total;
+    }
+    
+    public double getThroughputPerSec() {
+        return elapsedNanos == 0 ? 0 : getRequests() / (elapsedNanos / 1_000_000_000.0);
+    }
+    
+    public double percentileMs(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+    
+    public double maxMs() {
+        return histogram.getMaxValue() / 1_000_000.0;
+    }
+    
+    public double meanMs() {
+        return histogram.getMean() / 1_000_000.0;
+    }
+    
+    public void addViolation(String violation) {
+        violations.add(violation);
+    }
+    
+    public boolean passed() {
+        return violations.isEmpty();
+    }
+    
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", name);
+        report.put("requests", getRequests());
+        report.put("errors", getErrors());
+        report.put("errorRate", round(getErrorRate()));
+        report.put("durationSec", round(elapsedNanos / 1_000_000_000.0));
+        report.put("throughputPerSec", round(getThroughputPerSec()));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(meanMs()));
+        latency.put("p50", round(percentileMs(50)));
+        latency.put("p95", round(percentileMs(95)));
+        latency.put("p99", round(percentileMs(99)));
+        latency.put("p999", round(percentileMs(99.9)));
+        latency.put("max", round(maxMs()));
+        report.put("latencyMs", latency);
+        Map<String, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        report.put("statusCounts", statuses);
+        report.put("passed", passed());
+        report.put("violations", violations);
+        return report;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.sciqus.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The traffic patterns the backend is gated on.
+ */
+public final class Scenarios {
+    
+    private static final String[] SEARCH_TERMS = {"Intro", "Data", "CS1", "Systems", "Applied", "zzz-no-match"};
+    
+    private Scenarios() {
+    }
+    
+    public static Scenario create(String name, TestData data) {
+        return switch (name) {
+            case "login-storm" -> loginStorm(data);
+            case "catalog-browse" -> catalogBrowse(data);
+            case "enrollment-burst" -> enrollmentBurst(data);
+            case "admin-roster" -> adminRoster(data);
+            case "mixed" -> mixed(data);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+        };
+    }
+    
+    /** Students logging in at the start of a term: BCrypt-bound POST /api/auth/login. */
+    static Scenario loginStorm(TestData data) {
+        return simple("login-storm", () -> {
+            String username = data.randomStudent().username();
+            return Scenario.Request.post("/api/auth/login",
+                    "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"" + TestData.STUDENT_PASSWORD + "\"}", null);
+        });
+    }
+    
+    /** Catalog traffic: anonymous list and keyword search, logged-in active filter and course detail. */
+    static Scenario catalogBrowse(TestData data) {
+        return simple("catalog-browse", () -> {
+            int roll = ThreadLocalRandom.current().nextInt(10);
+            if (roll < 5) {
+                return Scenario.Request.get("/api/courses", null);
+            }
+            if (roll < 7) {
+                return Scenario.Request.get("/api/courses/filter/active", data.randomStudent().token());
+            }
+            if (roll < 9) {
+                String keyword = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+                return Scenario.Request.get("/api/courses/search?keyword=" + keyword, null);
+            }
+            return Scenario.Request.get("/api/courses/" + data.randomCourseId(), data.randomStudent().token());
+        });
+    }
+    
+    /** Every student enrolling into the same course as fast as possible; ends when all have enrolled. */
+    static Scenario enrollmentBurst(TestData data) {
+        AtomicInteger nextStudent = new AtomicInteger();
+        long courseId = data.hotCourseId();
+        return new Scenario() {
+            @Override
+            public String name() {
+                return "enrollment-burst";
+            }
+            
+            @Override
+            public Request next() {
+                int index = nextStudent.getAndIncrement();
+                if (index >= data.students().size()) {
+                    return null;
+                }
+                return Request.post("/api/student/enroll/" + courseId, null, data.students().get(index).token());
+            }
+            
+            @Override
+            public boolean supportsWarmup() {
+                return false;
+            }
+        };
+    }
+    
+    /** Admins pulling course rosters and enrollment stats. */
+    static Scenario adminRoster(TestData data) {
+        return simple("admin-roster", () -> {
+            boolean hot = ThreadLocalRandom.current().nextInt(4) == 0;
+            long courseId = hot ? data.hotCourseId() : data.randomCourseId();
+            return ThreadLocalRandom.current().nextBoolean()
+                    ? Scenario.Request.get("/api/courses/" + courseId + "/students", data.adminToken())
+                    : Scenario.Request.get("/api/courses/" + courseId + "/enrollment-stats", data.adminToken());
+        });
+    }
+    
+    /**
+     * Weighted blend resembling a normal day: mostly browsing, some logins and enrollments
+     * spread over the whole catalog, and occasional admin roster pulls.
+     */
+    static Scenario mixed(TestData data) {
+        Scenario browse = catalogBrowse(data);
+        Scenario login = loginStorm(data);
+        Scenario roster = adminRoster(data);
+        AtomicInteger nextPair = new AtomicInteger();
+        List<Long> enrollCourses = new ArrayList<>(data.courseIds());
+        enrollCourses.remove(data.hotCourseId());
+        int students = data.students().size();
+        
+        return simple("mixed", () -> {
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            if (roll < 65) {
+                return browse.next();
+            }
+            if (roll < 70) {
+                TestData.Student student = data.randomStudent();
+                return Scenario.Request.get("/api/student/dashboard", student.token());
+            }
+            if (roll < 80) {
+                return login.next();
+            }
+            if (roll < 95) {
+                // Walk (student, course) pairs so every enrollment is new
+                int pair = nextPair.getAndIncrement();
+                int courseIndex = pair / students;
+                if (courseIndex < enrollCourses.size()) {
+                    TestData.Student student = data.students().get(pair % students);
+                    return Scenario.Request.post("/api/student/enroll/" + enrollCourses.get(courseIndex), null, student.token());
+                }
+                return browse.next();
+            }
+            return roster.next();
+        });
+    }
+    
+    private static Scenario simple(String name, Supplier<Scenario.Request> supplier) {
+        return new Scenario() {
+            @Override
+            public String name() {
+                return name;
+            }
+            
+            @Override
+            public Request next() {
+                return supplier.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.sciqus.loadtest;
+
+import com.sciqus.backend.entity.Course;
+import com.sciqus.backend.entity.User;
+import com.sciqus.backend.repository.CourseRepository;
+import com.sciqus.backend.repository.UserRepository;
+import com.sciqus.backend.util.JwtUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeded students and courses plus pre-minted tokens, so scenarios spend their time on the
+ * endpoints under test rather than on logging in.
+ */
+public class TestData {
+    
+    static final String STUDENT_PASSWORD = "loadtest123";
+    
+    private static final String ADMIN_USERNAME = "admin";
+    private static final int BATCH_SIZE = 500;
+    
+    private final List<Student> students;
+    private final List<Long> courseIds;
+    private final String adminToken;
+    
+    private TestData(List<Student> students, List<Long> courseIds, String adminToken) {
+        this.students = students;
+        this.courseIds = courseIds;
+        this.adminToken = adminToken;
+    }
+    
+    public static TestData seed(ApplicationContext context, int studentCount, int courseCount) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        
+        // One BCrypt hash shared by every student; encoding thousands would dominate seeding
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(STUDENT_PASSWORD);
+        
+        List<Long> courseIds = new ArrayList<>(courseCount);
+        List<Course> courseBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course();
+            course.setCourseName(courseName(i));
+            course.setCourseCode("LT" + i);
+            course.setCourseDuration(4 + i % 12);
+            course.setDescription("Load test course " + i);
+            courseBatch.add(course);
+            if (courseBatch.size() == BATCH_SIZE || i == courseCount - 1) {
+                courseRepository.saveAll(courseBatch).forEach(saved -> courseIds.add(saved.getCourseId()));
+                courseBatch.clear();
+            }
+        }
+        
+        List<Student> students = new ArrayList<>(studentCount);
+        List<User> userBatch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < studentCount; i++) {
+            User user = new User();
+            user.setUsername("lt_student_" + i);
+            user.setEmail("lt_student_" + i + "@loadtest.local");
+            user.setPassword(passwordHash);
+            user.setFirstName("Student");
+            user.setLastName(String.valueOf(i));
+            user.setRole(User.Role.STUDENT);
+            userBatch.add(user);
+            if (userBatch.size() == BATCH_SIZE || i == studentCount - 1) {
+                for (User saved : userRepository.saveAll(userBatch)) {
+                    students.add(new Student(saved.getId(), saved.getUsername(),
+                            token(jwtUtils, saved.getUsername(), "ROLE_STUDENT")));
+                }
+                userBatch.clear();
+            }
+        }
+        
+        return new TestData(List.copyOf(students), List.copyOf(courseIds),
+                token(jwtUtils, ADMIN_USERNAME, "ROLE_ADMIN"));
+    }
+    
+    private static String token(JwtUtils jwtUtils, String username, String role) {
+        org.springframework.security.core.userdetails.User principal =
+                new org.springframework.security.core.userdetails.User(username, "",
+                        List.of(new SimpleGrantedAuthority(role)));
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+    
+    private static String courseName(int i) {
+        String[] prefixes = {"Intro to", "Applied", "Data", "Systems", "Advanced"};
+        return prefixes[i % prefixes.length] + " Topic " + i;
+    }
+    
+    public List<Student> students() {
+        return students;
+    }
+    
+    public List<Long> courseIds() {
+        return courseIds;
+    }
+    
+    public String adminToken() {
+        return adminToken;
+    }
+    
+    /** The course every student piles into during the enrollment burst. */
+    public long hotCourseId() {
+        return courseIds.get(0);
+    }
+    
+    public Student randomStudent() {
+        return students.get(ThreadLocalRandom.current().nextInt(students.size()));
+    }
+    
+    public long randomCourseId() {
+        return courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+    }
+    
+    public record Student(Long id, String username, String token) {
+    }
+}